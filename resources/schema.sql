@@ -1,4 +1,6 @@
 -- Drop tables if they exist
+DROP TABLE IF EXISTS journal_applied CASCADE;
+DROP TABLE IF EXISTS workout_rollups CASCADE;
 DROP TABLE IF EXISTS strength_workouts CASCADE;
 DROP TABLE IF EXISTS cardio_workouts CASCADE;
 DROP TABLE IF EXISTS exercises CASCADE;
@@ -6,7 +8,7 @@ DROP TABLE IF EXISTS exercises CASCADE;
 -- Exercises table
 CREATE TABLE exercises (
                            id SERIAL PRIMARY KEY,
-                           name VARCHAR(100) NOT NULL UNIQUE,
+                           name VARCHAR(100) NOT NULL,
                            muscle_group VARCHAR(50) NOT NULL,
                            equipment_needed VARCHAR(100)
 );
@@ -14,24 +16,217 @@ CREATE TABLE exercises (
 -- Cardio Workouts table
 CREATE TABLE cardio_workouts (
                                  id SERIAL PRIMARY KEY,
-                                 name VARCHAR(100) NOT NULL UNIQUE,
+                                 name VARCHAR(100) NOT NULL,
                                  duration_minutes INT NOT NULL CHECK (duration_minutes > 0),
                                  calories_burned INT NOT NULL CHECK (calories_burned > 0),
                                  distance_km DECIMAL(10, 2) NOT NULL CHECK (distance_km > 0),
                                  average_heart_rate INT NOT NULL CHECK (average_heart_rate > 0),
-                                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                                 created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 -- Strength Workouts table (has FK to exercises)
 CREATE TABLE strength_workouts (
                                    id SERIAL PRIMARY KEY,
-                                   name VARCHAR(100) NOT NULL UNIQUE,
+                                   name VARCHAR(100) NOT NULL,
                                    duration_minutes INT NOT NULL CHECK (duration_minutes > 0),
                                    calories_burned INT NOT NULL CHECK (calories_burned > 0),
                                    sets INT NOT NULL CHECK (sets > 0),
                                    reps INT NOT NULL CHECK (reps > 0),
                                    weight_kg DECIMAL(10, 2) NOT NULL CHECK (weight_kg > 0),
-                                   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                                   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Case-insensitive unique names: the source of truth for duplicate detection
+-- (violations surface as SQLState 23505) and the index behind findByName()
+CREATE UNIQUE INDEX uq_exercises_name ON exercises (LOWER(name));
+CREATE UNIQUE INDEX uq_cardio_workouts_name ON cardio_workouts (LOWER(name));
+CREATE UNIQUE INDEX uq_strength_workouts_name ON strength_workouts (LOWER(name));
+
+-- Indexes for min / max queries (ORDER BY <metric>, id LIMIT 1).
+-- The id column breaks ties so the whole ORDER BY is served by the index, in either direction.
+CREATE INDEX idx_cardio_workouts_duration ON cardio_workouts (duration_minutes, id);
+CREATE INDEX idx_cardio_workouts_calories ON cardio_workouts (calories_burned, id);
+CREATE INDEX idx_cardio_workouts_distance ON cardio_workouts (distance_km, id);
+CREATE INDEX idx_cardio_workouts_heart_rate ON cardio_workouts (average_heart_rate, id);
+
+CREATE INDEX idx_strength_workouts_duration ON strength_workouts (duration_minutes, id);
+CREATE INDEX idx_strength_workouts_calories ON strength_workouts (calories_burned, id);
+CREATE INDEX idx_strength_workouts_weight ON strength_workouts (weight_kg, id);
+
+-- Workout feed (newest first, keyset on (created_at, id)): each UNION ALL branch of
+-- WorkoutFeedRepository reads its table backwards along this index and stops after one page.
+-- Time-range queries (findBetween / findSince) read the slice between their bounds, already in order.
+CREATE INDEX idx_cardio_workouts_created_at ON cardio_workouts (created_at, id);
+CREATE INDEX idx_strength_workouts_created_at ON strength_workouts (created_at, id);
+
+-- Rollups: per-period totals for each workout type, so summaries read a handful of rows
+-- instead of scanning the workout tables. Kept current by the triggers below on every
+-- INSERT / UPDATE / DELETE, in the same transaction as the write.
+-- A bulk load runs SET LOCAL fitness.bulk_load = on around its insert, which makes the triggers
+-- skip, and then applies the loaded rows to the rollups itself with one aggregated upsert.
+CREATE TABLE workout_rollups (
+                                 period VARCHAR(5) NOT NULL CHECK (period IN ('day', 'week', 'month')),
+                                 period_start DATE NOT NULL,        -- day, Monday of the week, or 1st of the month
+                                 workout_type VARCHAR(10) NOT NULL CHECK (workout_type IN ('cardio', 'strength')),
+                                 workout_count BIGINT NOT NULL,
+                                 total_minutes BIGINT NOT NULL,
+                                 total_calories BIGINT NOT NULL,
+                                 total_distance_km DECIMAL(14, 2) NOT NULL,  -- 0 for strength
+                                 total_volume_kg DECIMAL(18, 2) NOT NULL,    -- sets * reps * weight_kg, 0 for cardio
+                                 min_minutes INT NOT NULL,
+                                 max_minutes INT NOT NULL,
+                                 min_calories INT NOT NULL,
+                                 max_calories INT NOT NULL,
+                                 PRIMARY KEY (period, period_start, workout_type)
+);
+
+-- First day after the period that starts at p_start
+CREATE OR REPLACE FUNCTION rollup_period_end(p_period TEXT, p_start DATE) RETURNS DATE AS $$
+    SELECT CASE p_period
+               WHEN 'day' THEN p_start + 1
+               WHEN 'week' THEN p_start + 7
+               ELSE (p_start + INTERVAL '1 month')::DATE
+           END;
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- Min / max can't be decremented: recompute them from the period's rows (a created_at index range scan)
+CREATE OR REPLACE FUNCTION refresh_workout_rollup_extremes(p_period TEXT, p_start DATE, p_type TEXT) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('UPDATE workout_rollups r SET min_minutes = s.min_m, max_minutes = s.max_m, '
+                       || 'min_calories = s.min_c, max_calories = s.max_c '
+                       || 'FROM (SELECT MIN(duration_minutes) AS min_m, MAX(duration_minutes) AS max_m, '
+                       || 'MIN(calories_burned) AS min_c, MAX(calories_burned) AS max_c '
+                       || 'FROM %I WHERE created_at >= $1 AND created_at < $2) s '
+                       || 'WHERE r.period = $3 AND r.period_start = $1 AND r.workout_type = $4',
+                   p_type || '_workouts')
+        USING p_start, rollup_period_end(p_period, p_start), p_period, p_type;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Adds (p_sign = 1) or removes (p_sign = -1) one workout from its day, week and month rollups
+CREATE OR REPLACE FUNCTION apply_workout_rollup(p_type TEXT, p_created_at TIMESTAMP, p_sign INT,
+                                                p_minutes INT, p_calories INT,
+                                                p_distance DECIMAL, p_volume DECIMAL) RETURNS VOID AS $$
+DECLARE
+    v_period TEXT;
+    v_start DATE;
+    v_row workout_rollups%ROWTYPE;
+BEGIN
+    -- Always day, week, month: concurrent writers lock rollup rows in the same order
+    FOREACH v_period IN ARRAY ARRAY['day', 'week', 'month'] LOOP
+        v_start := date_trunc(v_period, p_created_at)::DATE;
+        IF p_sign > 0 THEN
+            INSERT INTO workout_rollups VALUES (v_period, v_start, p_type, 1, p_minutes, p_calories, p_distance, p_volume,
+                                                p_minutes, p_minutes, p_calories, p_calories)
+            ON CONFLICT (period, period_start, workout_type) DO UPDATE SET
+                workout_count = workout_rollups.workout_count + 1,
+                total_minutes = workout_rollups.total_minutes + EXCLUDED.total_minutes,
+                total_calories = workout_rollups.total_calories + EXCLUDED.total_calories,
+                total_distance_km = workout_rollups.total_distance_km + EXCLUDED.total_distance_km,
+                total_volume_kg = workout_rollups.total_volume_kg + EXCLUDED.total_volume_kg,
+                min_minutes = LEAST(workout_rollups.min_minutes, EXCLUDED.min_minutes),
+                max_minutes = GREATEST(workout_rollups.max_minutes, EXCLUDED.max_minutes),
+                min_calories = LEAST(workout_rollups.min_calories, EXCLUDED.min_calories),
+                max_calories = GREATEST(workout_rollups.max_calories, EXCLUDED.max_calories);
+        ELSE
+            UPDATE workout_rollups SET
+                workout_count = workout_count - 1,
+                total_minutes = total_minutes - p_minutes,
+                total_calories = total_calories - p_calories,
+                total_distance_km = total_distance_km - p_distance,
+                total_volume_kg = total_volume_kg - p_volume
+            WHERE period = v_period AND period_start = v_start AND workout_type = p_type
+            RETURNING * INTO v_row;
+            IF v_row.workout_count = 0 THEN
+                DELETE FROM workout_rollups WHERE period = v_period AND period_start = v_start AND workout_type = p_type;
+            ELSIF p_minutes IN (v_row.min_minutes, v_row.max_minutes)
+                OR p_calories IN (v_row.min_calories, v_row.max_calories) THEN
+                -- The removed workout may have been the period's min or max
+                PERFORM refresh_workout_rollup_extremes(v_period, v_start, p_type);
+            END IF;
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION cardio_workouts_rollup() RETURNS TRIGGER AS $$
+BEGIN
+    -- The bulk loader rolls its rows up in one statement (missing_ok: NULL when never set)
+    IF current_setting('fitness.bulk_load', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    -- Renames and other changes that don't touch a rolled-up column cost nothing
+    IF TG_OP = 'UPDATE' AND (OLD.created_at, OLD.duration_minutes, OLD.calories_burned, OLD.distance_km)
+        IS NOT DISTINCT FROM (NEW.created_at, NEW.duration_minutes, NEW.calories_burned, NEW.distance_km) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_workout_rollup('cardio', OLD.created_at, -1, OLD.duration_minutes, OLD.calories_burned, OLD.distance_km, 0);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_workout_rollup('cardio', NEW.created_at, 1, NEW.duration_minutes, NEW.calories_burned, NEW.distance_km, 0);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION strength_workouts_rollup() RETURNS TRIGGER AS $$
+BEGIN
+    IF current_setting('fitness.bulk_load', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'UPDATE' AND (OLD.created_at, OLD.duration_minutes, OLD.calories_burned, OLD.sets, OLD.reps, OLD.weight_kg)
+        IS NOT DISTINCT FROM (NEW.created_at, NEW.duration_minutes, NEW.calories_burned, NEW.sets, NEW.reps, NEW.weight_kg) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_workout_rollup('strength', OLD.created_at, -1, OLD.duration_minutes, OLD.calories_burned, 0,
+                                     OLD.sets * OLD.reps * OLD.weight_kg);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_workout_rollup('strength', NEW.created_at, 1, NEW.duration_minutes, NEW.calories_burned, 0,
+                                     NEW.sets * NEW.reps * NEW.weight_kg);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_cardio_workouts_rollup AFTER INSERT OR UPDATE OR DELETE ON cardio_workouts
+    FOR EACH ROW EXECUTE FUNCTION cardio_workouts_rollup();
+CREATE TRIGGER trg_strength_workouts_rollup AFTER INSERT OR UPDATE OR DELETE ON strength_workouts
+    FOR EACH ROW EXECUTE FUNCTION strength_workouts_rollup();
+
+-- Recomputes every rollup from the workout tables; returns the number of rollup rows.
+-- Writers wait until the rebuild commits, so no trigger runs against a half-built table.
+CREATE OR REPLACE FUNCTION rebuild_workout_rollups() RETURNS BIGINT AS $$
+DECLARE
+    v_rows BIGINT;
+BEGIN
+    LOCK TABLE cardio_workouts, strength_workouts IN SHARE MODE;
+    TRUNCATE workout_rollups;
+    INSERT INTO workout_rollups
+    SELECT p.period, date_trunc(p.period, w.created_at)::DATE, w.workout_type,
+           COUNT(*), SUM(w.duration_minutes), SUM(w.calories_burned), SUM(w.distance_km), SUM(w.volume_kg),
+           MIN(w.duration_minutes), MAX(w.duration_minutes), MIN(w.calories_burned), MAX(w.calories_burned)
+    FROM (SELECT 'cardio' AS workout_type, created_at, duration_minutes, calories_burned,
+                 distance_km, 0::DECIMAL AS volume_kg
+          FROM cardio_workouts
+          UNION ALL
+          SELECT 'strength', created_at, duration_minutes, calories_burned,
+                 0, sets * reps * weight_kg
+          FROM strength_workouts) w
+    CROSS JOIN (VALUES ('day'), ('week'), ('month')) AS p(period)
+    GROUP BY 1, 2, 3;
+    GET DIAGNOSTICS v_rows = ROW_COUNT;
+    RETURN v_rows;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Offline journal replay: the last journal record applied, per journal directory. Updated in the same
+-- transaction as that record's writes, so a record is applied exactly once even if replay crashes.
+CREATE TABLE journal_applied (
+                                 journal_id VARCHAR(36) PRIMARY KEY,  -- UUID kept in the journal directory
+                                 last_seq BIGINT NOT NULL
 );
 
 -- Sample inserts: Exercises
@@ -1,33 +1,187 @@
+import analytics.RunningWorkoutStats;
+import analytics.WorkoutSnapshot;
+import analytics.WorkoutSnapshotWriter;
+import bulk.BulkExporter;
+import bulk.BulkImporter;
+import bulk.ExportFormat;
+import bulk.ExportResult;
+import bulk.ExportSource;
+import bulk.ImportResult;
+import bulk.WorkoutCsvFormat;
+import journal.Journal;
+import journal.JournalReplayer;
+import metrics.MetricsReporter;
+import metrics.RepositoryMetrics;
 import model.*;
+import repository.CachingCrudRepository;
+import repository.CachingWorkoutRepository;
 import repository.CardioWorkoutRepository;
 import repository.ExerciseRepository;
+import repository.InstrumentedCrudRepository;
+import repository.InstrumentedWorkoutRepository;
+import repository.JournalAppliedRepository;
 import repository.StrengthWorkoutRepository;
+import repository.WorkoutFeedRepository;
+import repository.WorkoutRollupRepository;
 import service.ExerciseServiceImpl;
+import service.FeedServiceImpl;
+import service.StatsServiceImpl;
+import service.AsyncExecutor;
+import service.AsyncWorkoutServiceImpl;
+import service.UnitOfWork;
 import service.WorkoutServiceImpl;
+import service.WriteBehindConfig;
+import service.interfaces.AsyncWorkoutService;
 import service.interfaces.ExerciseService;
+import service.interfaces.FeedService;
+import service.interfaces.StatsService;
 import service.interfaces.WorkoutService;
+import utils.DatabaseConnection;
 import utils.ReflectionUtils;
 import utils.SortingUtils;
 import exception.*;
 
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
 
 public class Main {
+    private static final int CACHE_SIZE = 10_000;
+    private static final long CACHE_TTL_MS = 60_000;
+    // Repository metrics are printed this often while the demo runs - override with -Dfitness.metrics.reportMs=...
+    private static final long METRICS_REPORT_MS = Long.getLong("fitness.metrics.reportMs", 30_000L);
+    // -Dfitness.writeBehind=true: creates are queued and inserted in batches by a background flusher
+    private static final boolean WRITE_BEHIND = Boolean.getBoolean("fitness.writeBehind");
+
     public static void main(String[] args) {
 
         // DIP: Create repositories and inject into services
-        WorkoutService workoutService = new WorkoutServiceImpl(
-                new CardioWorkoutRepository(),
-                new StrengthWorkoutRepository()
-        );
-        ExerciseService exerciseService = new ExerciseServiceImpl(
-                new ExerciseRepository()
-        );
+        // Decorators: read-through caches sit in front of the JDBC repositories,
+        // and the instrumented layer in between times every call that reaches the database (also over JMX)
+        CachingWorkoutRepository<CardioWorkout> cardioRepo = new CachingWorkoutRepository<>(
+                new InstrumentedWorkoutRepository<>(new CardioWorkoutRepository(), RepositoryMetrics.forRepository("cardio")),
+                CACHE_SIZE, CACHE_TTL_MS);
+        CachingWorkoutRepository<StrengthWorkout> strengthRepo = new CachingWorkoutRepository<>(
+                new InstrumentedWorkoutRepository<>(new StrengthWorkoutRepository(), RepositoryMetrics.forRepository("strength")),
+                CACHE_SIZE, CACHE_TTL_MS);
+        CachingCrudRepository<Exercise> exerciseRepo = new CachingCrudRepository<>(
+                new InstrumentedCrudRepository<>(new ExerciseRepository(), RepositoryMetrics.forRepository("exercise")),
+                Exercise::getId, CACHE_SIZE, CACHE_TTL_MS);
+        MetricsReporter metricsReporter = new MetricsReporter(METRICS_REPORT_MS);
+
+        // Live totals: seeded below by one streaming pass, then kept current by every committed write
+        RunningWorkoutStats runningStats = new RunningWorkoutStats();
+        WorkoutServiceImpl workoutServiceImpl = new WorkoutServiceImpl(cardioRepo, strengthRepo, runningStats,
+                WRITE_BEHIND ? WriteBehindConfig.defaults() : null);
+        WorkoutService workoutService = workoutServiceImpl;
+        ExerciseService exerciseService = new ExerciseServiceImpl(exerciseRepo);
+        FeedService feedService = new FeedServiceImpl(new WorkoutFeedRepository());
+        StatsService statsService = new StatsServiceImpl(new WorkoutRollupRepository(), runningStats);
+        UnitOfWork unitOfWork = new UnitOfWork();
+        // Async calls run on virtual threads, at most one per pooled connection at a time
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        AsyncWorkoutService asyncWorkoutService = new AsyncWorkoutServiceImpl(workoutService, exerciseService, asyncExecutor);
 
         System.out.println("   FITNESS TRACKER API - SOLID VERSION  ");
 
 
         try {
+            // "java Main --rebuild-rollups" recomputes the rollup tables and exits
+            if (args.length > 0 && args[0].equals("--rebuild-rollups")) {
+                long rows = statsService.rebuildRollups();
+                System.out.println("Rebuilt workout rollups: " + rows + " rows");
+                return;
+            }
+
+            // "java Main --export <dir> [csv|jsonl] [--gzip]" writes every table to dir and exits
+            if (args.length > 0 && args[0].equals("--export")) {
+                if (args.length < 2) {
+                    System.out.println("Usage: --export <dir> [csv|jsonl] [--gzip]");
+                    return;
+                }
+                // Flags start with "--" and may come in any order; anything else is the format
+                ExportFormat format = ExportFormat.CSV;
+                boolean gzip = false;
+                for (int i = 2; i < args.length; i++) {
+                    if (args[i].equals("--gzip")) {
+                        gzip = true;
+                    } else if (args[i].startsWith("--")) {
+                        System.out.println("Unknown option " + args[i] + ". Usage: --export <dir> [csv|jsonl] [--gzip]");
+                        return;
+                    } else {
+                        format = ExportFormat.fromName(args[i]);
+                    }
+                }
+                List<ExportResult> results = new BulkExporter().exportAll(
+                        List.of(ExportSource.values()), format, Path.of(args[1]), gzip);
+                results.forEach(r -> System.out.println(r.format()));
+                return;
+            }
+
+            // "java Main --snapshot <file>" writes a binary snapshot of every table, reopens it and exits
+            if (args.length > 0 && args[0].equals("--snapshot")) {
+                if (args.length < 2) {
+                    System.out.println("Usage: --snapshot <file>");
+                    return;
+                }
+                Path file = Path.of(args[1]);
+                try (WorkoutSnapshotWriter writer = new WorkoutSnapshotWriter(file)) {
+                    cardioRepo.forEach(writer::addCardio);
+                    strengthRepo.forEach(writer::addStrength);
+                    exerciseRepo.forEach(writer::addExercise);
+                    writer.finish();
+                }
+                try (WorkoutSnapshot snapshot = WorkoutSnapshot.open(file)) {
+                    System.out.println("Snapshot " + file + ": " + snapshot.cardioCount() + " cardio, "
+                            + snapshot.strengthCount() + " strength, " + snapshot.exerciseCount() + " exercises");
+                    snapshot.cardioTotals().displayInfo();
+                    snapshot.strengthTotals().displayInfo();
+                }
+                return;
+            }
+
+            // Seed before any write goes through the service
+            cardioRepo.forEach(runningStats::addCardio);
+            strengthRepo.forEach(runningStats::addStrength);
+
+            // "java Main --import <cardio|strength> <file.csv> [rejects.csv]" bulk-loads a CSV file and exits
+            if (args.length > 0 && args[0].equals("--import")) {
+                if (args.length < 3) {
+                    System.out.println("Usage: --import <cardio|strength> <file.csv> [rejects.csv]");
+                    return;
+                }
+                Path csv = Path.of(args[2]);
+                Path rejects = args.length > 3 ? Path.of(args[3]) : Path.of(args[2] + ".rejects.csv");
+                BulkImporter importer = new BulkImporter(p -> System.out.println(p.format()), runningStats);
+                ImportResult result = importer.importCsv(csv, WorkoutCsvFormat.forType(args[1]), rejects);
+                System.out.println(result.format());
+                runningStats.getCardioTotals().displayInfo();
+                runningStats.getStrengthTotals().displayInfo();
+                return;
+            }
+
+            // "java Main --journal-replay <dir>" applies writes journaled while offline, checkpoints them and exits
+            if (args.length > 0 && args[0].equals("--journal-replay")) {
+                if (args.length < 2) {
+                    System.out.println("Usage: --journal-replay <dir>");
+                    return;
+                }
+                try (Journal journal = Journal.open(Path.of(args[1]));
+                     JournalReplayer replayer = new JournalReplayer(journal, workoutService, exerciseService,
+                             new JournalAppliedRepository(), unitOfWork,
+                             (seq, entry, error) -> System.out.println("Rejected #" + seq + " ("
+                                     + (entry == null ? "undecodable" : entry) + "): " + error.getMessage()))) {
+                    System.out.println("Journal " + journal.getDirectory() + ": " + journal.getBacklog() + " records to replay");
+                    replayer.replayAvailable();
+                    System.out.println(replayer.getStats());
+                }
+                return;
+            }
+
             // 1. CREATE - Creating entities
 
             System.out.println("--- 1. CREATING ENTITIES ---\n");
@@ -73,6 +227,19 @@ public class Main {
                 w.displayInfo();
             }
 
+            // Both types in one query, newest first, paged with a keyset cursor
+            System.out.println("\nWorkout Feed (pages of 4):");
+            FeedPage feedPage = feedService.getFeedPage(null, 4);
+            int pageNumber = 1;
+            while (true) {
+                System.out.println("Page " + pageNumber++ + ":");
+                feedPage.getWorkouts().forEach(Workout::displayInfo);
+                if (!feedPage.hasMore()) {
+                    break;
+                }
+                feedPage = feedService.getFeedPage(feedPage.getNextCursor(), 4);
+            }
+
             // 3. POLYMORPHISM - Base class reference
 
             System.out.println("\n--- 3. POLYMORPHISM DEMO ---\n");
@@ -136,10 +303,18 @@ public class Main {
                 System.out.println("  " + w.getName() + " | Weight: " + w.getWeightKg() + " kg");
             }
 
+            // Top-K leaderboard over a mixed Workout list - no full sort
+            List<Workout> allWorkouts = new ArrayList<>(workoutService.getAllCardioWorkouts());
+            allWorkouts.addAll(workoutService.getAllStrengthWorkouts());
+            System.out.println("\nTop 3 workouts by intensity (cardio + strength):");
+            for (Workout w : SortingUtils.topKByIntensity(allWorkouts, 3)) {
+                System.out.println("  " + w.getName() + " | Intensity: " + String.format("%.2f", w.calculateIntensity()));
+            }
+
             // ============================================================
-            // 6. FIND MINIMUM using getAll()
+            // 6. FIND MINIMUM / MAXIMUM (ORDER BY ... LIMIT 1 in SQL)
             // ============================================================
-            System.out.println("\n--- 6. FINDING MINIMUM USING getAll() ---\n");
+            System.out.println("\n--- 6. FINDING MINIMUM / MAXIMUM ---\n");
 
             CardioWorkout minDuration = workoutService.getCardioWithMinDuration();
             if (minDuration != null) {
@@ -155,6 +330,32 @@ public class Main {
                 System.out.println("Minimum weight: " + minWeight.getWeightKg() + " kg");
             }
 
+            CardioWorkout maxDistance = workoutService.getCardioWithMax(WorkoutMetric.DISTANCE);
+            if (maxDistance != null) {
+                System.out.println("\nCardio with maximum distance:");
+                maxDistance.displayInfo();
+            }
+
+            StrengthWorkout maxCalories = workoutService.getStrengthWithMax(WorkoutMetric.CALORIES);
+            if (maxCalories != null) {
+                System.out.println("\nStrength with maximum calories:");
+                maxCalories.displayInfo();
+            }
+
+            // This week's workouts: a range scan on the created_at index
+            LocalDateTime weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            LocalDateTime nextWeek = weekStart.plusWeeks(1);
+            List<CardioWorkout> cardioThisWeek = workoutService.getCardioWorkoutsBetween(weekStart, nextWeek);
+            List<StrengthWorkout> strengthThisWeek = workoutService.getStrengthWorkoutsBetween(weekStart, nextWeek);
+            System.out.println("\nWorkouts since " + weekStart.toLocalDate() + ": "
+                    + cardioThisWeek.size() + " cardio, " + strengthThisWeek.size() + " strength");
+            for (CardioWorkout w : cardioThisWeek) {
+                System.out.println("  " + w.getCreatedAt() + " | " + w.getName());
+            }
+            for (StrengthWorkout w : strengthThisWeek) {
+                System.out.println("  " + w.getCreatedAt() + " | " + w.getName());
+            }
+
 
             // 7. UPDATE
 
@@ -191,8 +392,54 @@ public class Main {
             }
 
 
-            // 10. EXCEPTION HANDLING DEMO
-            System.out.println("\n--- 10. EXCEPTION HANDLING DEMO ---\n");
+            // 10. UNIT OF WORK - one connection, one commit for a whole session
+
+            System.out.println("\n--- 10. UNIT OF WORK ---\n");
+
+            CardioWorkout warmUp = new CardioWorkout("Session Warm-up Row", 10, 90, 2.0, 125);
+            StrengthWorkout deadlifts = new StrengthWorkout("Session Deadlifts", 15, 140, 5, 5, 120.0);
+            Exercise rowing = new Exercise("Rowing Machine", "Back", "Rower");
+            unitOfWork.run(() -> {
+                workoutService.createCardioWorkout(warmUp);
+                workoutService.createStrengthWorkout(deadlifts);
+                exerciseService.createExercise(rowing);
+            });
+            System.out.println("Logged session in one transaction: "
+                    + warmUp.getName() + " (ID: " + warmUp.getId() + "), "
+                    + deadlifts.getName() + " (ID: " + deadlifts.getId() + "), "
+                    + rowing.getName() + " (ID: " + rowing.getId() + ")");
+
+
+            // 11. ASYNC DASHBOARD - cardio, strength and exercises are read in parallel
+            System.out.println("\n--- 11. ASYNC DASHBOARD ---\n");
+
+            long dashboardStart = System.nanoTime();
+            Dashboard dashboard = asyncWorkoutService.getDashboard(3).join();
+            dashboard.displayInfo();
+            System.out.printf("Dashboard loaded in %.1f ms (%s)%n",
+                    (System.nanoTime() - dashboardStart) / 1_000_000.0, asyncExecutor.getStats());
+
+
+            // 12. ROLLUP STATS - totals per period, maintained by triggers on every write
+            System.out.println("\n--- 12. ROLLUP STATS ---\n");
+
+            LocalDate today = LocalDate.now();
+            for (WorkoutRollup rollup : statsService.getRollups(RollupPeriod.WEEK, today.minusWeeks(4), today.plusDays(1))) {
+                rollup.displayInfo();
+            }
+            WorkoutRollup cardioThisMonth = statsService.getRollup(RollupPeriod.MONTH, WorkoutRollup.CARDIO, today);
+            if (cardioThisMonth != null) {
+                System.out.printf("Cardio this month: %d workouts, %.1f min on average%n",
+                        cardioThisMonth.getWorkoutCount(), cardioThisMonth.getAverageMinutes());
+            }
+
+            // All-time totals straight from memory
+            statsService.getLiveTotals(WorkoutRollup.CARDIO).displayInfo();
+            statsService.getLiveTotals(WorkoutRollup.STRENGTH).displayInfo();
+
+
+            // 13. EXCEPTION HANDLING DEMO
+            System.out.println("\n--- 13. EXCEPTION HANDLING DEMO ---\n");
 
             // InvalidInputException - empty name
             try {
@@ -224,6 +471,24 @@ public class Main {
         } catch (Exception e) {
             System.err.println("Unexpected error: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            System.out.println("Cardio " + cardioRepo.getStats());
+            System.out.println("Strength " + strengthRepo.getStats());
+            System.out.println("Exercise " + exerciseRepo.getStats());
+            asyncExecutor.close();
+            // Writes everything still queued before the pool goes away
+            try {
+                workoutServiceImpl.close();
+            } catch (DatabaseOperationException e) {
+                System.err.println("Write-behind shutdown: " + e.getMessage());
+            }
+            if (workoutServiceImpl.isWriteBehind()) {
+                System.out.println(workoutServiceImpl.getWriteBehindStats());
+            }
+            metricsReporter.report();
+            metricsReporter.close();
+            System.out.println(DatabaseConnection.getPoolStats());
+            DatabaseConnection.closeConnection();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package analytics;
+
+import model.CardioWorkout;
+import model.StrengthWorkout;
+import model.WorkoutRollup;
+import model.WorkoutTotals;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Live all-time totals per workout type, kept in memory so dashboards read them without a query.
+// Seeded once from a streaming scan, then updated by WorkoutServiceImpl on every committed write.
+//
+// Every counter is a LongAdder: writers add to striped cells, so concurrent updates don't contend
+// on one value and reads are a sum over the cells. Distance and volume are counted in hundredths
+// (the DECIMAL(10, 2) scale of the columns) so that adding and later removing a workout cancels out
+// exactly - no floating-point drift however many updates go by.
+// A snapshot taken while writes are in flight may include part of a write; once they finish it is exact.
+public class RunningWorkoutStats {
+
+    private final Counters cardio = new Counters();
+    private final Counters strength = new Counters();
+
+    // Seeding: one call per existing row, e.g. cardioRepo.forEach(stats::addCardio)
+    public void addCardio(CardioWorkout workout) {
+        cardioChange(null, workout).run();
+    }
+
+    public void addStrength(StrengthWorkout workout) {
+        strengthChange(null, workout).run();
+    }
+
+    // Sums of many inserted rows at once, e.g. after a bulk import; distance and volume in hundredths
+    public void addTotals(String workoutType, long count, long minutes, long calories,
+                          long distanceHundredths, long volumeHundredths) {
+        Delta delta = new Delta();
+        delta.count = count;
+        delta.minutes = minutes;
+        delta.calories = calories;
+        delta.distanceHundredths = distanceHundredths;
+        delta.volumeHundredths = volumeHundredths;
+        if (WorkoutRollup.CARDIO.equals(workoutType)) {
+            cardio.apply(delta);
+        } else if (WorkoutRollup.STRENGTH.equals(workoutType)) {
+            strength.apply(delta);
+        } else {
+            throw new IllegalArgumentException("Unknown workout type: " + workoutType);
+        }
+    }
+
+    // A write as a delta: previous == null for an insert, current == null for a delete.
+    // The values are captured now; the returned action applies them (e.g. once the transaction commits).
+    public Runnable cardioChange(CardioWorkout previous, CardioWorkout current) {
+        Delta delta = new Delta();
+        if (previous != null) {
+            delta.add(-1, previous.getDurationMinutes(), previous.getCaloriesBurned(), hundredths(previous.getDistanceKm()), 0);
+        }
+        if (current != null) {
+            delta.add(1, current.getDurationMinutes(), current.getCaloriesBurned(), hundredths(current.getDistanceKm()), 0);
+        }
+        return () -> cardio.apply(delta);
+    }
+
+    public Runnable strengthChange(StrengthWorkout previous, StrengthWorkout current) {
+        Delta delta = new Delta();
+        if (previous != null) {
+            delta.add(-1, previous.getDurationMinutes(), previous.getCaloriesBurned(), 0, volumeHundredths(previous));
+        }
+        if (current != null) {
+            delta.add(1, current.getDurationMinutes(), current.getCaloriesBurned(), 0, volumeHundredths(current));
+        }
+        return () -> strength.apply(delta);
+    }
+
+    public WorkoutTotals getCardioTotals() {
+        return cardio.snapshot(WorkoutRollup.CARDIO);
+    }
+
+    public WorkoutTotals getStrengthTotals() {
+        return strength.snapshot(WorkoutRollup.STRENGTH);
+    }
+
+    private static long hundredths(double value) {
+        return Math.round(value * 100);
+    }
+
+    private static long volumeHundredths(StrengthWorkout workout) {
+        return hundredths(workout.getWeightKg()) * workout.getSets() * workout.getReps();
+    }
+
+    // Net change of one write (an update is a removal plus an insert)
+    private static final class Delta {
+        private long count;
+        private long minutes;
+        private long calories;
+        private long distanceHundredths;
+        private long volumeHundredths;
+
+        private void add(int sign, long minutes, long calories, long distanceHundredths, long volumeHundredths) {
+            this.count += sign;
+            this.minutes += sign * minutes;
+            this.calories += sign * calories;
+            this.distanceHundredths += sign * distanceHundredths;
+            this.volumeHundredths += sign * volumeHundredths;
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder minutes = new LongAdder();
+        private final LongAdder calories = new LongAdder();
+        private final LongAdder distanceHundredths = new LongAdder();
+        private final LongAdder volumeHundredths = new LongAdder();
+
+        private void apply(Delta delta) {
+            count.add(delta.count);
+            minutes.add(delta.minutes);
+            calories.add(delta.calories);
+            distanceHundredths.add(delta.distanceHundredths);
+            volumeHundredths.add(delta.volumeHundredths);
+        }
+
+        private WorkoutTotals snapshot(String workoutType) {
+            return new WorkoutTotals(workoutType, count.sum(), minutes.sum(), calories.sum(),
+                    distanceHundredths.sum() / 100.0, volumeHundredths.sum() / 100.0);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package analytics;
+
+import model.CardioWorkout;
+import model.StrengthWorkout;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Column-oriented copy of cardio and strength workouts for analytics.
+// Every field lives in its own primitive array (one slot per row) and names are
+// dictionary-encoded, so aggregates are tight loops over int[] / double[] with
+// no pointer chasing, boxing or virtual calls.
+//
+// Rows are append-only; the store is not thread-safe while loading but can be
+// read concurrently once loading is done.
+public class WorkoutColumnStore {
+
+    // Row type codes (also used as filters)
+    public static final byte CARDIO = 0;
+    public static final byte STRENGTH = 1;
+    public static final byte ALL = -1;
+
+    public enum Column {
+        DURATION,
+        CALORIES,
+        HEART_RATE,  // cardio only
+        DISTANCE,    // cardio only
+        SETS,        // strength only
+        REPS,        // strength only
+        WEIGHT       // strength only
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private byte[] type;
+    private int[] id;
+    private int[] nameId;
+    private int[] duration;
+    private int[] calories;
+    private int[] heartRate;   // 0 for strength rows
+    private int[] sets;        // 0 for cardio rows
+    private int[] reps;        // 0 for cardio rows
+    private double[] distance; // 0 for strength rows
+    private double[] weight;   // 0 for cardio rows
+
+    // Name dictionary: each distinct name is stored once
+    private final Map<String, Integer> nameDictionary = new HashMap<>();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int nameCount;
+
+    public WorkoutColumnStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public WorkoutColumnStore(int expectedRows) {
+        int capacity = Math.max(expectedRows, 16);
+        type = new byte[capacity];
+        id = new int[capacity];
+        nameId = new int[capacity];
+        duration = new int[capacity];
+        calories = new int[capacity];
+        heartRate = new int[capacity];
+        sets = new int[capacity];
+        reps = new int[capacity];
+        distance = new double[capacity];
+        weight = new double[capacity];
+    }
+
+    // Builds a store from (e.g. repository streamAll()) streams without materializing the object lists
+    public static WorkoutColumnStore load(Stream<CardioWorkout> cardio, Stream<StrengthWorkout> strength) {
+        WorkoutColumnStore store = new WorkoutColumnStore();
+        for (Iterator<CardioWorkout> it = cardio.iterator(); it.hasNext(); ) {
+            store.add(it.next());
+        }
+        for (Iterator<StrengthWorkout> it = strength.iterator(); it.hasNext(); ) {
+            store.add(it.next());
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    // ==================== LOADING ====================
+
+    public void add(CardioWorkout w) {
+        int row = nextRow(CARDIO, w.getId(), w.getName(), w.getDurationMinutes(), w.getCaloriesBurned());
+        heartRate[row] = w.getAverageHeartRate();
+        distance[row] = w.getDistanceKm();
+    }
+
+    public void add(StrengthWorkout w) {
+        int row = nextRow(STRENGTH, w.getId(), w.getName(), w.getDurationMinutes(), w.getCaloriesBurned());
+        sets[row] = w.getSets();
+        reps[row] = w.getReps();
+        weight[row] = w.getWeightKg();
+    }
+
+    private int nextRow(byte rowType, int rowId, String name, int durationMinutes, int caloriesBurned) {
+        if (size == type.length) {
+            resize(Math.max(16, type.length * 2));
+        }
+        int row = size++;
+        type[row] = rowType;
+        id[row] = rowId;
+        nameId[row] = encode(name);
+        duration[row] = durationMinutes;
+        calories[row] = caloriesBurned;
+        return row;
+    }
+
+    private int encode(String name) {
+        Integer code = nameDictionary.get(name);
+        if (code == null) {
+            code = nameCount;
+            if (nameCount == names.length) {
+                names = Arrays.copyOf(names, Math.max(16, nameCount * 2));
+            }
+            names[nameCount++] = name;
+            nameDictionary.put(name, code);
+        }
+        return code;
+    }
+
+    // Releases the spare capacity left over from growing the arrays
+    public void trimToSize() {
+        resize(size);
+        names = Arrays.copyOf(names, nameCount);
+    }
+
+    private void resize(int capacity) {
+        type = Arrays.copyOf(type, capacity);
+        id = Arrays.copyOf(id, capacity);
+        nameId = Arrays.copyOf(nameId, capacity);
+        duration = Arrays.copyOf(duration, capacity);
+        calories = Arrays.copyOf(calories, capacity);
+        heartRate = Arrays.copyOf(heartRate, capacity);
+        sets = Arrays.copyOf(sets, capacity);
+        reps = Arrays.copyOf(reps, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+        weight = Arrays.copyOf(weight, capacity);
+    }
+
+    // ==================== ROW ACCESS ====================
+
+    public int size() { return size; }
+    public byte typeAt(int row) { return type[row]; }
+    public int idAt(int row) { return id[row]; }
+    public String nameAt(int row) { return names[nameId[row]]; }
+    public int distinctNames() { return nameCount; }
+
+    // ==================== AGGREGATES ====================
+
+    // rowType is CARDIO, STRENGTH or ALL
+    public int count(byte rowType) {
+        if (rowType == ALL) {
+            return size;
+        }
+        byte[] t = type;
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (t[i] == rowType) n++;
+        }
+        return n;
+    }
+
+    public double sum(Column column, byte rowType) {
+        byte filter = filterFor(column, rowType);
+        if (filter == NONE) {
+            return 0.0;
+        }
+        byte[] t = type;
+        int[] ints = intColumn(column);
+        if (ints != null) {
+            long total = 0;
+            if (filter == ALL) {
+                for (int i = 0; i < size; i++) total += ints[i];
+            } else {
+                for (int i = 0; i < size; i++) if (t[i] == filter) total += ints[i];
+            }
+            return total;
+        }
+        double[] doubles = doubleColumn(column);
+        double total = 0.0;
+        if (filter == ALL) {
+            for (int i = 0; i < size; i++) total += doubles[i];
+        } else {
+            for (int i = 0; i < size; i++) if (t[i] == filter) total += doubles[i];
+        }
+        return total;
+    }
+
+    // NaN when no rows match
+    public double avg(Column column, byte rowType) {
+        byte filter = filterFor(column, rowType);
+        int n = filter == NONE ? 0 : count(filter);
+        return n == 0 ? Double.NaN : sum(column, rowType) / n;
+    }
+
+    // NaN when no rows match
+    public double min(Column column, byte rowType) {
+        return extreme(column, rowType, false);
+    }
+
+    // NaN when no rows match
+    public double max(Column column, byte rowType) {
+        return extreme(column, rowType, true);
+    }
+
+    private double extreme(Column column, byte rowType, boolean max) {
+        byte filter = filterFor(column, rowType);
+        if (filter == NONE) {
+            return Double.NaN;
+        }
+        byte[] t = type;
+        int[] ints = intColumn(column);
+        if (ints != null) {
+            long best = max ? Long.MIN_VALUE : Long.MAX_VALUE;
+            boolean found = false;
+            for (int i = 0; i < size; i++) {
+                if (filter != ALL && t[i] != filter) continue;
+                int v = ints[i];
+                best = max ? Math.max(best, v) : Math.min(best, v);
+                found = true;
+            }
+            return found ? best : Double.NaN;
+        }
+        double[] doubles = doubleColumn(column);
+        double best = max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        boolean found = false;
+        for (int i = 0; i < size; i++) {
+            if (filter != ALL && t[i] != filter) continue;
+            double v = doubles[i];
+            best = max ? Math.max(best, v) : Math.min(best, v);
+            found = true;
+        }
+        return found ? best : Double.NaN;
+    }
+
+    // Equal-width histogram over [low, high); values outside the range go to the first / last bin
+    public long[] histogram(Column column, byte rowType, double low, double high, int bins) {
+        if (bins <= 0 || !(high > low)) {
+            throw new IllegalArgumentException("Histogram needs bins > 0 and high > low");
+        }
+        long[] counts = new long[bins];
+        byte filter = filterFor(column, rowType);
+        if (filter == NONE) {
+            return counts;
+        }
+        byte[] t = type;
+        double scale = bins / (high - low);
+        int[] ints = intColumn(column);
+        double[] doubles = ints == null ? doubleColumn(column) : null;
+        for (int i = 0; i < size; i++) {
+            if (filter != ALL && t[i] != filter) continue;
+            double v = ints != null ? ints[i] : doubles[i];
+            int bin = (int) ((v - low) * scale);
+            counts[bin < 0 ? 0 : (bin >= bins ? bins - 1 : bin)]++;
+        }
+        return counts;
+    }
+
+    // ==================== INTENSITY ====================
+    // Same formulas as CardioWorkout / StrengthWorkout.calculateIntensity(), inlined per row type
+
+    public double sumIntensity(byte rowType) {
+        byte[] t = type;
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            if (rowType != ALL && t[i] != rowType) continue;
+            total += intensityAt(i);
+        }
+        return total;
+    }
+
+    // NaN when no rows match
+    public double avgIntensity(byte rowType) {
+        int n = count(rowType);
+        return n == 0 ? Double.NaN : sumIntensity(rowType) / n;
+    }
+
+    // Row with the highest intensity, or -1 when no rows match
+    public int rowWithMaxIntensity(byte rowType) {
+        byte[] t = type;
+        int bestRow = -1;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            if (rowType != ALL && t[i] != rowType) continue;
+            double v = intensityAt(i);
+            if (v > best) {
+                best = v;
+                bestRow = i;
+            }
+        }
+        return bestRow;
+    }
+
+    public double intensityAt(int row) {
+        if (type[row] == CARDIO) {
+            return (heartRate[row] / (double) duration[row]) * distance[row];
+        }
+        return (sets[row] * reps[row] * weight[row]) / duration[row];
+    }
+
+    // ==================== COLUMN HELPERS ====================
+
+    // Marker for "column doesn't exist for this row type"
+    private static final byte NONE = -2;
+
+    // Type-specific columns only make sense for their own rows
+    private static byte filterFor(Column column, byte rowType) {
+        switch (column) {
+            case HEART_RATE:
+            case DISTANCE:
+                return rowType == STRENGTH ? NONE : CARDIO;
+            case SETS:
+            case REPS:
+            case WEIGHT:
+                return rowType == CARDIO ? NONE : STRENGTH;
+            default:
+                return rowType;
+        }
+    }
+
+    private int[] intColumn(Column column) {
+        switch (column) {
+            case DURATION: return duration;
+            case CALORIES: return calories;
+            case HEART_RATE: return heartRate;
+            case SETS: return sets;
+            case REPS: return reps;
+            default: return null;
+        }
+    }
+
+    private double[] doubleColumn(Column column) {
+        switch (column) {
+            case DISTANCE: return distance;
+            case WEIGHT: return weight;
+            default: return null;
+        }
+    }
+
+    // Approximate heap used by the column arrays and the name strings (~40 bytes overhead each)
+    public long estimatedBytes() {
+        long perRow = 1 + 4L * 7 + 8L * 2;
+        long dictionary = 0;
+        for (int i = 0; i < nameCount; i++) {
+            dictionary += 40 + 2L * names[i].length();
+        }
+        return perRow * type.length + dictionary;
+    }
+}
@@ -0,0 +1,343 @@
+package analytics;
+
+import model.CardioWorkout;
+import model.Exercise;
+import model.StrengthWorkout;
+import model.WorkoutRollup;
+import model.WorkoutTotals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+// Read side of the binary snapshot written by WorkoutSnapshotWriter.
+// The file is mapped read-only with FileChannel.map and every accessor reads straight from the mapped
+// pages: a row is an offset, not an object, so opening is O(1) and aggregates are loops over the pages.
+// Strings are decoded only when asked for. Safe for concurrent readers.
+//
+// Layout (little-endian, all sections 8-byte aligned):
+//   header     128 bytes: magic, version, counts, section offsets, CRC32C per section, CRC32C of the header
+//   cardio     cardioCount   x 40 bytes  id, name, duration, calories, heart rate, -, distance_km, created_at
+//   strength   strengthCount x 40 bytes  id, name, duration, calories, sets, reps, weight_kg, created_at
+//   exercises  exerciseCount x 16 bytes  id, name, muscle group, equipment
+//   strings    stringCount   x  8 bytes  (offset, length) into the string data
+//   string data                          UTF-8, each distinct string once
+// Strings are referenced by their index in the string table; -1 is null.
+// created_at is microseconds since the epoch (UTC wall clock), Long.MIN_VALUE when unknown.
+public final class WorkoutSnapshot implements AutoCloseable {
+
+    static final int MAGIC = 0x4E535446;  // "FTSN"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 128;
+
+    // Header fields
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_HEADER_SIZE = 6;
+    static final int H_CREATED_AT = 8;
+    static final int H_CARDIO_COUNT = 16;
+    static final int H_STRENGTH_COUNT = 20;
+    static final int H_EXERCISE_COUNT = 24;
+    static final int H_STRING_COUNT = 28;
+    static final int H_CARDIO_OFFSET = 32;
+    static final int H_STRENGTH_OFFSET = 40;
+    static final int H_EXERCISE_OFFSET = 48;
+    static final int H_STRING_INDEX_OFFSET = 56;
+    static final int H_STRING_DATA_OFFSET = 64;
+    static final int H_STRING_DATA_LENGTH = 72;
+    static final int H_CARDIO_CRC = 80;
+    static final int H_STRENGTH_CRC = 84;
+    static final int H_EXERCISE_CRC = 88;
+    static final int H_STRINGS_CRC = 92;
+    static final int H_HEADER_CRC = 124;  // over bytes [0, 124)
+
+    // Workout records (cardio and strength share the first four fields)
+    static final int WORKOUT_SIZE = 40;
+    static final int W_ID = 0;
+    static final int W_NAME = 4;
+    static final int W_DURATION = 8;
+    static final int W_CALORIES = 12;
+    static final int C_HEART_RATE = 16;
+    static final int C_DISTANCE = 24;
+    static final int S_SETS = 16;
+    static final int S_REPS = 20;
+    static final int S_WEIGHT = 24;
+    static final int W_CREATED_AT = 32;
+
+    // Exercise records
+    static final int EXERCISE_SIZE = 16;
+    static final int E_ID = 0;
+    static final int E_NAME = 4;
+    static final int E_MUSCLE_GROUP = 8;
+    static final int E_EQUIPMENT = 12;
+
+    static final int STRING_ENTRY_SIZE = 8;
+    static final int NO_STRING = -1;
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Path file;
+    private final long createdAtMillis;
+    private final int cardioCount;
+    private final int strengthCount;
+    private final int exerciseCount;
+    private final int stringCount;
+    private final ByteBuffer cardio;
+    private final ByteBuffer strength;
+    private final ByteBuffer exercises;
+    private final ByteBuffer stringIndex;
+    private final ByteBuffer stringData;
+
+    private WorkoutSnapshot(Path file, ByteBuffer header, FileChannel channel, long fileSize) throws IOException {
+        this.file = file;
+        createdAtMillis = header.getLong(H_CREATED_AT);
+        cardioCount = count(header, H_CARDIO_COUNT);
+        strengthCount = count(header, H_STRENGTH_COUNT);
+        exerciseCount = count(header, H_EXERCISE_COUNT);
+        stringCount = count(header, H_STRING_COUNT);
+        cardio = map(channel, fileSize, header.getLong(H_CARDIO_OFFSET), (long) cardioCount * WORKOUT_SIZE);
+        strength = map(channel, fileSize, header.getLong(H_STRENGTH_OFFSET), (long) strengthCount * WORKOUT_SIZE);
+        exercises = map(channel, fileSize, header.getLong(H_EXERCISE_OFFSET), (long) exerciseCount * EXERCISE_SIZE);
+        stringIndex = map(channel, fileSize, header.getLong(H_STRING_INDEX_OFFSET), (long) stringCount * STRING_ENTRY_SIZE);
+        stringData = map(channel, fileSize, header.getLong(H_STRING_DATA_OFFSET), header.getLong(H_STRING_DATA_LENGTH));
+    }
+
+    public static WorkoutSnapshot open(Path file) throws IOException {
+        return open(file, true);
+    }
+
+    // verifyChecksums reads every page once; skip it for a file this process has just written
+    public static WorkoutSnapshot open(Path file, boolean verifyChecksums) throws IOException {
+        // The mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException(file + " is not a workout snapshot: too short");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(H_MAGIC) != MAGIC) {
+                throw new IOException(file + " is not a workout snapshot: bad magic");
+            }
+            short version = header.getShort(H_VERSION);
+            if (version != VERSION || header.getShort(H_HEADER_SIZE) != HEADER_SIZE) {
+                throw new IOException(file + ": unsupported snapshot version " + version);
+            }
+            if (crc(header.slice(0, H_HEADER_CRC)) != header.getInt(H_HEADER_CRC)) {
+                throw new IOException(file + ": snapshot header checksum mismatch");
+            }
+
+            WorkoutSnapshot snapshot = new WorkoutSnapshot(file, header, channel, fileSize);
+            if (verifyChecksums) {
+                snapshot.verify(header);
+            }
+            return snapshot;
+        }
+    }
+
+    private static int count(ByteBuffer header, int field) throws IOException {
+        int count = header.getInt(field);
+        if (count < 0) {
+            throw new IOException("Corrupt snapshot header: negative count");
+        }
+        return count;
+    }
+
+    // One mapping per section, so only a single section (not the file) is limited to 2 GB
+    private static ByteBuffer map(FileChannel channel, long fileSize, long offset, long length) throws IOException {
+        if (offset < HEADER_SIZE || length < 0 || offset + length > fileSize || length > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt snapshot header: section [" + offset + ", +" + length + ") outside the file");
+        }
+        MappedByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        return section.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void verify(ByteBuffer header) throws IOException {
+        check("cardio", crc(cardio), header.getInt(H_CARDIO_CRC));
+        check("strength", crc(strength), header.getInt(H_STRENGTH_CRC));
+        check("exercise", crc(exercises), header.getInt(H_EXERCISE_CRC));
+        check("string", crc(stringIndex, stringData), header.getInt(H_STRINGS_CRC));
+    }
+
+    private void check(String section, int actual, int expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException(file + ": " + section + " section checksum mismatch");
+        }
+    }
+
+    static int crc(ByteBuffer... sections) {
+        CRC32C crc = new CRC32C();
+        for (ByteBuffer section : sections) {
+            crc.update(section.duplicate());
+        }
+        return (int) crc.getValue();
+    }
+
+    // ==================== FILE ====================
+
+    public Path getFile() { return file; }
+    public Instant getCreatedAt() { return Instant.ofEpochMilli(createdAtMillis); }
+    public int cardioCount() { return cardioCount; }
+    public int strengthCount() { return strengthCount; }
+    public int exerciseCount() { return exerciseCount; }
+    public int stringCount() { return stringCount; }
+
+    // Mapped pages are released when this object is garbage collected; Java has no explicit unmap
+    @Override
+    public void close() {
+    }
+
+    // ==================== CARDIO ====================
+    // row is 0 .. cardioCount() - 1, in id order
+
+    public int cardioId(int row) { return cardio.getInt(cardioBase(row) + W_ID); }
+    public String cardioName(int row) { return string(cardio.getInt(cardioBase(row) + W_NAME)); }
+    public int cardioDuration(int row) { return cardio.getInt(cardioBase(row) + W_DURATION); }
+    public int cardioCalories(int row) { return cardio.getInt(cardioBase(row) + W_CALORIES); }
+    public int cardioHeartRate(int row) { return cardio.getInt(cardioBase(row) + C_HEART_RATE); }
+    public double cardioDistanceKm(int row) { return cardio.getDouble(cardioBase(row) + C_DISTANCE); }
+    public LocalDateTime cardioCreatedAt(int row) { return timestamp(cardio.getLong(cardioBase(row) + W_CREATED_AT)); }
+
+    public CardioWorkout cardioAt(int row) {
+        CardioWorkout w = new CardioWorkout(cardioId(row), cardioName(row), cardioDuration(row), cardioCalories(row),
+                cardioDistanceKm(row), cardioHeartRate(row));
+        w.setCreatedAt(cardioCreatedAt(row));
+        return w;
+    }
+
+    private int cardioBase(int row) {
+        return base(row, cardioCount, WORKOUT_SIZE);
+    }
+
+    // ==================== STRENGTH ====================
+
+    public int strengthId(int row) { return strength.getInt(strengthBase(row) + W_ID); }
+    public String strengthName(int row) { return string(strength.getInt(strengthBase(row) + W_NAME)); }
+    public int strengthDuration(int row) { return strength.getInt(strengthBase(row) + W_DURATION); }
+    public int strengthCalories(int row) { return strength.getInt(strengthBase(row) + W_CALORIES); }
+    public int strengthSets(int row) { return strength.getInt(strengthBase(row) + S_SETS); }
+    public int strengthReps(int row) { return strength.getInt(strengthBase(row) + S_REPS); }
+    public double strengthWeightKg(int row) { return strength.getDouble(strengthBase(row) + S_WEIGHT); }
+    public LocalDateTime strengthCreatedAt(int row) { return timestamp(strength.getLong(strengthBase(row) + W_CREATED_AT)); }
+
+    public StrengthWorkout strengthAt(int row) {
+        StrengthWorkout w = new StrengthWorkout(strengthId(row), strengthName(row), strengthDuration(row),
+                strengthCalories(row), strengthSets(row), strengthReps(row), strengthWeightKg(row));
+        w.setCreatedAt(strengthCreatedAt(row));
+        return w;
+    }
+
+    private int strengthBase(int row) {
+        return base(row, strengthCount, WORKOUT_SIZE);
+    }
+
+    // ==================== EXERCISES ====================
+
+    public int exerciseId(int row) { return exercises.getInt(exerciseBase(row) + E_ID); }
+    public String exerciseName(int row) { return string(exercises.getInt(exerciseBase(row) + E_NAME)); }
+    public String exerciseMuscleGroup(int row) { return string(exercises.getInt(exerciseBase(row) + E_MUSCLE_GROUP)); }
+    public String exerciseEquipment(int row) { return string(exercises.getInt(exerciseBase(row) + E_EQUIPMENT)); }
+
+    public Exercise exerciseAt(int row) {
+        return new Exercise(exerciseId(row), exerciseName(row), exerciseMuscleGroup(row), exerciseEquipment(row));
+    }
+
+    private int exerciseBase(int row) {
+        return base(row, exerciseCount, EXERCISE_SIZE);
+    }
+
+    // ==================== AGGREGATES ====================
+    // Read the record fields in place; nothing is allocated per row
+
+    public WorkoutTotals cardioTotals() {
+        long minutes = 0;
+        long calories = 0;
+        long distanceHundredths = 0;
+        for (int base = 0, end = cardioCount * WORKOUT_SIZE; base < end; base += WORKOUT_SIZE) {
+            minutes += cardio.getInt(base + W_DURATION);
+            calories += cardio.getInt(base + W_CALORIES);
+            distanceHundredths += Math.round(cardio.getDouble(base + C_DISTANCE) * 100);
+        }
+        return new WorkoutTotals(WorkoutRollup.CARDIO, cardioCount, minutes, calories, distanceHundredths / 100.0, 0);
+    }
+
+    public WorkoutTotals strengthTotals() {
+        long minutes = 0;
+        long calories = 0;
+        long volumeHundredths = 0;
+        for (int base = 0, end = strengthCount * WORKOUT_SIZE; base < end; base += WORKOUT_SIZE) {
+            minutes += strength.getInt(base + W_DURATION);
+            calories += strength.getInt(base + W_CALORIES);
+            volumeHundredths += Math.round(strength.getDouble(base + S_WEIGHT) * 100)
+                    * strength.getInt(base + S_SETS) * strength.getInt(base + S_REPS);
+        }
+        return new WorkoutTotals(WorkoutRollup.STRENGTH, strengthCount, minutes, calories, 0, volumeHundredths / 100.0);
+    }
+
+    // Seeds live totals from the snapshot instead of scanning the tables
+    public void seed(RunningWorkoutStats stats) {
+        WorkoutTotals c = cardioTotals();
+        WorkoutTotals s = strengthTotals();
+        stats.addTotals(WorkoutRollup.CARDIO, c.getWorkoutCount(), c.getTotalMinutes(), c.getTotalCalories(),
+                Math.round(c.getTotalDistanceKm() * 100), 0);
+        stats.addTotals(WorkoutRollup.STRENGTH, s.getWorkoutCount(), s.getTotalMinutes(), s.getTotalCalories(),
+                0, Math.round(s.getTotalVolumeKg() * 100));
+    }
+
+    // Column store for the existing aggregate code, filled from the mapped records
+    public WorkoutColumnStore toColumnStore() {
+        WorkoutColumnStore store = new WorkoutColumnStore(cardioCount + strengthCount);
+        for (int row = 0; row < cardioCount; row++) {
+            store.add(cardioAt(row));
+        }
+        for (int row = 0; row < strengthCount; row++) {
+            store.add(strengthAt(row));
+        }
+        return store;
+    }
+
+    // ==================== HELPERS ====================
+
+    private static int base(int row, int count, int recordSize) {
+        if (row < 0 || row >= count) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + count + ")");
+        }
+        return row * recordSize;
+    }
+
+    private String string(int index) {
+        if (index == NO_STRING) {
+            return null;
+        }
+        if (index < 0 || index >= stringCount) {
+            throw new IndexOutOfBoundsException("String " + index + " out of range [0, " + stringCount + ")");
+        }
+        int offset = stringIndex.getInt(index * STRING_ENTRY_SIZE);
+        int length = stringIndex.getInt(index * STRING_ENTRY_SIZE + 4);
+        byte[] bytes = new byte[length];
+        stringData.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static long encodeTimestamp(LocalDateTime value) {
+        if (value == null) {
+            return NO_TIMESTAMP;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+
+    private static LocalDateTime timestamp(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
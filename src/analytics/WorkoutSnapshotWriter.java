@@ -0,0 +1,234 @@
+package analytics;
+
+import model.CardioWorkout;
+import model.Exercise;
+import model.StrengthWorkout;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+// Writes the binary snapshot read by WorkoutSnapshot (layout documented there).
+// Records are streamed to disk as they are added, in section order: every cardio workout, then every
+// strength workout, then every exercise. Only the string table (each distinct string once) is kept in memory.
+// The header is written last, and the file is built as <file>.part and renamed by finish(),
+// so readers never see a half-written snapshot.
+//
+//   try (WorkoutSnapshotWriter writer = new WorkoutSnapshotWriter(path)) {
+//       cardioRepo.forEach(writer::addCardio);
+//       strengthRepo.forEach(writer::addStrength);
+//       exerciseRepo.forEach(writer::addExercise);
+//       writer.finish();
+//   }
+// The add methods are Consumers for forEach, so they throw UncheckedIOException. Not thread-safe.
+public class WorkoutSnapshotWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Sections in file order; a section is closed once the next one starts
+    private static final int CARDIO = 0;
+    private static final int STRENGTH = 1;
+    private static final int EXERCISES = 2;
+    private static final int STRINGS = 3;
+
+    private final Path file;
+    private final Path partial;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private final long[] offsets = new long[STRINGS + 1];
+    private final int[] counts = new int[STRINGS + 1];
+    private final int[] checksums = new int[STRINGS + 1];
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+    private long stringDataLength;
+    private int section = CARDIO;
+    private long position = WorkoutSnapshot.HEADER_SIZE;
+    private boolean finished;
+
+    public WorkoutSnapshotWriter(Path file) throws IOException {
+        this.file = file;
+        this.partial = file.resolveSibling(file.getFileName() + ".part");
+        this.channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        offsets[CARDIO] = position;
+    }
+
+    // ==================== RECORDS ====================
+
+    public void addCardio(CardioWorkout w) {
+        startRecord(CARDIO, WorkoutSnapshot.WORKOUT_SIZE);
+        buffer.putInt(w.getId())
+                .putInt(stringId(w.getName()))
+                .putInt(w.getDurationMinutes())
+                .putInt(w.getCaloriesBurned())
+                .putInt(w.getAverageHeartRate())
+                .putInt(0)
+                .putDouble(w.getDistanceKm())
+                .putLong(WorkoutSnapshot.encodeTimestamp(w.getCreatedAt()));
+    }
+
+    public void addStrength(StrengthWorkout w) {
+        startRecord(STRENGTH, WorkoutSnapshot.WORKOUT_SIZE);
+        buffer.putInt(w.getId())
+                .putInt(stringId(w.getName()))
+                .putInt(w.getDurationMinutes())
+                .putInt(w.getCaloriesBurned())
+                .putInt(w.getSets())
+                .putInt(w.getReps())
+                .putDouble(w.getWeightKg())
+                .putLong(WorkoutSnapshot.encodeTimestamp(w.getCreatedAt()));
+    }
+
+    public void addExercise(Exercise e) {
+        startRecord(EXERCISES, WorkoutSnapshot.EXERCISE_SIZE);
+        buffer.putInt(e.getId())
+                .putInt(stringId(e.getName()))
+                .putInt(stringId(e.getMuscleGroup()))
+                .putInt(stringId(e.getEquipmentNeeded()));
+    }
+
+    private void startRecord(int recordSection, int recordSize) {
+        try {
+            advanceTo(recordSection);
+            if (buffer.remaining() < recordSize) {
+                drain();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        counts[recordSection]++;
+    }
+
+    private int stringId(String value) {
+        if (value == null) {
+            return WorkoutSnapshot.NO_STRING;
+        }
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            id = strings.size();
+            strings.add(bytes);
+            stringIds.put(value, id);
+            stringDataLength += bytes.length;
+        }
+        return id;
+    }
+
+    // ==================== SECTIONS ====================
+
+    // Closes every section before target; sections may be empty
+    private void advanceTo(int target) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Snapshot already finished");
+        }
+        if (target < section) {
+            throw new IllegalStateException("Snapshot sections must be written in order: cardio, strength, exercises");
+        }
+        while (section < target) {
+            drain();
+            checksums[section] = (int) crc.getValue();
+            crc.reset();
+            section++;
+            offsets[section] = position;
+        }
+    }
+
+    // Writes the buffered bytes at the current position and folds them into the section checksum
+    private void drain() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    // Writes the string table and header, syncs, and moves the file into place
+    public void finish() throws IOException {
+        advanceTo(STRINGS);
+        long stringIndexOffset = position;
+        int stringOffset = 0;
+        for (byte[] bytes : strings) {
+            if (buffer.remaining() < WorkoutSnapshot.STRING_ENTRY_SIZE) {
+                drain();
+            }
+            buffer.putInt(stringOffset).putInt(bytes.length);
+            stringOffset += bytes.length;
+        }
+        drain();
+        long stringDataOffset = position;
+        if (stringDataLength > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot string table exceeds 2 GB");
+        }
+        for (byte[] bytes : strings) {
+            put(bytes);
+        }
+        drain();
+        checksums[STRINGS] = (int) crc.getValue();
+        finished = true;
+
+        ByteBuffer header = ByteBuffer.allocate(WorkoutSnapshot.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(WorkoutSnapshot.H_MAGIC, WorkoutSnapshot.MAGIC)
+                .putShort(WorkoutSnapshot.H_VERSION, WorkoutSnapshot.VERSION)
+                .putShort(WorkoutSnapshot.H_HEADER_SIZE, (short) WorkoutSnapshot.HEADER_SIZE)
+                .putLong(WorkoutSnapshot.H_CREATED_AT, System.currentTimeMillis())
+                .putInt(WorkoutSnapshot.H_CARDIO_COUNT, counts[CARDIO])
+                .putInt(WorkoutSnapshot.H_STRENGTH_COUNT, counts[STRENGTH])
+                .putInt(WorkoutSnapshot.H_EXERCISE_COUNT, counts[EXERCISES])
+                .putInt(WorkoutSnapshot.H_STRING_COUNT, strings.size())
+                .putLong(WorkoutSnapshot.H_CARDIO_OFFSET, offsets[CARDIO])
+                .putLong(WorkoutSnapshot.H_STRENGTH_OFFSET, offsets[STRENGTH])
+                .putLong(WorkoutSnapshot.H_EXERCISE_OFFSET, offsets[EXERCISES])
+                .putLong(WorkoutSnapshot.H_STRING_INDEX_OFFSET, stringIndexOffset)
+                .putLong(WorkoutSnapshot.H_STRING_DATA_OFFSET, stringDataOffset)
+                .putLong(WorkoutSnapshot.H_STRING_DATA_LENGTH, stringDataLength)
+                .putInt(WorkoutSnapshot.H_CARDIO_CRC, checksums[CARDIO])
+                .putInt(WorkoutSnapshot.H_STRENGTH_CRC, checksums[STRENGTH])
+                .putInt(WorkoutSnapshot.H_EXERCISE_CRC, checksums[EXERCISES])
+                .putInt(WorkoutSnapshot.H_STRINGS_CRC, checksums[STRINGS]);
+        header.putInt(WorkoutSnapshot.H_HEADER_CRC, WorkoutSnapshot.crc(header.slice(0, WorkoutSnapshot.H_HEADER_CRC)));
+        for (long at = 0; header.hasRemaining(); ) {
+            at += channel.write(header, at);
+        }
+
+        channel.force(true);
+        channel.close();
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Path getFile() { return file; }
+
+    // Without a successful finish() the partial file is deleted
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.close();
+        }
+        Files.deleteIfExists(partial);
+    }
+}
@@ -0,0 +1,8 @@
+package benchmark;
+
+// One benchmarked operation. Hand every result to the blackhole so the JIT can't skip the work.
+@FunctionalInterface
+public interface Benchmark {
+
+    void run(Blackhole bh) throws Exception;
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import utils.DatabaseConnection;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// Runs the benchmark suite and optionally checks it against an earlier run.
+//
+//   java -cp "bin:postgresql-42.7.0.jar" benchmark.BenchmarkMain [sort] [model] [rowmapper] [service]
+//
+// No arguments runs every group. System properties (besides the BenchmarkRunner ones):
+//   bench.sizes=1000,10000,100000,1000000   list sizes for the sort benchmarks
+//   bench.db=false                          service benchmarks against PostgreSQL instead of in memory
+//   bench.serviceRows=1000                  rows preloaded for the service read benchmarks
+//   bench.csv=<file>                        write the results as CSV
+//   bench.baseline=<file>                   compare with an earlier CSV; exit code 1 on a regression
+//   bench.threshold=0.10                    ns/op increase that counts as a regression
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> groups = args.length == 0
+                ? Arrays.asList("sort", "model", "rowmapper", "service")
+                : Arrays.asList(args);
+        int[] sizes = Arrays.stream(System.getProperty("bench.sizes", "1000,10000,100000,1000000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        boolean useDatabase = Boolean.getBoolean("bench.db");
+        int serviceRows = Integer.getInteger("bench.serviceRows", 1000);
+
+        BenchmarkRunner runner = new BenchmarkRunner();
+        System.out.println("JVM: " + System.getProperty("java.vm.name") + " " + System.getProperty("java.version")
+                + ", " + Runtime.getRuntime().availableProcessors() + " CPUs");
+        runner.printHeader();
+
+        try {
+            if (groups.contains("sort")) {
+                SortingBenchmarks.run(runner, sizes);
+            }
+            if (groups.contains("model")) {
+                ModelBenchmarks.run(runner);
+            }
+            if (groups.contains("rowmapper")) {
+                RowMapperBenchmarks.run(runner);
+            }
+            if (groups.contains("service")) {
+                ServiceBenchmarks.run(runner, useDatabase, serviceRows);
+            }
+        } finally {
+            if (useDatabase) {
+                DatabaseConnection.closeConnection();
+            }
+        }
+
+        String csv = System.getProperty("bench.csv");
+        if (csv != null) {
+            runner.writeCsv(Path.of(csv));
+            System.out.println("Results written to " + csv);
+        }
+
+        String baseline = System.getProperty("bench.baseline");
+        if (baseline != null) {
+            double threshold = Double.parseDouble(System.getProperty("bench.threshold", "0.10"));
+            List<String> regressions = runner.findRegressions(Path.of(baseline), threshold);
+            if (regressions.isEmpty()) {
+                System.out.println("No regressions against " + baseline);
+            } else {
+                System.out.println("Regressions against " + baseline + ":");
+                regressions.forEach(r -> System.out.println("  " + r));
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Minimal JMH-style harness: warmup iterations, then timed measurement iterations.
+// Every benchmark reports in one pass what JMH splits across modes and profilers:
+//   ops/s      - throughput (JMH Mode.Throughput)
+//   ns/op      - average time per operation (Mode.AverageTime), with the stdev across iterations
+//   B/op, MB/s - bytes allocated by the benchmark thread per operation and per second (-prof gc)
+//   gc, gc ms  - collections and collection time during measurement (-prof gc)
+// Allocation is read from the calling thread only; work handed to other threads
+// (Arrays.parallelSort, fork-join) runs there and is not counted.
+//
+// Configured with system properties:
+//   bench.warmup=3  bench.iterations=5  bench.iterationMs=1000  bench.filter=<regex on name>
+public class BenchmarkRunner {
+
+    // Operations are run in batches between clock reads; a batch grows until it takes this long
+    private static final long MIN_BATCH_NANOS = 100_000;
+    private static final int MAX_BATCH = 1 << 20;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final Pattern filter;
+
+    // Captured up front: benchmarks such as displayInfo() silence System.out while they run
+    private final PrintStream out = System.out;
+    private final Blackhole blackhole = new Blackhole();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<Result> results = new ArrayList<>();
+
+    public BenchmarkRunner() {
+        this(Integer.getInteger("bench.warmup", 3),
+             Integer.getInteger("bench.iterations", 5),
+             Long.getLong("bench.iterationMs", 1000L),
+             System.getProperty("bench.filter", ""));
+    }
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis, String filter) {
+        if (warmupIterations < 0 || measurementIterations <= 0 || iterationMillis <= 0) {
+            throw new IllegalArgumentException("Need warmup >= 0, iterations > 0 and iterationMs > 0");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.filter = Pattern.compile(filter);
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    // True if the filter selects this benchmark; lets callers skip expensive setup
+    public boolean isEnabled(String name) {
+        return filter.matcher(name).find();
+    }
+
+    public void bench(String name, Benchmark op) throws Exception {
+        bench(name, "", op);
+    }
+
+    // param tells apart runs of the same benchmark, e.g. "size=10000"
+    public void bench(String name, String param, Benchmark op) throws Exception {
+        if (!isEnabled(name)) {
+            return;
+        }
+        int[] batch = {1};
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(op, batch);
+        }
+
+        double[] nanosPerOp = new double[measurementIterations];
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            long gcCountBefore = gcCount();
+            long gcMillisBefore = gcMillis();
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long[] run = iteration(op, batch);
+            bytes += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            gcCount += gcCount() - gcCountBefore;
+            gcMillis += gcMillis() - gcMillisBefore;
+            ops += run[0];
+            nanos += run[1];
+            nanosPerOp[i] = run[1] / (double) run[0];
+        }
+
+        Result result = new Result(name, param, ops, nanos, stdev(nanosPerOp), bytes, gcCount, gcMillis);
+        results.add(result);
+        out.println(result.format());
+    }
+
+    // Runs op for one iteration; returns {operations, elapsed nanos}
+    private long[] iteration(Benchmark op, int[] batch) throws Exception {
+        Blackhole bh = blackhole;
+        long ops = 0;
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long now = start;
+        do {
+            long batchStart = now;
+            int n = batch[0];
+            for (int i = 0; i < n; i++) {
+                op.run(bh);
+            }
+            ops += n;
+            now = System.nanoTime();
+            if (now - batchStart < MIN_BATCH_NANOS && n < MAX_BATCH) {
+                batch[0] = n << 1;
+            }
+        } while (now < deadline);
+        return new long[]{ops, now - start};
+    }
+
+    private long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static double stdev(double[] values) {
+        if (values.length < 2) {
+            return 0.0;
+        }
+        double mean = 0.0;
+        for (double v : values) mean += v;
+        mean /= values.length;
+        double squares = 0.0;
+        for (double v : values) squares += (v - mean) * (v - mean);
+        return Math.sqrt(squares / (values.length - 1));
+    }
+
+    public List<Result> getResults() { return results; }
+
+    public void printHeader() {
+        out.printf("%-40s %-22s %14s %14s %10s %12s %10s %5s %7s%n",
+                "Benchmark", "Param", "ops/s", "ns/op", "stdev", "B/op", "MB/s", "gc", "gc ms");
+    }
+
+    // ==================== CSV / REGRESSIONS ====================
+
+    public void writeCsv(Path file) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write(Result.CSV_HEADER);
+            w.newLine();
+            for (Result r : results) {
+                w.write(r.toCsv());
+                w.newLine();
+            }
+        }
+    }
+
+    // Compares ns/op against a CSV written by an earlier run.
+    // Returns the lines describing benchmarks that got slower by more than threshold (0.10 = 10%).
+    public List<String> findRegressions(Path baselineCsv, double threshold) throws IOException {
+        Map<String, Double> baseline = new HashMap<>();
+        List<String> lines = Files.readAllLines(baselineCsv, StandardCharsets.UTF_8);
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] cols = line.split(",");
+            if (cols.length >= 4) {
+                baseline.put(cols[0] + "|" + cols[1], Double.parseDouble(cols[3]));
+            }
+        }
+
+        List<String> regressions = new ArrayList<>();
+        for (Result r : results) {
+            Double before = baseline.get(r.name + "|" + r.param);
+            if (before == null || before <= 0) {
+                continue;
+            }
+            double now = r.nanosPerOp();
+            if (now > before * (1 + threshold)) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.1f -> %.1f ns/op (+%.1f%%)",
+                        r.param.isEmpty() ? r.name : r.name + " [" + r.param + "]",
+                        before, now, (now / before - 1) * 100));
+            }
+        }
+        return regressions;
+    }
+
+    // ==================== RESULT ====================
+
+    public static final class Result {
+        static final String CSV_HEADER =
+                "benchmark,param,ops_per_sec,ns_per_op,ns_per_op_stdev,bytes_per_op,alloc_mb_per_sec,gc_count,gc_ms";
+
+        private final String name;
+        private final String param;
+        private final long ops;
+        private final long nanos;
+        private final double nanosPerOpStdev;
+        private final long bytes;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Result(String name, String param, long ops, long nanos, double nanosPerOpStdev,
+                       long bytes, long gcCount, long gcMillis) {
+            this.name = name;
+            this.param = param;
+            this.ops = ops;
+            this.nanos = nanos;
+            this.nanosPerOpStdev = nanosPerOpStdev;
+            this.bytes = bytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        public String getName() { return name; }
+        public String getParam() { return param; }
+
+        public double opsPerSecond() { return ops * 1e9 / nanos; }
+        public double nanosPerOp() { return nanos / (double) ops; }
+        public double bytesPerOp() { return bytes / (double) ops; }
+        public double allocMbPerSecond() { return bytes * 1e9 / nanos / (1024.0 * 1024.0); }
+
+        String format() {
+            return String.format(Locale.ROOT, "%-40s %-22s %14.1f %14.1f %10.1f %12.1f %10.1f %5d %7d",
+                    name, param, opsPerSecond(), nanosPerOp(), nanosPerOpStdev,
+                    bytesPerOp(), allocMbPerSecond(), gcCount, gcMillis);
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%s,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d",
+                    name, param, opsPerSecond(), nanosPerOp(), nanosPerOpStdev,
+                    bytesPerOp(), allocMbPerSecond(), gcCount, gcMillis);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark;
+
+// Sink for benchmark results so the JIT can't drop the work that produced them.
+// Each consume() compares against a volatile sentinel that never matches: the value
+// has to be computed, but nothing is written on the hot path.
+public final class Blackhole {
+
+    private volatile Object objectSentinel = new Object();
+    private volatile long longSentinel = Long.MIN_VALUE + 0x5eedL;
+    private volatile double doubleSentinel = Double.longBitsToDouble(0x7ff8_0000_0000_5eedL);
+
+    // Only written if a sentinel ever matches
+    private Object leaked;
+
+    public void consume(Object value) {
+        if (value == objectSentinel) {
+            leaked = value;
+        }
+    }
+
+    public void consume(long value) {
+        if (value == longSentinel) {
+            leaked = this;
+        }
+    }
+
+    public void consume(int value) {
+        consume((long) value);
+    }
+
+    public void consume(boolean value) {
+        consume(value ? 1L : 0L);
+    }
+
+    public void consume(double value) {
+        // NaN sentinel compares by bits: a plain == would never be true
+        if (Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits(doubleSentinel)) {
+            leaked = this;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package benchmark;
+
+import exception.DatabaseOperationException;
+import model.Workout;
+import model.WorkoutMetric;
+import repository.interfaces.WorkoutRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+// Embedded stand-in for a workout table, used to benchmark the service layer without PostgreSQL.
+// Keeps the table's observable behaviour: generated ids, the unique LOWER(name) index
+// (failures carry SQLState 23505 like the real driver), keyset pages, ORDER BY ... LIMIT 1 extremes
+// and a created_at that defaults to now on insert and survives upserts and updates.
+// Thread-safe through a single lock.
+final class InMemoryWorkoutRepository<T extends Workout> implements WorkoutRepository<T> {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final Comparator<Workout> BY_CREATED_AT =
+            Comparator.comparing(Workout::getCreatedAt).thenComparingInt(Workout::getId);
+
+    private final TreeMap<Integer, T> rows = new TreeMap<>();
+    private final Map<String, Integer> idsByName = new HashMap<>();
+    private final Map<WorkoutMetric, ToDoubleFunction<? super T>> metrics;
+    private int nextId = 1;
+
+    // metrics lists the WorkoutMetric columns this workout type has
+    InMemoryWorkoutRepository(Map<WorkoutMetric, ToDoubleFunction<? super T>> metrics) {
+        this.metrics = new EnumMap<>(metrics);
+    }
+
+    @Override
+    public synchronized void create(T entity) throws DatabaseOperationException {
+        String key = key(entity.getName());
+        if (idsByName.containsKey(key)) {
+            throw duplicate(entity.getName());
+        }
+        int id = nextId++;
+        entity.setId(id);
+        entity.setCreatedAt(LocalDateTime.now());
+        rows.put(id, entity);
+        idsByName.put(key, id);
+    }
+
+    @Override
+    public synchronized void createAll(List<T> entities, int batchSize) throws DatabaseOperationException {
+        // All or nothing, like the single transaction the JDBC repositories use
+        Map<String, T> seen = new HashMap<>();
+        for (T entity : entities) {
+            String key = key(entity.getName());
+            if (idsByName.containsKey(key) || seen.put(key, entity) != null) {
+                throw duplicate(entity.getName());
+            }
+        }
+        for (T entity : entities) {
+            create(entity);
+        }
+    }
+
+    @Override
+    public synchronized void upsert(T entity) {
+        Integer id = idsByName.get(key(entity.getName()));
+        if (id == null) {
+            id = nextId++;
+            idsByName.put(key(entity.getName()), id);
+            entity.setCreatedAt(LocalDateTime.now());
+        } else {
+            entity.setCreatedAt(rows.get(id).getCreatedAt());
+        }
+        entity.setId(id);
+        rows.put(id, entity);
+    }
+
+    @Override
+    public synchronized void upsertAll(List<T> entities, int batchSize) {
+        for (T entity : entities) {
+            upsert(entity);
+        }
+    }
+
+    @Override
+    public synchronized List<T> getAll() {
+        return new ArrayList<>(rows.values());
+    }
+
+    @Override
+    public synchronized Stream<T> streamAll() {
+        return getAll().stream();
+    }
+
+    @Override
+    public synchronized T getById(int id) {
+        return rows.get(id);
+    }
+
+    @Override
+    public synchronized T findByName(String name) {
+        Integer id = idsByName.get(key(name));
+        return id == null ? null : rows.get(id);
+    }
+
+    @Override
+    public synchronized List<T> getPage(int afterId, int limit) {
+        return first(rows.tailMap(afterId, false).values(), limit);
+    }
+
+    @Override
+    public synchronized List<T> getPageDesc(int beforeId, int limit) {
+        Map<Integer, T> view = beforeId <= 0 ? rows.descendingMap() : rows.headMap(beforeId, false).descendingMap();
+        return first(view.values(), limit);
+    }
+
+    private static <T> List<T> first(Iterable<T> values, int limit) {
+        List<T> page = new ArrayList<>();
+        for (T value : values) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(value);
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized int update(int id, T entity) throws DatabaseOperationException {
+        T current = rows.get(id);
+        if (current == null) {
+            return 0;
+        }
+        String oldKey = key(current.getName());
+        String newKey = key(entity.getName());
+        Integer owner = idsByName.get(newKey);
+        if (owner != null && owner != id) {
+            throw duplicate(entity.getName());
+        }
+        idsByName.remove(oldKey);
+        idsByName.put(newKey, id);
+        entity.setId(id);
+        entity.setCreatedAt(current.getCreatedAt());
+        rows.put(id, entity);
+        return 1;
+    }
+
+    @Override
+    public synchronized int delete(int id) {
+        T removed = rows.remove(id);
+        if (removed == null) {
+            return 0;
+        }
+        idsByName.remove(key(removed.getName()));
+        return 1;
+    }
+
+    @Override
+    public synchronized T updateReturningPrevious(int id, T entity) throws DatabaseOperationException {
+        T previous = rows.get(id);
+        update(id, entity);
+        return previous;
+    }
+
+    @Override
+    public synchronized T deleteReturningPrevious(int id) {
+        T previous = rows.get(id);
+        delete(id);
+        return previous;
+    }
+
+    @Override
+    public synchronized T upsertReturningPrevious(T entity) {
+        Integer id = idsByName.get(key(entity.getName()));
+        T previous = id == null ? null : rows.get(id);
+        upsert(entity);
+        return previous;
+    }
+
+    @Override
+    public synchronized List<T> upsertAllReturningPrevious(List<T> entities, int batchSize) {
+        // Like the SQL: one previous version per overwritten row, however many entities share its name
+        Map<Integer, T> previous = new LinkedHashMap<>();
+        for (T entity : entities) {
+            Integer id = idsByName.get(key(entity.getName()));
+            if (id != null) {
+                previous.putIfAbsent(id, rows.get(id));
+            }
+        }
+        upsertAll(entities, batchSize);
+        return new ArrayList<>(previous.values());
+    }
+
+    @Override
+    public synchronized T findMin(WorkoutMetric metric) {
+        return extreme(metric, false);
+    }
+
+    @Override
+    public synchronized T findMax(WorkoutMetric metric) {
+        return extreme(metric, true);
+    }
+
+    @Override
+    public synchronized List<T> findBetween(LocalDateTime from, LocalDateTime to) {
+        List<T> list = new ArrayList<>();
+        for (T row : rows.values()) {
+            if (!row.getCreatedAt().isBefore(from) && row.getCreatedAt().isBefore(to)) {
+                list.add(row);
+            }
+        }
+        list.sort(BY_CREATED_AT);
+        return list;
+    }
+
+    @Override
+    public synchronized List<T> findSince(LocalDateTime since) {
+        return findBetween(since, LocalDateTime.MAX);
+    }
+
+    // Same tie-break as the SQL: lowest id for min, highest id for max
+    private T extreme(WorkoutMetric metric, boolean max) {
+        ToDoubleFunction<? super T> column = metrics.get(metric);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported metric: " + metric);
+        }
+        T best = null;
+        double bestValue = 0;
+        for (T row : rows.values()) {
+            double v = column.applyAsDouble(row);
+            if (best == null || (max ? v >= bestValue : v < bestValue)) {
+                best = row;
+                bestValue = v;
+            }
+        }
+        return best;
+    }
+
+    private static String key(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static DatabaseOperationException duplicate(String name) {
+        return new DatabaseOperationException("Duplicate name: " + name,
+                new SQLException("duplicate key value violates unique constraint", UNIQUE_VIOLATION));
+    }
+}
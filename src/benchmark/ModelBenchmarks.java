@@ -0,0 +1,46 @@
+package benchmark;
+
+import model.CardioWorkout;
+import model.StrengthWorkout;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+// Model hot paths: calculateIntensity() and the displayInfo() / getTrackingInfo() formatting.
+// Operations walk a fixed array of workouts so the JIT can't constant-fold one object.
+final class ModelBenchmarks {
+
+    // Power of two so the index wraps with a mask
+    private static final int SAMPLE_SIZE = 1024;
+
+    private ModelBenchmarks() {
+    }
+
+    static void run(BenchmarkRunner runner) throws Exception {
+        CardioWorkout[] cardio = WorkoutFixtures.cardio(SAMPLE_SIZE, 7).toArray(new CardioWorkout[0]);
+        StrengthWorkout[] strength = WorkoutFixtures.strength(SAMPLE_SIZE, 8).toArray(new StrengthWorkout[0]);
+        int[] next = {0};
+
+        runner.bench("model.cardio.calculateIntensity",
+                bh -> bh.consume(cardio[next[0]++ & (SAMPLE_SIZE - 1)].calculateIntensity()));
+        runner.bench("model.strength.calculateIntensity",
+                bh -> bh.consume(strength[next[0]++ & (SAMPLE_SIZE - 1)].calculateIntensity()));
+
+        runner.bench("model.cardio.getTrackingInfo",
+                bh -> bh.consume(cardio[next[0]++ & (SAMPLE_SIZE - 1)].getTrackingInfo()));
+        runner.bench("model.strength.getTrackingInfo",
+                bh -> bh.consume(strength[next[0]++ & (SAMPLE_SIZE - 1)].getTrackingInfo()));
+
+        // displayInfo() prints; measure the formatting with System.out going nowhere
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            runner.bench("model.cardio.displayInfo",
+                    bh -> cardio[next[0]++ & (SAMPLE_SIZE - 1)].displayInfo());
+            runner.bench("model.strength.displayInfo",
+                    bh -> strength[next[0]++ & (SAMPLE_SIZE - 1)].displayInfo());
+        } finally {
+            System.setOut(console);
+        }
+    }
+}
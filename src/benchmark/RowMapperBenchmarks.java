@@ -0,0 +1,65 @@
+package benchmark;
+
+import model.CardioWorkout;
+import model.Exercise;
+import model.StrengthWorkout;
+import repository.CardioWorkoutRepository;
+import repository.ExerciseRepository;
+import repository.StrengthWorkoutRepository;
+import repository.interfaces.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+
+// mapRow throughput for each repository, reading from an in-memory single-row ResultSet.
+// "rowmapper.baseline" reads the cardio columns without building an object: the cost of the stub itself.
+final class RowMapperBenchmarks {
+
+    private RowMapperBenchmarks() {
+    }
+
+    static void run(BenchmarkRunner runner) throws Exception {
+        Map<String, Object> cardioRow = new HashMap<>();
+        cardioRow.put("id", 17);
+        cardioRow.put("name", "Morning Run");
+        cardioRow.put("duration_minutes", 45);
+        cardioRow.put("calories_burned", 420);
+        cardioRow.put("distance_km", 8.4);
+        cardioRow.put("average_heart_rate", 152);
+        ResultSet cardioRs = StubResultSet.of(cardioRow);
+
+        Map<String, Object> strengthRow = new HashMap<>();
+        strengthRow.put("id", 23);
+        strengthRow.put("name", "Bench Press");
+        strengthRow.put("duration_minutes", 50);
+        strengthRow.put("calories_burned", 310);
+        strengthRow.put("sets", 5);
+        strengthRow.put("reps", 8);
+        strengthRow.put("weight_kg", 82.5);
+        ResultSet strengthRs = StubResultSet.of(strengthRow);
+
+        Map<String, Object> exerciseRow = new HashMap<>();
+        exerciseRow.put("id", 5);
+        exerciseRow.put("name", "Squat");
+        exerciseRow.put("muscle_group", "Legs");
+        exerciseRow.put("equipment_needed", "Barbell");
+        ResultSet exerciseRs = StubResultSet.of(exerciseRow);
+
+        RowMapper<CardioWorkout> cardio = new CardioWorkoutRepository().rowMapper();
+        RowMapper<StrengthWorkout> strength = new StrengthWorkoutRepository().rowMapper();
+        RowMapper<Exercise> exercise = new ExerciseRepository().rowMapper();
+
+        runner.bench("rowmapper.baseline", bh -> {
+            bh.consume(cardioRs.getInt("id"));
+            bh.consume(cardioRs.getString("name"));
+            bh.consume(cardioRs.getInt("duration_minutes"));
+            bh.consume(cardioRs.getInt("calories_burned"));
+            bh.consume(cardioRs.getDouble("distance_km"));
+            bh.consume(cardioRs.getInt("average_heart_rate"));
+        });
+        runner.bench("rowmapper.cardio", bh -> bh.consume(cardio.mapRow(cardioRs)));
+        runner.bench("rowmapper.strength", bh -> bh.consume(strength.mapRow(strengthRs)));
+        runner.bench("rowmapper.exercise", bh -> bh.consume(exercise.mapRow(exerciseRs)));
+    }
+}
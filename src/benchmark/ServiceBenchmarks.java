@@ -0,0 +1,140 @@
+package benchmark;
+
+import model.CardioWorkout;
+import model.StrengthWorkout;
+import model.WorkoutMetric;
+import repository.CardioWorkoutRepository;
+import repository.StrengthWorkoutRepository;
+import repository.interfaces.WorkoutRepository;
+import service.WorkoutServiceImpl;
+import service.interfaces.WorkoutService;
+
+import utils.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+// End-to-end WorkoutServiceImpl CRUD: validation, repository call, error mapping.
+// Runs against InMemoryWorkoutRepository by default, or the real JDBC repositories
+// (local PostgreSQL from DatabaseConnection) with -Dbench.db=true.
+// Every row the benchmarks insert is named BENCH_PREFIX + run id + ...; in the database, rows with that
+// prefix are deleted after the run, and leftovers of earlier (crashed) runs before it.
+final class ServiceBenchmarks {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int BATCH_SIZE = 50;
+    // No LIKE wildcards, and not a name anyone would give a real workout
+    private static final String BENCH_PREFIX = "[bench] ";
+
+    private ServiceBenchmarks() {
+    }
+
+    static void run(BenchmarkRunner runner, boolean useDatabase, int preloadRows) throws Exception {
+        WorkoutRepository<CardioWorkout> cardioRepo;
+        WorkoutRepository<StrengthWorkout> strengthRepo;
+        if (useDatabase) {
+            cardioRepo = new CardioWorkoutRepository();
+            strengthRepo = new StrengthWorkoutRepository();
+        } else {
+            cardioRepo = new InMemoryWorkoutRepository<>(cardioMetrics());
+            strengthRepo = new InMemoryWorkoutRepository<>(strengthMetrics());
+        }
+        WorkoutService service = new WorkoutServiceImpl(cardioRepo, strengthRepo);
+        String param = useDatabase ? "store=postgresql" : "store=memory";
+
+        // Unique per run, so leftovers from an aborted run never collide
+        String prefix = BENCH_PREFIX + Long.toString(System.nanoTime(), 36) + "-";
+        long[] counter = {0};
+        if (useDatabase) {
+            deleteByNamePrefix(BENCH_PREFIX);
+        }
+
+        List<CardioWorkout> preloaded = WorkoutFixtures.cardio(preloadRows, 11);
+        for (CardioWorkout w : preloaded) {
+            w.setName(prefix + "pre-" + w.getId());
+        }
+        service.createCardioWorkouts(preloaded);
+        int[] ids = preloaded.stream().mapToInt(CardioWorkout::getId).toArray();
+
+        try {
+            runner.bench("service.cardio.getById", param,
+                    bh -> bh.consume(service.getCardioWorkoutById(ids[ThreadLocalRandom.current().nextInt(ids.length)])));
+
+            runner.bench("service.cardio.getPage", param, bh -> {
+                int afterId = ids[ThreadLocalRandom.current().nextInt(ids.length)] - 1;
+                bh.consume(service.getCardioWorkoutsPage(afterId, PAGE_SIZE));
+            });
+
+            runner.bench("service.cardio.getMaxDistance", param,
+                    bh -> bh.consume(service.getCardioWithMax(WorkoutMetric.DISTANCE)));
+
+            // create -> getById -> update -> delete
+            runner.bench("service.cardio.crud", param, bh -> {
+                CardioWorkout w = new CardioWorkout(prefix + counter[0]++, 30, 300, 5.0, 140);
+                service.createCardioWorkout(w);
+                bh.consume(service.getCardioWorkoutById(w.getId()));
+                service.updateCardioWorkout(w.getId(), new CardioWorkout(w.getName(), 35, 320, 5.5, 145));
+                service.deleteCardioWorkout(w.getId());
+            });
+
+            runner.bench("service.strength.crud", param, bh -> {
+                StrengthWorkout w = new StrengthWorkout(prefix + counter[0]++, 40, 250, 4, 10, 60.0);
+                service.createStrengthWorkout(w);
+                bh.consume(service.getStrengthWorkoutById(w.getId()));
+                service.updateStrengthWorkout(w.getId(), new StrengthWorkout(w.getName(), 45, 270, 5, 10, 62.5));
+                service.deleteStrengthWorkout(w.getId());
+            });
+
+            runner.bench("service.strength.createBatch", param + ";batch=" + BATCH_SIZE, bh -> {
+                List<StrengthWorkout> batch = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    batch.add(new StrengthWorkout(prefix + counter[0]++, 40, 250, 4, 10, 60.0));
+                }
+                service.createStrengthWorkouts(batch);
+                for (StrengthWorkout w : batch) {
+                    service.deleteStrengthWorkout(w.getId());
+                }
+            });
+        } finally {
+            if (useDatabase) {
+                // Also catches rows of a benchmark that failed between create and delete
+                deleteByNamePrefix(prefix);
+            }
+        }
+    }
+
+    private static void deleteByNamePrefix(String prefix) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (String table : new String[]{"cardio_workouts", "strength_workouts"}) {
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + " WHERE name LIKE ?")) {
+                    stmt.setString(1, prefix + "%");
+                    stmt.executeUpdate();
+                }
+            }
+        }
+    }
+
+    private static Map<WorkoutMetric, ToDoubleFunction<? super CardioWorkout>> cardioMetrics() {
+        Map<WorkoutMetric, ToDoubleFunction<? super CardioWorkout>> metrics = new EnumMap<>(WorkoutMetric.class);
+        metrics.put(WorkoutMetric.DURATION, CardioWorkout::getDurationMinutes);
+        metrics.put(WorkoutMetric.CALORIES, CardioWorkout::getCaloriesBurned);
+        metrics.put(WorkoutMetric.DISTANCE, CardioWorkout::getDistanceKm);
+        metrics.put(WorkoutMetric.HEART_RATE, CardioWorkout::getAverageHeartRate);
+        return metrics;
+    }
+
+    private static Map<WorkoutMetric, ToDoubleFunction<? super StrengthWorkout>> strengthMetrics() {
+        Map<WorkoutMetric, ToDoubleFunction<? super StrengthWorkout>> metrics = new EnumMap<>(WorkoutMetric.class);
+        metrics.put(WorkoutMetric.DURATION, StrengthWorkout::getDurationMinutes);
+        metrics.put(WorkoutMetric.CALORIES, StrengthWorkout::getCaloriesBurned);
+        metrics.put(WorkoutMetric.WEIGHT, StrengthWorkout::getWeightKg);
+        return metrics;
+    }
+}
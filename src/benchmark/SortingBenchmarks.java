@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.CardioWorkout;
+import model.StrengthWorkout;
+import model.Workout;
+import utils.SortingUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// SortingUtils at several list sizes. Each operation sorts a fresh copy of the same shuffled data;
+// "sort.copy" measures that copy alone so it can be subtracted.
+// "sort.comparator.caloriesDesc" is the plain List.sort(Comparator) the engine is measured against.
+final class SortingBenchmarks {
+
+    private SortingBenchmarks() {
+    }
+
+    static void run(BenchmarkRunner runner, int[] sizes) throws Exception {
+        for (int size : sizes) {
+            String param = "size=" + size;
+            List<CardioWorkout> cardio = WorkoutFixtures.cardio(size, 42);
+            List<StrengthWorkout> strength = WorkoutFixtures.strength(size, 43);
+            List<Workout> mixed = new ArrayList<>(size);
+            mixed.addAll(cardio.subList(0, size / 2));
+            mixed.addAll(strength.subList(0, size - size / 2));
+
+            runner.bench("sort.copy", param, bh -> bh.consume(new ArrayList<>(cardio)));
+
+            runner.bench("sort.comparator.caloriesDesc", param, bh -> {
+                List<CardioWorkout> list = new ArrayList<>(cardio);
+                list.sort(Comparator.comparingInt(CardioWorkout::getCaloriesBurned).reversed());
+                bh.consume(list);
+            });
+            runner.bench("sort.caloriesDesc", param, bh -> {
+                List<CardioWorkout> list = new ArrayList<>(cardio);
+                SortingUtils.sortByCaloriesDesc(list);
+                bh.consume(list);
+            });
+            runner.bench("sort.distanceAsc", param, bh -> {
+                List<CardioWorkout> list = new ArrayList<>(cardio);
+                SortingUtils.sortByDistanceAsc(list);
+                bh.consume(list);
+            });
+            runner.bench("sort.nameAsc", param, bh -> {
+                List<CardioWorkout> list = new ArrayList<>(cardio);
+                SortingUtils.sortByNameAsc(list);
+                bh.consume(list);
+            });
+            runner.bench("sort.weightDesc", param, bh -> {
+                List<StrengthWorkout> list = new ArrayList<>(strength);
+                SortingUtils.sortByWeightDesc(list);
+                bh.consume(list);
+            });
+            runner.bench("sort.intensityDesc", param, bh -> {
+                List<Workout> list = new ArrayList<>(mixed);
+                SortingUtils.sortByIntensityDesc(list);
+                bh.consume(list);
+            });
+            runner.bench("sort.caloriesThenDurationThenName", param, bh -> {
+                List<Workout> list = new ArrayList<>(mixed);
+                SortingUtils.sortByCaloriesThenDurationThenName(list);
+                bh.consume(list);
+            });
+            runner.bench("sort.topKByIntensity", param + ";k=10",
+                    bh -> bh.consume(SortingUtils.topKByIntensity(mixed, 10)));
+        }
+    }
+}
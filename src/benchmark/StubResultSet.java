@@ -0,0 +1,77 @@
+package benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+
+// In-memory ResultSet positioned on a single row, so row mappers can be measured without a database.
+// Backed by a dynamic proxy: only the column getters mappers use are supported.
+// Run the "rowmapper.baseline" benchmark to see how much of a mapper's time is the proxy itself.
+final class StubResultSet {
+
+    private StubResultSet() {
+    }
+
+    // row maps column labels to values (Integer, Double, String or null)
+    static ResultSet of(Map<String, Object> row) {
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInt":
+                        case "getLong":
+                        case "getDouble":
+                        case "getString":
+                        case "getObject": {
+                            Object value = value(row, args[0]);
+                            wasNull[0] = value == null;
+                            return convert(value, method.getReturnType());
+                        }
+                        case "wasNull":
+                            return wasNull[0];
+                        case "next":
+                            return false;
+                        case "close":
+                            return null;
+                        case "isClosed":
+                            return false;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "StubResultSet" + row;
+                        default:
+                            throw new SQLFeatureNotSupportedException("StubResultSet does not support " + method.getName());
+                    }
+                });
+    }
+
+    private static Object value(Map<String, Object> row, Object column) throws SQLException {
+        if (!(column instanceof String) || !row.containsKey(column)) {
+            throw new SQLException("Unknown column: " + column);
+        }
+        return row.get(column);
+    }
+
+    // Mirrors JDBC: SQL NULL reads as 0 for primitive getters
+    private static Object convert(Object value, Class<?> type) {
+        if (type == int.class) {
+            return value == null ? 0 : ((Number) value).intValue();
+        }
+        if (type == long.class) {
+            return value == null ? 0L : ((Number) value).longValue();
+        }
+        if (type == double.class) {
+            return value == null ? 0.0 : ((Number) value).doubleValue();
+        }
+        if (type == String.class) {
+            return value == null ? null : value.toString();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+import model.CardioWorkout;
+import model.StrengthWorkout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Reproducible benchmark data: the same seed always produces the same workouts
+final class WorkoutFixtures {
+
+    private static final String[] CARDIO_NAMES = {"Morning Run", "Cycling", "Rowing", "Swimming", "Hike", "Sprint"};
+    private static final String[] STRENGTH_NAMES = {"Bench Press", "Squat", "Deadlift", "Pull Ups", "Overhead Press"};
+
+    private WorkoutFixtures() {
+    }
+
+    // Ids 1..count, every workout passes validate(); names repeat with a numeric suffix
+    static List<CardioWorkout> cardio(int count, long seed) {
+        Random random = new Random(seed);
+        List<CardioWorkout> list = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            list.add(new CardioWorkout(i,
+                    CARDIO_NAMES[random.nextInt(CARDIO_NAMES.length)] + " " + random.nextInt(count),
+                    10 + random.nextInt(110),
+                    50 + random.nextInt(950),
+                    0.5 + Math.round(random.nextDouble() * 4200) / 100.0,
+                    90 + random.nextInt(100)));
+        }
+        return list;
+    }
+
+    static List<StrengthWorkout> strength(int count, long seed) {
+        Random random = new Random(seed);
+        List<StrengthWorkout> list = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            list.add(new StrengthWorkout(i,
+                    STRENGTH_NAMES[random.nextInt(STRENGTH_NAMES.length)] + " " + random.nextInt(count),
+                    10 + random.nextInt(80),
+                    50 + random.nextInt(600),
+                    1 + random.nextInt(6),
+                    1 + random.nextInt(15),
+                    2.5 + Math.round(random.nextDouble() * 2000) / 10.0));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,274 @@
+package bulk;
+
+import exception.DatabaseOperationException;
+import org.postgresql.PGConnection;
+import utils.DatabaseConnection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Streams whole tables to files without holding them in memory:
+//   CSV    COPY (SELECT ...) TO STDOUT - the server formats the rows, the driver hands us the bytes
+//   JSONL  a server-side cursor read fetchSize rows at a time, each row written as one JSON object
+// Bytes go through one fixed-size buffer into a FileChannel (optionally through gzip), so heap use
+// is the same for ten rows or ten million. Each file is written as <file>.part and renamed when
+// complete, so a failed export never leaves a truncated file under the real name.
+// Tables exported in one call are read from one REPEATABLE READ snapshot and agree with each other.
+public class BulkExporter {
+
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int fetchSize;
+
+    public BulkExporter() {
+        this(DEFAULT_FETCH_SIZE);
+    }
+
+    public BulkExporter(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    public ExportResult export(ExportSource source, ExportFormat format, Path file, boolean gzip)
+            throws IOException, DatabaseOperationException {
+        return exportAll(List.of(source), format, List.of(file), gzip).get(0);
+    }
+
+    // One file per source in directory, named <table><extension>[.gz]
+    public List<ExportResult> exportAll(List<ExportSource> sources, ExportFormat format, Path directory, boolean gzip)
+            throws IOException, DatabaseOperationException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        for (ExportSource source : sources) {
+            files.add(directory.resolve(source.getTable() + format.getExtension() + (gzip ? ".gz" : "")));
+        }
+        return exportAll(sources, format, files, gzip);
+    }
+
+    private List<ExportResult> exportAll(List<ExportSource> sources, ExportFormat format, List<Path> files, boolean gzip)
+            throws IOException, DatabaseOperationException {
+        List<ExportResult> results = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // Inside a UnitOfWork the caller's transaction is the snapshot
+            boolean ownTransaction = conn.getAutoCommit();
+            int isolation = conn.getTransactionIsolation();
+            if (ownTransaction) {
+                conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                conn.setReadOnly(true);
+                conn.setAutoCommit(false);
+            }
+            try {
+                for (int i = 0; i < sources.size(); i++) {
+                    results.add(exportTable(conn, sources.get(i), format, files.get(i), gzip));
+                }
+            } finally {
+                if (ownTransaction) {
+                    // Read-only: nothing to commit
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                    conn.setReadOnly(false);
+                    conn.setTransactionIsolation(isolation);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error exporting " + sources, e);
+        }
+        return results;
+    }
+
+    private ExportResult exportTable(Connection conn, ExportSource source, ExportFormat format, Path file, boolean gzip)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        boolean complete = false;
+        long rows;
+        long bytes;
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ChannelSink sink = new ChannelSink(channel, gzip);
+            rows = format == ExportFormat.CSV ? writeCsv(conn, source, sink) : writeJsonLines(conn, source, sink);
+            sink.finish();
+            channel.force(false);
+            bytes = sink.count;
+            complete = true;
+        } finally {
+            if (!complete) {
+                Files.deleteIfExists(partial);
+            }
+        }
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+        return new ExportResult(source, format, rows, bytes, System.nanoTime() - start, file);
+    }
+
+    private static long writeCsv(Connection conn, ExportSource source, ChannelSink sink) throws SQLException, IOException {
+        return conn.unwrap(PGConnection.class).getCopyAPI()
+                .copyOut("COPY (" + source.selectSql() + ") TO STDOUT WITH (FORMAT csv, HEADER)", sink);
+    }
+
+    private long writeJsonLines(Connection conn, ExportSource source, ChannelSink sink) throws SQLException, IOException {
+        long rows = 0;
+        // Autocommit is off here, so the driver fetches fetchSize rows per round trip instead of all of them
+        try (PreparedStatement stmt = conn.prepareStatement(source.selectSql(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnCount = meta.getColumnCount();
+                String[] keys = new String[columnCount];
+                int[] types = new int[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    keys[i] = appendJsonString(new StringBuilder(), meta.getColumnLabel(i + 1)).append(':').toString();
+                    types[i] = meta.getColumnType(i + 1);
+                }
+
+                StringBuilder line = new StringBuilder(256);
+                while (rs.next()) {
+                    line.setLength(0);
+                    line.append('{');
+                    for (int i = 0; i < columnCount; i++) {
+                        if (i > 0) {
+                            line.append(',');
+                        }
+                        line.append(keys[i]);
+                        appendJsonValue(line, rs, i + 1, types[i]);
+                    }
+                    line.append("}\n");
+                    sink.write(line.toString().getBytes(StandardCharsets.UTF_8));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Numbers stay exact (DECIMAL as written by the server), timestamps are ISO-8601 strings
+    private static void appendJsonValue(StringBuilder out, ResultSet rs, int column, int type) throws SQLException {
+        switch (type) {
+            case Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.NUMERIC, Types.DECIMAL, Types.BIT, Types.BOOLEAN -> {
+                String value = rs.getString(column);
+                out.append(value == null ? "null" : value);
+            }
+            case Types.TIMESTAMP -> {
+                LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+                if (value == null) {
+                    out.append("null");
+                } else {
+                    appendJsonString(out, value.toString());
+                }
+            }
+            default -> {
+                String value = rs.getString(column);
+                if (value == null) {
+                    out.append("null");
+                } else {
+                    appendJsonString(out, value);
+                }
+            }
+        }
+    }
+
+    private static StringBuilder appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    // Fixed-size write buffer in front of the channel, or in front of gzip when compressing.
+    // Small row writes are copied into the buffer; one channel write (or one deflate call) per full buffer.
+    private static final class ChannelSink extends OutputStream {
+        private final FileChannel channel;
+        private final GZIPOutputStream gzip;  // null when not compressing
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private long count;                   // bytes written, before compression
+
+        private ChannelSink(FileChannel channel, boolean gzip) throws IOException {
+            this.channel = channel;
+            this.gzip = gzip ? new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE) : null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count += len;
+            if (len > buffer.remaining()) {
+                drain();
+                if (len >= buffer.capacity()) {
+                    // Larger than the buffer: copying it first would only add work
+                    writeThrough(ByteBuffer.wrap(b, off, len));
+                    return;
+                }
+            }
+            buffer.put(b, off, len);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            writeThrough(buffer);
+            buffer.clear();
+        }
+
+        private void writeThrough(ByteBuffer bytes) throws IOException {
+            if (gzip != null) {
+                gzip.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                bytes.position(bytes.limit());
+                return;
+            }
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+
+        // Writes what is buffered and the gzip trailer; the channel stays open for its owner
+        private void finish() throws IOException {
+            drain();
+            if (gzip != null) {
+                gzip.finish();
+            }
+        }
+    }
+}
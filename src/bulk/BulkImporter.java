@@ -0,0 +1,499 @@
+package bulk;
+
+import analytics.RunningWorkoutStats;
+import exception.DatabaseOperationException;
+import model.Validatable;
+import model.Workout;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import utils.DatabaseConnection;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Streams a CSV file of workouts into PostgreSQL with COPY, in three stages joined by bounded queues:
+//
+//   parse     (1 thread)   reads the file and splits lines into fields, chunkSize records at a time
+//   validate  (N threads)  builds workouts, runs Validatable.validate() and encodes valid rows as COPY data
+//   load      (caller)     writes the encoded chunks to COPY ... FROM STDIN
+//
+// A full queue blocks the stage feeding it, so memory holds a few chunks however large the file is.
+// COPY fills a temporary staging table; one INSERT ... SELECT ... ON CONFLICT DO NOTHING then moves the
+// rows into the workout table, so a name that already exists (or repeats an earlier line) becomes a
+// rejected record instead of aborting the whole load. Ids follow file order. The per-row rollup triggers
+// are switched off for that insert (SET LOCAL fitness.bulk_load); the inserted rows are added to
+// workout_rollups afterwards by one aggregated upsert in the same transaction.
+// Rejected records go to a CSV side file (line, reason, record). The import is one transaction: it joins
+// the caller's UnitOfWork if there is one, and nothing is inserted if any stage fails.
+public class BulkImporter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+    // Chunks that may wait between two stages
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+    public static final long DEFAULT_PROGRESS_INTERVAL_MS = 1_000;
+
+    private static final long POLL_MS = 100;
+    private static final String STAGING = "import_staging";
+    // Read by the rollup triggers in resources/schema.sql
+    private static final String BULK_LOAD_SETTING = "fitness.bulk_load";
+    // Marks the end of a queue; one per consumer
+    private static final Chunk END = new Chunk(null, null, 0);
+
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int validators;
+    private final long progressIntervalNanos;
+    private final Consumer<ImportProgress> progressListener;
+    private final RunningWorkoutStats runningStats;
+
+    // progressListener and runningStats may be null
+    public BulkImporter(Consumer<ImportProgress> progressListener, RunningWorkoutStats runningStats) {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY, Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                DEFAULT_PROGRESS_INTERVAL_MS, progressListener, runningStats);
+    }
+
+    public BulkImporter(int chunkSize, int queueCapacity, int validators, long progressIntervalMs,
+                        Consumer<ImportProgress> progressListener, RunningWorkoutStats runningStats) {
+        if (chunkSize <= 0 || queueCapacity <= 0 || validators <= 0) {
+            throw new IllegalArgumentException("Chunk size, queue capacity and validator count must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.validators = validators;
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(progressIntervalMs);
+        this.progressListener = progressListener;
+        this.runningStats = runningStats;
+    }
+
+    // The first line is skipped if it is the format's header. Blank lines are ignored.
+    public <T extends Workout & Validatable> ImportResult importCsv(Path csv, WorkoutCsvFormat<T> format, Path rejectsFile)
+            throws IOException, DatabaseOperationException {
+        Run<T> run = new Run<>(format);
+        BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+        long inserted;
+        try (RejectWriter rejects = new RejectWriter(rejectsFile, run.rejected);
+             Connection conn = DatabaseConnection.getConnection()) {
+            // Join the caller's transaction if there is one, otherwise run our own
+            boolean ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            try {
+                inserted = run.execute(conn, reader, rejects);
+                Runnable statsChange = run.statsChange(conn, inserted);
+                // ON COMMIT DROP is not enough inside a caller's transaction: a second import there would
+                // still find the table
+                dropStaging(conn);
+                if (ownTransaction) {
+                    conn.commit();
+                    statsChange.run();
+                } else {
+                    DatabaseConnection.runAfterCommit(statsChange);
+                }
+            } catch (SQLException | IOException | RuntimeException e) {
+                if (ownTransaction) {
+                    conn.rollback();
+                } else {
+                    // Fails harmlessly if the caller's transaction is already aborted
+                    try {
+                        dropStaging(conn);
+                    } catch (SQLException dropError) {
+                        e.addSuppressed(dropError);
+                    }
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error importing " + format.getWorkoutType() + " workouts from " + csv, e);
+        } finally {
+            reader.close();
+        }
+        return new ImportResult(format.getWorkoutType(), run.recordsRead.sum(), inserted, run.rejected.sum(),
+                System.nanoTime() - run.startNanos, rejectsFile);
+    }
+
+    // pg_temp: never touches a permanent table of the same name
+    private static void dropStaging(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS pg_temp." + STAGING);
+        }
+    }
+
+    // State of one import, shared by its stage threads
+    private final class Run<T extends Workout & Validatable> {
+        private final WorkoutCsvFormat<T> format;
+        private final long startNanos = System.nanoTime();
+        private final BlockingQueue<Chunk> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<Chunk> encoded = new ArrayBlockingQueue<>(queueCapacity);
+        // First failure in any stage; the others see it and stop
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final LongAdder recordsRead = new LongAdder();
+        private final LongAdder valid = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private long copied;  // loader thread only
+
+        private Run(WorkoutCsvFormat<T> format) {
+            this.format = format;
+        }
+
+        // Staging table, pipeline, then the merge into the workout table; returns the rows inserted
+        private long execute(Connection conn, BufferedReader reader, RejectWriter rejects)
+                throws SQLException, IOException {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TEMP TABLE " + STAGING + " (line_no BIGINT NOT NULL, " + format.getStagingColumns()
+                        + ", is_first BOOLEAN NOT NULL DEFAULT FALSE, inserted BOOLEAN NOT NULL DEFAULT FALSE"
+                        + ", created_at TIMESTAMP) ON COMMIT DROP");
+            }
+            String columns = String.join(", ", format.getColumns());
+            CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + STAGING + " (line_no, " + columns + ") FROM STDIN WITH (FORMAT csv)");
+
+            List<Thread> threads = new ArrayList<>();
+            threads.add(Thread.ofPlatform().name("bulk-import-parse").daemon().start(() -> parse(reader, rejects)));
+            for (int i = 0; i < validators; i++) {
+                threads.add(Thread.ofPlatform().name("bulk-import-validate-" + i).daemon().start(() -> validate(rejects)));
+            }
+            try {
+                load(copy);
+            } catch (SQLException | RuntimeException | InterruptedException e) {
+                abort(e);
+            }
+            for (Thread thread : threads) {
+                joinUninterruptibly(thread);
+            }
+            if (failure.get() != null) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                throw rethrow(failure.get());
+            }
+            report();
+            return merge(conn, columns, rejects);
+        }
+
+        // ==================== STAGES ====================
+
+        private void parse(BufferedReader reader, RejectWriter rejects) {
+            try {
+                List<Record> records = new ArrayList<>(chunkSize);
+                long lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    List<String> fields;
+                    try {
+                        fields = CsvCodec.parseLine(line);
+                    } catch (IllegalArgumentException e) {
+                        recordsRead.increment();
+                        rejects.reject(lineNumber, e.getMessage(), line);
+                        continue;
+                    }
+                    if (lineNumber == 1 && format.isHeader(fields)) {
+                        continue;
+                    }
+                    recordsRead.increment();
+                    records.add(new Record(lineNumber, line, fields));
+                    if (records.size() == chunkSize) {
+                        put(parsed, new Chunk(records, null, records.size()));
+                        records = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!records.isEmpty()) {
+                    put(parsed, new Chunk(records, null, records.size()));
+                }
+                for (int i = 0; i < validators; i++) {
+                    put(parsed, END);
+                }
+            } catch (Throwable t) {
+                abort(t);
+            }
+        }
+
+        private void validate(RejectWriter rejects) {
+            try {
+                String hint = "failed validation: check " + String.join(", ", format.getColumns());
+                StringBuilder out = new StringBuilder();
+                Chunk chunk;
+                while ((chunk = take(parsed)) != END) {
+                    out.setLength(0);
+                    int rows = 0;
+                    for (Record record : chunk.records) {
+                        T workout;
+                        try {
+                            workout = format.parse(record.fields);
+                        } catch (IllegalArgumentException e) {
+                            rejects.reject(record.lineNumber, e.getMessage(), record.text);
+                            continue;
+                        }
+                        if (!workout.validate()) {
+                            rejects.reject(record.lineNumber, hint, record.text);
+                            continue;
+                        }
+                        format.encode(record.lineNumber, workout, out);
+                        rows++;
+                    }
+                    valid.add(rows);
+                    put(encoded, new Chunk(null, out.toString().getBytes(StandardCharsets.UTF_8), rows));
+                }
+                put(encoded, END);
+            } catch (Throwable t) {
+                abort(t);
+            }
+        }
+
+        // Runs on the caller's thread, which owns the connection
+        private void load(CopyIn copy) throws SQLException, InterruptedException {
+            long nextReport = System.nanoTime() + progressIntervalNanos;
+            int finished = 0;
+            while (finished < validators) {
+                Chunk chunk = take(encoded);
+                if (chunk == END) {
+                    finished++;
+                    continue;
+                }
+                copy.writeToCopy(chunk.data, 0, chunk.data.length);
+                copied += chunk.rows;
+                if (System.nanoTime() >= nextReport) {
+                    report();
+                    nextReport = System.nanoTime() + progressIntervalNanos;
+                }
+            }
+            copy.endCopy();
+        }
+
+        // ==================== MERGE ====================
+
+        private long merge(Connection conn, String columns, RejectWriter rejects) throws SQLException, IOException {
+            long inserted;
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE " + STAGING);
+                // The first line of every name is the candidate; later lines with the same name are rejected
+                stmt.executeUpdate("UPDATE " + STAGING + " SET is_first = TRUE WHERE line_no IN ("
+                        + "SELECT DISTINCT ON (LOWER(name)) line_no FROM " + STAGING + " ORDER BY LOWER(name), line_no)");
+                // Otherwise the rollup triggers run three upserts per inserted row. Only for this statement: the
+                // caller's transaction may write more rows afterwards. If the insert fails, the transaction is
+                // aborted and its rollback resets the setting.
+                stmt.execute("SET LOCAL " + BULK_LOAD_SETTING + " = on");
+                inserted = stmt.executeUpdate("WITH ins AS (INSERT INTO " + format.getTable() + " (" + columns + ") "
+                        + "SELECT " + columns + " FROM " + STAGING + " WHERE is_first ORDER BY line_no "
+                        + "ON CONFLICT (LOWER(name)) DO NOTHING RETURNING LOWER(name) AS name_key, created_at) "
+                        + "UPDATE " + STAGING + " s SET inserted = TRUE, created_at = ins.created_at "
+                        + "FROM ins WHERE s.is_first AND LOWER(s.name) = ins.name_key");
+                stmt.execute("SET LOCAL " + BULK_LOAD_SETTING + " = off");
+                if (inserted > 0) {
+                    applyRollups(stmt);
+                }
+
+                try (ResultSet rs = stmt.executeQuery("SELECT line_no, is_first, " + columns + " FROM " + STAGING
+                        + " WHERE NOT inserted ORDER BY line_no")) {
+                    List<String> record = new ArrayList<>();
+                    while (rs.next()) {
+                        record.clear();
+                        for (String column : format.getColumns()) {
+                            record.add(rs.getString(column));
+                        }
+                        rejects.reject(rs.getLong("line_no"),
+                                rs.getBoolean("is_first") ? "name already exists" : "duplicate name within the file",
+                                CsvCodec.formatLine(record));
+                    }
+                }
+            }
+            return inserted;
+        }
+
+        // What the triggers would have done for the inserted rows, one upsert per period instead of three per row.
+        // Days, then weeks, then months, each in date order: the triggers lock rollup rows in that period order
+        // too, so a concurrent writer can't deadlock with the import.
+        private void applyRollups(Statement stmt) throws SQLException {
+            stmt.executeUpdate("INSERT INTO workout_rollups "
+                    + "SELECT p.period, date_trunc(p.period, s.created_at)::DATE, '" + format.getWorkoutType() + "', "
+                    + "COUNT(*), SUM(s.duration_minutes), SUM(s.calories_burned), "
+                    + "SUM(" + format.getDistanceHundredthsSql() + ") / 100, SUM(" + format.getVolumeHundredthsSql() + ") / 100, "
+                    + "MIN(s.duration_minutes), MAX(s.duration_minutes), MIN(s.calories_burned), MAX(s.calories_burned) "
+                    + "FROM " + STAGING + " s CROSS JOIN (VALUES (1, 'day'), (2, 'week'), (3, 'month')) AS p(ord, period) "
+                    + "WHERE s.inserted GROUP BY p.ord, p.period, 2 ORDER BY p.ord, 2 "
+                    + "ON CONFLICT (period, period_start, workout_type) DO UPDATE SET "
+                    + "workout_count = workout_rollups.workout_count + EXCLUDED.workout_count, "
+                    + "total_minutes = workout_rollups.total_minutes + EXCLUDED.total_minutes, "
+                    + "total_calories = workout_rollups.total_calories + EXCLUDED.total_calories, "
+                    + "total_distance_km = workout_rollups.total_distance_km + EXCLUDED.total_distance_km, "
+                    + "total_volume_kg = workout_rollups.total_volume_kg + EXCLUDED.total_volume_kg, "
+                    + "min_minutes = LEAST(workout_rollups.min_minutes, EXCLUDED.min_minutes), "
+                    + "max_minutes = GREATEST(workout_rollups.max_minutes, EXCLUDED.max_minutes), "
+                    + "min_calories = LEAST(workout_rollups.min_calories, EXCLUDED.min_calories), "
+                    + "max_calories = GREATEST(workout_rollups.max_calories, EXCLUDED.max_calories)");
+        }
+
+        // Totals of the inserted rows, applied to the live stats once the import commits
+        private Runnable statsChange(Connection conn, long inserted) throws SQLException {
+            if (runningStats == null || inserted == 0) {
+                return () -> { };
+            }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*), COALESCE(SUM(duration_minutes), 0), "
+                         + "COALESCE(SUM(calories_burned), 0), COALESCE(SUM(" + format.getDistanceHundredthsSql() + "), 0), "
+                         + "COALESCE(SUM(" + format.getVolumeHundredthsSql() + "), 0) FROM " + STAGING + " WHERE inserted")) {
+                rs.next();
+                long count = rs.getLong(1);
+                long minutes = rs.getLong(2);
+                long calories = rs.getLong(3);
+                long distance = rs.getLong(4);
+                long volume = rs.getLong(5);
+                return () -> runningStats.addTotals(format.getWorkoutType(), count, minutes, calories, distance, volume);
+            }
+        }
+
+        // ==================== PLUMBING ====================
+
+        private void put(BlockingQueue<Chunk> queue, Chunk chunk) throws InterruptedException {
+            while (!queue.offer(chunk, POLL_MS, TimeUnit.MILLISECONDS)) {
+                checkNotAborted();
+            }
+        }
+
+        private Chunk take(BlockingQueue<Chunk> queue) throws InterruptedException {
+            Chunk chunk;
+            while ((chunk = queue.poll(POLL_MS, TimeUnit.MILLISECONDS)) == null) {
+                checkNotAborted();
+            }
+            return chunk;
+        }
+
+        private void checkNotAborted() {
+            if (failure.get() != null) {
+                throw new CancellationException("Import aborted");
+            }
+        }
+
+        private void abort(Throwable t) {
+            // A stage stopping because another one failed is not the cause
+            if (!(t instanceof CancellationException)) {
+                failure.compareAndSet(null, t);
+            }
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void report() {
+            if (progressListener != null) {
+                progressListener.accept(new ImportProgress(recordsRead.sum(), valid.sum(), rejected.sum(),
+                        copied, System.nanoTime() - startNanos));
+            }
+        }
+    }
+
+    // Rethrows a stage failure as one of importCsv's exception types
+    private static SQLException rethrow(Throwable t) throws IOException {
+        if (t instanceof SQLException) {
+            return (SQLException) t;
+        }
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        }
+        if (t instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) t).getCause();
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new SQLException("Import interrupted", t);
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One CSV record as read from the file
+    private static final class Record {
+        private final long lineNumber;
+        private final String text;
+        private final List<String> fields;
+
+        private Record(long lineNumber, String text, List<String> fields) {
+            this.lineNumber = lineNumber;
+            this.text = text;
+            this.fields = fields;
+        }
+    }
+
+    // Parsed records (parse -> validate) or encoded COPY data (validate -> load)
+    private static final class Chunk {
+        private final List<Record> records;
+        private final byte[] data;
+        private final int rows;
+
+        private Chunk(List<Record> records, byte[] data, int rows) {
+            this.records = records;
+            this.data = data;
+            this.rows = rows;
+        }
+    }
+
+    // Rejected records as CSV: line,reason,record. Shared by every stage.
+    private static final class RejectWriter implements AutoCloseable {
+        private final BufferedWriter out;
+        private final LongAdder count;
+
+        private RejectWriter(Path file, LongAdder count) throws IOException {
+            this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            this.count = count;
+            out.write("line,reason,record");
+            out.newLine();
+        }
+
+        private synchronized void reject(long lineNumber, String reason, String record) {
+            count.increment();
+            try {
+                out.write(CsvCodec.formatLine(List.of(Long.toString(lineNumber), reason, record)));
+                out.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+}
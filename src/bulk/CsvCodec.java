@@ -0,0 +1,93 @@
+package bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 fields on a single line: comma-separated, optionally double-quoted, "" inside quotes for a quote.
+// Records spanning several lines (newlines inside quotes) are not supported.
+public final class CsvCodec {
+
+    private CsvCodec() {
+    }
+
+    // Throws IllegalArgumentException with a short reason for malformed lines
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        int n = line.length();
+        while (true) {
+            field.setLength(0);
+            if (i < n && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= n) {
+                        throw new IllegalArgumentException("unterminated quoted field");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < n && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < n && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("unexpected character after closing quote");
+                }
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0) {
+                    end = n;
+                }
+                field.append(line, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            if (i >= n) {
+                return fields;
+            }
+            i++; // skip the comma
+        }
+    }
+
+    // Appends value, quoted only when it has to be
+    public static StringBuilder appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return out;
+        }
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return out.append(value);
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+
+    // fields joined with commas, without a line terminator
+    public static String formatLine(List<String> fields) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendField(out, fields.get(i));
+        }
+        return out.toString();
+    }
+}
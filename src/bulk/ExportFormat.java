@@ -0,0 +1,26 @@
+package bulk;
+
+// File formats BulkExporter writes
+public enum ExportFormat {
+    // RFC 4180 with a header line, produced by the server with COPY ... TO STDOUT
+    CSV(".csv"),
+    // One JSON object per line, built from a server-side cursor
+    JSONL(".jsonl");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() { return extension; }
+
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+}
@@ -0,0 +1,39 @@
+package bulk;
+
+import java.nio.file.Path;
+
+// Outcome of exporting one table to one file
+public class ExportResult {
+    private final ExportSource source;
+    private final ExportFormat format;
+    private final long rows;
+    private final long bytesWritten;  // before compression
+    private final long elapsedNanos;
+    private final Path file;
+
+    public ExportResult(ExportSource source, ExportFormat format, long rows, long bytesWritten,
+                        long elapsedNanos, Path file) {
+        this.source = source;
+        this.format = format;
+        this.rows = rows;
+        this.bytesWritten = bytesWritten;
+        this.elapsedNanos = elapsedNanos;
+        this.file = file;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    public String format() {
+        return String.format("Exported %,d %s rows as %s (%,d bytes) in %.2f s (%,.0f rows/s) -> %s",
+                rows, source.getTable(), format, bytesWritten, elapsedNanos / 1e9, getRowsPerSecond(), file);
+    }
+
+    public ExportSource getSource() { return source; }
+    public ExportFormat getFormat() { return format; }
+    public long getRows() { return rows; }
+    public long getBytesWritten() { return bytesWritten; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public Path getFile() { return file; }
+}
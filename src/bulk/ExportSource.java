@@ -0,0 +1,29 @@
+package bulk;
+
+import java.util.List;
+
+// Tables BulkExporter can write out, with their columns in file order
+public enum ExportSource {
+    CARDIO("cardio_workouts",
+            List.of("id", "name", "duration_minutes", "calories_burned", "distance_km", "average_heart_rate", "created_at")),
+    STRENGTH("strength_workouts",
+            List.of("id", "name", "duration_minutes", "calories_burned", "sets", "reps", "weight_kg", "created_at")),
+    EXERCISES("exercises",
+            List.of("id", "name", "muscle_group", "equipment_needed"));
+
+    private final String table;
+    private final List<String> columns;
+
+    ExportSource(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public String getTable() { return table; }
+    public List<String> getColumns() { return columns; }
+
+    // Every row in id order, so repeated exports of unchanged data are identical
+    String selectSql() {
+        return "SELECT " + String.join(", ", columns) + " FROM " + table + " ORDER BY id";
+    }
+}
@@ -0,0 +1,34 @@
+package bulk;
+
+// Snapshot of a running import, handed to the progress listener
+public class ImportProgress {
+    private final long linesRead;
+    private final long rowsValid;
+    private final long rowsRejected;
+    private final long rowsCopied;
+    private final long elapsedNanos;
+
+    public ImportProgress(long linesRead, long rowsValid, long rowsRejected, long rowsCopied, long elapsedNanos) {
+        this.linesRead = linesRead;
+        this.rowsValid = rowsValid;
+        this.rowsRejected = rowsRejected;
+        this.rowsCopied = rowsCopied;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Records streamed to the database per second so far
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsCopied * 1e9 / elapsedNanos;
+    }
+
+    public String format() {
+        return String.format("Import: %,d lines read | %,d valid | %,d rejected | %,d copied | %,.0f rows/s",
+                linesRead, rowsValid, rowsRejected, rowsCopied, getRowsPerSecond());
+    }
+
+    public long getLinesRead() { return linesRead; }
+    public long getRowsValid() { return rowsValid; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getRowsCopied() { return rowsCopied; }
+    public long getElapsedNanos() { return elapsedNanos; }
+}
@@ -0,0 +1,39 @@
+package bulk;
+
+import java.nio.file.Path;
+
+// Outcome of a committed import. Every record that was read is either inserted or listed in the rejects file.
+public class ImportResult {
+    private final String workoutType;
+    private final long recordsRead;
+    private final long rowsInserted;
+    private final long rowsRejected;
+    private final long elapsedNanos;
+    private final Path rejectsFile;
+
+    public ImportResult(String workoutType, long recordsRead, long rowsInserted, long rowsRejected,
+                        long elapsedNanos, Path rejectsFile) {
+        this.workoutType = workoutType;
+        this.recordsRead = recordsRead;
+        this.rowsInserted = rowsInserted;
+        this.rowsRejected = rowsRejected;
+        this.elapsedNanos = elapsedNanos;
+        this.rejectsFile = rejectsFile;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : recordsRead * 1e9 / elapsedNanos;
+    }
+
+    public String format() {
+        return String.format("Imported %,d of %,d %s records in %.2f s (%,.0f rows/s), %,d rejected -> %s",
+                rowsInserted, recordsRead, workoutType, elapsedNanos / 1e9, getRowsPerSecond(), rowsRejected, rejectsFile);
+    }
+
+    public String getWorkoutType() { return workoutType; }
+    public long getRecordsRead() { return recordsRead; }
+    public long getRowsInserted() { return rowsInserted; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public Path getRejectsFile() { return rejectsFile; }
+}
@@ -0,0 +1,149 @@
+package bulk;
+
+import model.CardioWorkout;
+import model.StrengthWorkout;
+import model.Validatable;
+import model.Workout;
+import model.WorkoutRollup;
+
+import java.util.List;
+
+// CSV layout of one workout table for BulkImporter: the columns in file order (also the optional
+// header line), how a record becomes a workout, and how a valid workout is written to COPY.
+public final class WorkoutCsvFormat<T extends Workout & Validatable> {
+
+    // Limits of the target columns that validate() doesn't check; COPY would fail the whole load on them
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final double MAX_DECIMAL = 1e8;  // DECIMAL(10, 2)
+
+    public static final WorkoutCsvFormat<CardioWorkout> CARDIO = new WorkoutCsvFormat<>(
+            WorkoutRollup.CARDIO, "cardio_workouts",
+            List.of("name", "duration_minutes", "calories_burned", "distance_km", "average_heart_rate"),
+            "name VARCHAR(100), duration_minutes INT, calories_burned INT, distance_km DECIMAL(10, 2), average_heart_rate INT",
+            "ROUND(distance_km * 100)", "0",
+            fields -> new CardioWorkout(name(fields.get(0)), integer(fields.get(1)), integer(fields.get(2)),
+                    decimal(fields.get(3)), integer(fields.get(4))),
+            (w, out) -> out.append(w.getDurationMinutes()).append(',').append(w.getCaloriesBurned()).append(',')
+                    .append(w.getDistanceKm()).append(',').append(w.getAverageHeartRate()));
+
+    public static final WorkoutCsvFormat<StrengthWorkout> STRENGTH = new WorkoutCsvFormat<>(
+            WorkoutRollup.STRENGTH, "strength_workouts",
+            List.of("name", "duration_minutes", "calories_burned", "sets", "reps", "weight_kg"),
+            "name VARCHAR(100), duration_minutes INT, calories_burned INT, sets INT, reps INT, weight_kg DECIMAL(10, 2)",
+            "0", "ROUND(weight_kg * 100) * sets * reps",
+            fields -> new StrengthWorkout(name(fields.get(0)), integer(fields.get(1)), integer(fields.get(2)),
+                    integer(fields.get(3)), integer(fields.get(4)), decimal(fields.get(5))),
+            (w, out) -> out.append(w.getDurationMinutes()).append(',').append(w.getCaloriesBurned()).append(',')
+                    .append(w.getSets()).append(',').append(w.getReps()).append(',').append(w.getWeightKg()));
+
+    // Builds a workout from a record's fields; throws IllegalArgumentException with the reason
+    @FunctionalInterface
+    interface Parser<T> {
+        T parse(List<String> fields);
+    }
+
+    // Appends every column after name, comma-separated
+    @FunctionalInterface
+    interface Encoder<T> {
+        void encode(T workout, StringBuilder out);
+    }
+
+    private final String workoutType;
+    private final String table;
+    private final List<String> columns;
+    private final String stagingColumns;
+    private final String distanceHundredthsSql;
+    private final String volumeHundredthsSql;
+    private final Parser<T> parser;
+    private final Encoder<T> encoder;
+
+    private WorkoutCsvFormat(String workoutType, String table, List<String> columns, String stagingColumns,
+                             String distanceHundredthsSql, String volumeHundredthsSql,
+                             Parser<T> parser, Encoder<T> encoder) {
+        this.workoutType = workoutType;
+        this.table = table;
+        this.columns = columns;
+        this.stagingColumns = stagingColumns;
+        this.distanceHundredthsSql = distanceHundredthsSql;
+        this.volumeHundredthsSql = volumeHundredthsSql;
+        this.parser = parser;
+        this.encoder = encoder;
+    }
+
+    public static WorkoutCsvFormat<?> forType(String workoutType) {
+        if (WorkoutRollup.CARDIO.equals(workoutType)) {
+            return CARDIO;
+        }
+        if (WorkoutRollup.STRENGTH.equals(workoutType)) {
+            return STRENGTH;
+        }
+        throw new IllegalArgumentException("Unknown workout type: " + workoutType);
+    }
+
+    public String getWorkoutType() { return workoutType; }
+    public String getTable() { return table; }
+    public List<String> getColumns() { return columns; }
+
+    // Column definitions of the import's staging table, in file order
+    String getStagingColumns() { return stagingColumns; }
+
+    // SQL expressions over the staging columns, in the hundredths RunningWorkoutStats counts in
+    String getDistanceHundredthsSql() { return distanceHundredthsSql; }
+    String getVolumeHundredthsSql() { return volumeHundredthsSql; }
+
+    boolean isHeader(List<String> fields) {
+        if (fields.size() != columns.size()) {
+            return false;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            if (!columns.get(i).equalsIgnoreCase(fields.get(i).trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    T parse(List<String> fields) {
+        if (fields.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " fields, found " + fields.size());
+        }
+        return parser.parse(fields);
+    }
+
+    // One COPY ... (FORMAT csv) row: line number, name, then the other columns
+    void encode(long lineNumber, T workout, StringBuilder out) {
+        out.append(lineNumber).append(',');
+        CsvCodec.appendField(out, workout.getName()).append(',');
+        encoder.encode(workout, out);
+        out.append('\n');
+    }
+
+    private static String name(String field) {
+        String name = field.trim();
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("name longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        return name;
+    }
+
+    private static int integer(String field) {
+        try {
+            return Integer.parseInt(field.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not an integer: '" + field + "'");
+        }
+    }
+
+    private static double decimal(String field) {
+        double value;
+        try {
+            value = Double.parseDouble(field.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a number: '" + field + "'");
+        }
+        if (!(Math.abs(value) < MAX_DECIMAL)) {
+            throw new IllegalArgumentException("number out of range: '" + field + "'");
+        }
+        return value;
+    }
+}
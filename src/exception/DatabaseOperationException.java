@@ -1,6 +1,11 @@
 package exception;
 
+import java.sql.SQLException;
+
 public class DatabaseOperationException extends Exception {
+    // PostgreSQL SQLState for unique_violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
     public DatabaseOperationException(String message) {
         super(message);
     }
@@ -8,4 +13,35 @@ public class DatabaseOperationException extends Exception {
     public DatabaseOperationException(String message, Throwable cause) {
         super(message, cause);
     }
-}
\ No newline at end of file
+
+    // True if the failure was a UNIQUE constraint violation (e.g. a duplicate name)
+    public boolean isUniqueViolation() {
+        return hasSqlState(UNIQUE_VIOLATION);
+    }
+
+    // First SQLState found in the cause chain (e.g. "23505", "08001"), or null if there is none
+    public String getSqlState() {
+        for (Throwable t = getCause(); t != null; t = t.getCause()) {
+            if (t instanceof SQLException && ((SQLException) t).getSQLState() != null) {
+                return ((SQLException) t).getSQLState();
+            }
+        }
+        return null;
+    }
+
+    // Looks through the cause chain, including SQLException.getNextException() used by batches
+    public boolean hasSqlState(String sqlState) {
+        Throwable t = getCause();
+        while (t != null) {
+            if (t instanceof SQLException) {
+                for (SQLException e = (SQLException) t; e != null; e = e.getNextException()) {
+                    if (sqlState.equals(e.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+            t = t.getCause();
+        }
+        return false;
+    }
+}
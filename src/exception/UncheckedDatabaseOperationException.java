@@ -0,0 +1,16 @@
+package exception;
+
+// Wraps a DatabaseOperationException where a checked exception can't be thrown,
+// e.g. while a Stream returned by a repository is being consumed
+public class UncheckedDatabaseOperationException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public UncheckedDatabaseOperationException(DatabaseOperationException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized DatabaseOperationException getCause() {
+        return (DatabaseOperationException) super.getCause();
+    }
+}
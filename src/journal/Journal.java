@@ -0,0 +1,574 @@
+package journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+// Append-only write-ahead log in a directory of segment files.
+//
+//   <firstSeq, 20 digits>.wal   header: magic, version, first sequence number (16 bytes), then records
+//   record                      length (int), CRC32C (int), seq (long), payload (length bytes)
+//   checkpoint                  last applied seq + its CRC32C, replaced atomically
+//   journal.id                  random UUID naming this journal, e.g. for the database's record of replay progress
+//   durable-limit               only after a failed write: last seq acknowledged as durable, same format as checkpoint
+//
+// Group commit: append() copies the record into a shared buffer and waits; one syncer thread writes
+// everything buffered with a single write + fsync and wakes all of its appenders. Many concurrent appends
+// therefore cost one fsync, which is what lets the journal outrun per-row database inserts.
+// append() returns only once its record is on disk. Sequence numbers start at 1 and have no gaps.
+//
+// On open, the last segment is scanned and cut back to its last complete record (a crash mid-write leaves
+// a torn tail there and nowhere else, since a segment is only closed after its final fsync).
+// checkpoint(seq) records that everything up to seq has been applied and deletes the segments it covers.
+// If a write or fsync fails the journal stops accepting appends, and the appenders of that batch get an
+// exception although some of their bytes may have reached the disk. The syncer cuts the segment back to where
+// the batch started; if that fails too it writes durable-limit, and the next open drops every record after it.
+// Only if both fail (the disk is gone) can a record whose append threw still be replayed after a restart.
+public class Journal implements AutoCloseable {
+
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    static final int SEGMENT_MAGIC = 0x4C575446;  // "FTWL"
+    static final short SEGMENT_VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 16;     // length, crc, seq
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String ID_FILE = "journal.id";
+    private static final String LIMIT_FILE = "durable-limit";
+    // Appenders wait while this much is buffered and not yet written
+    private static final int MAX_BUFFERED_BYTES = 8 * 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+    // First seq of every segment -> its file; the last entry is the one being appended to
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasWork = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    // Guarded by lock
+    private ByteBuffer pending = newBuffer(64 * 1024);
+    private long lastSeq;        // last seq handed out
+    private long durableSeq;     // last seq on disk
+    private IOException failure;
+    private boolean closed;
+
+    // Syncer thread only
+    private ByteBuffer spare = newBuffer(64 * 1024);
+    private FileChannel active;
+
+    private volatile long checkpointSeq;
+    private String id;
+    private final Thread syncer;
+
+    private Journal(Path directory, long segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncer = Thread.ofPlatform().name("journal-sync").daemon().unstarted(this::runSyncer);
+    }
+
+    public static Journal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public static Journal open(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes < SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        Files.createDirectories(directory);
+        Journal journal = new Journal(directory, segmentBytes);
+        journal.recover();
+        journal.syncer.start();
+        return journal;
+    }
+
+    // ==================== RECOVERY ====================
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Unexpected file in journal directory: " + file);
+                }
+            }
+        }
+        id = readOrCreateId();
+        checkpointSeq = readSeqFile(CHECKPOINT_FILE, 0);
+        // Records after it were written by a batch that failed, and their appenders were told so
+        long limit = readSeqFile(LIMIT_FILE, Long.MAX_VALUE);
+        while (!segments.isEmpty() && segments.lastKey() - 1 > limit) {
+            Files.delete(segments.pollLastEntry().getValue());
+        }
+        // A crash while creating a segment can leave it without a complete header
+        if (!segments.isEmpty() && Files.size(segments.lastEntry().getValue()) < SEGMENT_HEADER_SIZE) {
+            Files.delete(segments.pollLastEntry().getValue());
+        }
+
+        long expected = segments.isEmpty() ? checkpointSeq + 1 : segments.firstKey();
+        long endOfLast = -1;
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            if (segment.getKey() != expected) {
+                throw new IOException("Journal segment " + segment.getValue() + " should start at seq " + expected);
+            }
+            boolean last = segment.getKey().equals(segments.lastKey());
+            long[] scan = scan(segment.getValue(), segment.getKey(), last, limit);
+            expected = scan[0] + 1;
+            endOfLast = scan[1];
+        }
+        lastSeq = expected - 1;
+        durableSeq = lastSeq;
+        if (lastSeq < checkpointSeq) {
+            throw new IOException("Journal ends at seq " + lastSeq + " but the checkpoint is at " + checkpointSeq);
+        }
+
+        if (segments.isEmpty()) {
+            startSegment(lastSeq + 1);
+        } else {
+            active = FileChannel.open(segments.lastEntry().getValue(), StandardOpenOption.WRITE);
+            // Drop a torn tail left by a crash, or the records of a failed batch
+            if (active.size() > endOfLast) {
+                active.truncate(endOfLast);
+                active.force(true);
+            }
+            active.position(endOfLast);
+        }
+        // Only once the records it covers are gone for good
+        if (Files.deleteIfExists(directory.resolve(LIMIT_FILE))) {
+            syncDirectory();
+        }
+    }
+
+    // Returns {last seq, end offset of the last valid record}, stopping after maxSeq.
+    // Only the last segment may end in a torn record, or hold records after maxSeq.
+    private static long[] scan(Path file, long firstSeq, boolean last, long maxSeq) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readSegmentHeader(channel, file);
+            if (header.getLong(8) != firstSeq) {
+                throw new IOException("Journal segment " + file + " header does not match its name");
+            }
+            long position = SEGMENT_HEADER_SIZE;
+            long seq = firstSeq - 1;
+            long size = channel.size();
+            ByteBuffer recordHeader = newBuffer(RECORD_HEADER_SIZE);
+            while (position < size) {
+                Record record = readRecord(channel, position, size, recordHeader);
+                if (record == null || record.seq != seq + 1 || record.seq > maxSeq) {
+                    if (last) {
+                        break;
+                    }
+                    throw new IOException("Corrupt journal segment " + file + " at offset " + position);
+                }
+                seq = record.seq;
+                position += RECORD_HEADER_SIZE + record.payload.length;
+            }
+            return new long[] {seq, position};
+        }
+    }
+
+    static ByteBuffer readSegmentHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = newBuffer(SEGMENT_HEADER_SIZE);
+        readFully(channel, header, 0);
+        if (header.position() < SEGMENT_HEADER_SIZE || header.getInt(0) != SEGMENT_MAGIC) {
+            throw new IOException(file + " is not a journal segment");
+        }
+        if (header.getShort(4) != SEGMENT_VERSION) {
+            throw new IOException(file + ": unsupported journal version " + header.getShort(4));
+        }
+        return header;
+    }
+
+    // The record at position, or null if it is incomplete or fails its checksum
+    static Record readRecord(FileChannel channel, long position, long size, ByteBuffer header) throws IOException {
+        if (size - position < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        header.clear();
+        readFully(channel, header, position);
+        int length = header.getInt(0);
+        if (length < 0 || length > MAX_RECORD_BYTES || size - position - RECORD_HEADER_SIZE < length) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, position + RECORD_HEADER_SIZE);
+        long seq = header.getLong(8);
+        if (checksum(seq, payload.array(), length) != header.getInt(4)) {
+            return null;
+        }
+        return new Record(seq, payload.array());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                return;
+            }
+        }
+    }
+
+    // ==================== APPEND ====================
+
+    // Returns the record's seq once it is durable
+    public long append(byte[] payload) throws IOException {
+        if (payload.length > MAX_RECORD_BYTES) {
+            throw new IOException("Journal record too large: " + payload.length + " bytes");
+        }
+        int size = RECORD_HEADER_SIZE + payload.length;
+        lock.lock();
+        try {
+            while (failure == null && !closed && pending.position() > 0 && pending.position() + size > MAX_BUFFERED_BYTES) {
+                durable.awaitUninterruptibly();
+            }
+            checkWritable();
+            if (pending.remaining() < size) {
+                pending = grow(pending, size);
+            }
+            long seq = ++lastSeq;
+            pending.putInt(payload.length).putInt(checksum(seq, payload, payload.length)).putLong(seq).put(payload);
+            hasWork.signal();
+            while (durableSeq < seq && failure == null) {
+                durable.awaitUninterruptibly();
+            }
+            if (durableSeq < seq) {
+                throw new IOException("Journal write failed", failure);
+            }
+            return seq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkWritable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Journal is failed and read-only", failure);
+        }
+        if (closed) {
+            throw new IOException("Journal is closed");
+        }
+    }
+
+    private void runSyncer() {
+        while (true) {
+            ByteBuffer batch;
+            long batchLastSeq;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    hasWork.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+                batch = pending;
+                batchLastSeq = lastSeq;
+                pending = spare;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            long batchStart = -1;
+            try {
+                batch.flip();
+                if (active.position() >= segmentBytes) {
+                    rollSegment(durableSeq() + 1);
+                }
+                batchStart = active.position();
+                while (batch.hasRemaining()) {
+                    active.write(batch);
+                }
+                active.force(false);
+            } catch (IOException e) {
+                error = e;
+                discardFailedBatch(batchStart, e);
+            }
+            batch.clear();
+
+            lock.lock();
+            try {
+                spare = batch;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSeq = batchLastSeq;
+                }
+                durable.signalAll();
+                if (failure != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // The batch's appenders are told it failed, so none of it may survive a restart: cut the segment back to
+    // where the batch started, or failing that leave durable-limit for recover() to cut at
+    private void discardFailedBatch(long batchStart, IOException error) {
+        if (batchStart < 0) {
+            // Failed before writing any of it
+            return;
+        }
+        try {
+            active.truncate(batchStart);
+            active.force(true);
+            return;
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+        try {
+            writeSeqFile(LIMIT_FILE, durableSeq());
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    private long durableSeq() {
+        lock.lock();
+        try {
+            return durableSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The old segment is complete and synced; later records go to a new one
+    private void rollSegment(long firstSeq) throws IOException {
+        active.close();
+        startSegment(firstSeq);
+    }
+
+    private void startSegment(long firstSeq) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSeq, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = newBuffer(SEGMENT_HEADER_SIZE);
+        header.putInt(SEGMENT_MAGIC).putShort(SEGMENT_VERSION).putShort((short) 0).putLong(firstSeq).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        syncDirectory();
+        active = channel;
+        segments.put(firstSeq, file);
+    }
+
+    // ==================== CHECKPOINT ====================
+
+    // Everything up to seq has been applied: remember it and delete the segments that hold nothing newer
+    public void checkpoint(long seq) throws IOException {
+        if (seq <= checkpointSeq) {
+            return;
+        }
+        if (seq > getDurableSeq()) {
+            throw new IllegalArgumentException("Checkpoint " + seq + " is past the end of the journal");
+        }
+        writeSeqFile(CHECKPOINT_FILE, seq);
+        checkpointSeq = seq;
+
+        // A segment can go once the next one starts at or before seq + 1; the active segment always stays
+        Map.Entry<Long, Path> first;
+        while ((first = segments.firstEntry()) != null) {
+            Long next = segments.higherKey(first.getKey());
+            if (next == null || next > seq + 1) {
+                break;
+            }
+            segments.remove(first.getKey());
+            Files.deleteIfExists(first.getValue());
+        }
+    }
+
+    // Created with the journal and never changed, so seq numbers of a deleted and recreated journal
+    // are never mistaken for this one's
+    private String readOrCreateId() throws IOException {
+        Path file = directory.resolve(ID_FILE);
+        if (Files.exists(file)) {
+            String value = Files.readString(file, StandardCharsets.UTF_8).trim();
+            try {
+                return UUID.fromString(value).toString();
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt journal id " + file, e);
+            }
+        }
+        String value = UUID.randomUUID().toString();
+        Path temp = directory.resolve(ID_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        return value;
+    }
+
+    // A seq + its CRC32C, replaced atomically
+    private void writeSeqFile(String name, long seq) throws IOException {
+        ByteBuffer data = newBuffer(12);
+        data.putLong(seq).putInt(checksum(seq, new byte[0], 0)).flip();
+        Path temp = directory.resolve(name + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+    }
+
+    private long readSeqFile(String name, long ifMissing) throws IOException {
+        Path file = directory.resolve(name);
+        if (!Files.exists(file)) {
+            return ifMissing;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer data = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length != 12 || checksum(data.getLong(0), new byte[0], 0) != data.getInt(8)) {
+            throw new IOException("Corrupt journal file " + file);
+        }
+        return data.getLong(0);
+    }
+
+    // Makes file creations and renames in the directory durable (not supported on every platform)
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    // ==================== READING ====================
+
+    // Reads durable records in order, starting after afterSeq. Single-threaded.
+    public JournalReader reader(long afterSeq) throws IOException {
+        if (afterSeq < checkpointSeq && !segments.isEmpty() && segments.firstKey() > afterSeq + 1) {
+            throw new IOException("Journal records after seq " + afterSeq + " were already checkpointed and deleted");
+        }
+        return new JournalReader(this, afterSeq);
+    }
+
+    // Segment holding seq, or null
+    Map.Entry<Long, Path> segmentFor(long seq) {
+        return segments.floorEntry(seq);
+    }
+
+    // Waits up to timeout for records after seq to become durable; true if there are any
+    public boolean awaitDurable(long seq, long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (durableSeq <= seq && failure == null && !closed && nanos > 0) {
+                try {
+                    nanos = durable.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return durableSeq > seq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDurableSeq() {
+        return durableSeq();
+    }
+
+    public String getId() { return id; }
+    public long getCheckpointSeq() { return checkpointSeq; }
+    public Path getDirectory() { return directory; }
+    public int getSegmentCount() { return segments.size(); }
+
+    // Records appended but not yet checkpointed
+    public long getBacklog() {
+        return getDurableSeq() - checkpointSeq;
+    }
+
+    // Waits for buffered appends to reach the disk, then stops the syncer
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            hasWork.signal();
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (syncer.isAlive()) {
+            try {
+                syncer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (active.isOpen()) {
+            active.close();
+        }
+    }
+
+    // ==================== ENCODING ====================
+
+    static int checksum(long seq, byte[] payload, int length) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer seqBytes = newBuffer(8);
+        seqBytes.putLong(seq).flip();
+        crc.update(seqBytes);
+        crc.update(payload, 0, length);
+        return (int) crc.getValue();
+    }
+
+    static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+        ByteBuffer bigger = newBuffer(capacity);
+        buffer.flip();
+        bigger.put(buffer);
+        return bigger;
+    }
+
+    // One journal record
+    public static final class Record {
+        private final long seq;
+        private final byte[] payload;
+
+        Record(long seq, byte[] payload) {
+            this.seq = seq;
+            this.payload = payload;
+        }
+
+        public long getSeq() { return seq; }
+        public byte[] getPayload() { return payload; }
+    }
+}
@@ -0,0 +1,262 @@
+package journal;
+
+import exception.DatabaseOperationException;
+import exception.DuplicateResourceException;
+import exception.InvalidInputException;
+import exception.ResourceNotFoundException;
+import model.CardioWorkout;
+import model.Exercise;
+import model.StrengthWorkout;
+import service.interfaces.ExerciseService;
+import service.interfaces.WorkoutService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// One service write as a journal payload: target table, kind of write, then its fields.
+//   CREATE / UPSERT   entity count, entities (a batch call is one entry)
+//   UPDATE            id, entity
+//   DELETE            id
+// Ids of new rows are not journaled; the database assigns them when the entry is applied.
+//
+// applyTo() makes the same service call the entry was journaled from, so replay keeps the service contract:
+// a create of a taken name fails with DuplicateResourceException, an update or delete of a missing id with
+// ResourceNotFoundException. It is not idempotent: JournalReplayer applies each entry exactly once by
+// storing its seq in the same transaction.
+public final class JournalEntry {
+
+    public enum Target { CARDIO, STRENGTH, EXERCISE }
+    public enum Kind { CREATE, UPSERT, UPDATE, DELETE }
+
+    private final Target target;
+    private final Kind kind;
+    private final int id;               // UPDATE and DELETE
+    private final List<Object> entities;
+
+    private JournalEntry(Target target, Kind kind, int id, List<Object> entities) {
+        this.target = target;
+        this.kind = kind;
+        this.id = id;
+        this.entities = entities;
+    }
+
+    // ==================== ENCODING ====================
+
+    public static byte[] encodeWrite(Target target, Kind kind, List<?> entities) {
+        if (kind != Kind.CREATE && kind != Kind.UPSERT) {
+            throw new IllegalArgumentException("Not a create or upsert: " + kind);
+        }
+        return encode(target, kind, out -> {
+            out.writeInt(entities.size());
+            for (Object entity : entities) {
+                writeEntity(out, target, entity);
+            }
+        });
+    }
+
+    public static byte[] encodeUpdate(Target target, int id, Object entity) {
+        return encode(target, Kind.UPDATE, out -> {
+            out.writeInt(id);
+            writeEntity(out, target, entity);
+        });
+    }
+
+    public static byte[] encodeDelete(Target target, int id) {
+        return encode(target, Kind.DELETE, out -> out.writeInt(id));
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private static byte[] encode(Target target, Kind kind, Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(target.ordinal());
+            out.writeByte(kind.ordinal());
+            body.write(out);
+        } catch (IOException e) {
+            // In-memory stream
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeEntity(DataOutput out, Target target, Object entity) throws IOException {
+        switch (target) {
+            case CARDIO -> {
+                CardioWorkout w = (CardioWorkout) entity;
+                writeString(out, w.getName());
+                out.writeInt(w.getDurationMinutes());
+                out.writeInt(w.getCaloriesBurned());
+                out.writeDouble(w.getDistanceKm());
+                out.writeInt(w.getAverageHeartRate());
+            }
+            case STRENGTH -> {
+                StrengthWorkout w = (StrengthWorkout) entity;
+                writeString(out, w.getName());
+                out.writeInt(w.getDurationMinutes());
+                out.writeInt(w.getCaloriesBurned());
+                out.writeInt(w.getSets());
+                out.writeInt(w.getReps());
+                out.writeDouble(w.getWeightKg());
+            }
+            case EXERCISE -> {
+                Exercise e = (Exercise) entity;
+                writeString(out, e.getName());
+                writeString(out, e.getMuscleGroup());
+                writeString(out, e.getEquipmentNeeded());
+            }
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    // ==================== DECODING ====================
+
+    public static JournalEntry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int targetCode = in.readUnsignedByte();
+        int kindCode = in.readUnsignedByte();
+        if (targetCode >= Target.values().length || kindCode >= Kind.values().length) {
+            throw new IOException("Unknown journal entry type " + targetCode + "/" + kindCode);
+        }
+        Target target = Target.values()[targetCode];
+        Kind kind = Kind.values()[kindCode];
+        switch (kind) {
+            case CREATE, UPSERT -> {
+                int count = in.readInt();
+                if (count < 0 || count > payload.length) {
+                    throw new IOException("Corrupt journal entry: " + count + " entities");
+                }
+                List<Object> entities = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    entities.add(readEntity(in, target));
+                }
+                return new JournalEntry(target, kind, 0, entities);
+            }
+            case UPDATE -> {
+                int id = in.readInt();
+                return new JournalEntry(target, kind, id, List.of(readEntity(in, target)));
+            }
+            default -> {
+                return new JournalEntry(target, kind, in.readInt(), List.of());
+            }
+        }
+    }
+
+    private static Object readEntity(DataInput in, Target target) throws IOException {
+        switch (target) {
+            case CARDIO:
+                return new CardioWorkout(readString(in), in.readInt(), in.readInt(), in.readDouble(), in.readInt());
+            case STRENGTH:
+                return new StrengthWorkout(readString(in), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                        in.readDouble());
+            default:
+                return new Exercise(readString(in), readString(in), readString(in));
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // ==================== REPLAY ====================
+
+    // Business errors (invalid data, a name taken by another row, an update or delete of a missing row)
+    // are thrown as-is: retrying will not help. DatabaseOperationException may be transient.
+    @SuppressWarnings("unchecked")
+    public void applyTo(WorkoutService workouts, ExerciseService exercises)
+            throws InvalidInputException, DuplicateResourceException, ResourceNotFoundException, DatabaseOperationException {
+        switch (target) {
+            case CARDIO -> {
+                List<CardioWorkout> list = (List<CardioWorkout>) (List<?>) entities;
+                switch (kind) {
+                    case CREATE -> {
+                        if (list.size() == 1) {
+                            workouts.createCardioWorkout(list.get(0));
+                        } else {
+                            workouts.createCardioWorkouts(list);
+                        }
+                    }
+                    case UPSERT -> {
+                        if (list.size() == 1) {
+                            workouts.upsertCardioWorkout(list.get(0));
+                        } else {
+                            workouts.upsertCardioWorkouts(list);
+                        }
+                    }
+                    case UPDATE -> workouts.updateCardioWorkout(id, list.get(0));
+                    case DELETE -> workouts.deleteCardioWorkout(id);
+                }
+            }
+            case STRENGTH -> {
+                List<StrengthWorkout> list = (List<StrengthWorkout>) (List<?>) entities;
+                switch (kind) {
+                    case CREATE -> {
+                        if (list.size() == 1) {
+                            workouts.createStrengthWorkout(list.get(0));
+                        } else {
+                            workouts.createStrengthWorkouts(list);
+                        }
+                    }
+                    case UPSERT -> {
+                        if (list.size() == 1) {
+                            workouts.upsertStrengthWorkout(list.get(0));
+                        } else {
+                            workouts.upsertStrengthWorkouts(list);
+                        }
+                    }
+                    case UPDATE -> workouts.updateStrengthWorkout(id, list.get(0));
+                    case DELETE -> workouts.deleteStrengthWorkout(id);
+                }
+            }
+            case EXERCISE -> {
+                List<Exercise> list = (List<Exercise>) (List<?>) entities;
+                switch (kind) {
+                    case CREATE -> {
+                        if (list.size() == 1) {
+                            exercises.createExercise(list.get(0));
+                        } else {
+                            exercises.createExercises(list);
+                        }
+                    }
+                    case UPSERT -> {
+                        if (list.size() == 1) {
+                            exercises.upsertExercise(list.get(0));
+                        } else {
+                            exercises.upsertExercises(list);
+                        }
+                    }
+                    case UPDATE -> exercises.updateExercise(id, list.get(0));
+                    case DELETE -> exercises.deleteExercise(id);
+                }
+            }
+        }
+    }
+
+    public Target getTarget() { return target; }
+    public Kind getKind() { return kind; }
+    public int getId() { return id; }
+    public int getEntityCount() { return entities.size(); }
+
+    @Override
+    public String toString() {
+        String what = target.name().toLowerCase() + " " + kind.name().toLowerCase();
+        return kind == Kind.UPDATE || kind == Kind.DELETE ? what + " id=" + id : what + " x" + entities.size();
+    }
+}
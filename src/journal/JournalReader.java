@@ -0,0 +1,81 @@
+package journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+// Cursor over a Journal's durable records in seq order, following the writer across segments.
+// next() returns null when it has caught up; call it again later to pick up newer records.
+public class JournalReader implements AutoCloseable {
+
+    private final Journal journal;
+    private final ByteBuffer header = Journal.newBuffer(Journal.RECORD_HEADER_SIZE);
+    private long lastSeq;          // last record returned
+    private FileChannel channel;   // segment holding lastSeq + 1
+    private long segmentFirstSeq;
+    private long position;
+
+    JournalReader(Journal journal, long afterSeq) {
+        this.journal = journal;
+        this.lastSeq = afterSeq;
+    }
+
+    public Journal.Record next() throws IOException {
+        long seq = lastSeq + 1;
+        if (seq > journal.getDurableSeq()) {
+            return null;
+        }
+        if (channel == null || !inCurrentSegment(seq)) {
+            openSegmentFor(seq);
+        }
+        Journal.Record record = Journal.readRecord(channel, position, channel.size(), header);
+        if (record == null || record.getSeq() != seq) {
+            throw new IOException("Journal record " + seq + " is missing or corrupt in " + journal.getDirectory());
+        }
+        position += Journal.RECORD_HEADER_SIZE + record.getPayload().length;
+        lastSeq = seq;
+        return record;
+    }
+
+    private boolean inCurrentSegment(long seq) {
+        Map.Entry<Long, Path> segment = journal.segmentFor(seq);
+        return segment != null && segment.getKey() == segmentFirstSeq;
+    }
+
+    // Opens the segment containing seq and skips to that record
+    private void openSegmentFor(long seq) throws IOException {
+        Map.Entry<Long, Path> segment = journal.segmentFor(seq);
+        if (segment == null) {
+            throw new IOException("No journal segment holds seq " + seq);
+        }
+        if (channel != null && segment.getKey() == segmentFirstSeq) {
+            return;
+        }
+        close();
+        channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ);
+        segmentFirstSeq = segment.getKey();
+        Journal.readSegmentHeader(channel, segment.getValue());
+        position = Journal.SEGMENT_HEADER_SIZE;
+        long size = channel.size();
+        for (long skip = segmentFirstSeq; skip < seq; skip++) {
+            Journal.Record record = Journal.readRecord(channel, position, size, header);
+            if (record == null) {
+                throw new IOException("Journal segment " + segment.getValue() + " ends before seq " + seq);
+            }
+            position += Journal.RECORD_HEADER_SIZE + record.getPayload().length;
+        }
+    }
+
+    public long getLastSeq() { return lastSeq; }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package journal;
+
+import exception.DatabaseOperationException;
+import repository.interfaces.JournalProgressRepository;
+import service.UnitOfWork;
+import service.interfaces.ExerciseService;
+import service.interfaces.WorkoutService;
+
+import java.io.IOException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Applies journaled writes to the database, in journal order, through the real (non-journaling) services,
+// so their validation, duplicate mapping and running totals apply exactly as for a direct call.
+//
+// Exactly once: each record runs in its own UnitOfWork that locks this journal's row in journal_applied,
+// skips the record if its seq is not past the stored one, applies it and stores its seq. The write and the
+// new position commit together, so a crash at any point neither loses nor repeats a record. The journal's
+// own checkpoint trails behind and only decides which segment files can be deleted.
+//
+// Transient errors stop replay at that record, to be retried from it later with backoff:
+//   - the database is unreachable (08 connection errors, 57P shutdown / cannot connect now, the pool timing
+//     out waiting for a connection): a database outage just grows the backlog, however long it lasts
+//   - 53 insufficient resources, 40001 serialization failure, 40P01 deadlock: retried up to
+//     MAX_ATTEMPTS times for the same record, then the record is rejected
+// Any other failure (a record that does not decode, invalid data, a name taken by another row, an update or
+// delete of a missing row, any other SQLState, or none) fails the same way every time: it goes to the
+// RejectListener and replay moves on.
+public class JournalReplayer implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface RejectListener {
+        // entry is null if the record could not be decoded
+        void rejected(long seq, JournalEntry entry, Exception error);
+    }
+
+    private static final int CHECKPOINT_EVERY = 1000;
+    static final int MAX_ATTEMPTS = 10;
+    private static final long MIN_BACKOFF_MILLIS = 250;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final Journal journal;
+    private final WorkoutService workouts;
+    private final ExerciseService exercises;
+    private final JournalProgressRepository progress;
+    private final UnitOfWork unitOfWork;
+    private final RejectListener listener;
+
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    // Transient failures of the record at failingSeq; guarded by this
+    private long failingSeq;
+    private int failedAttempts;
+    private volatile Exception lastError;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public JournalReplayer(Journal journal, WorkoutService workouts, ExerciseService exercises,
+                           JournalProgressRepository progress, UnitOfWork unitOfWork, RejectListener listener) {
+        this.journal = journal;
+        this.workouts = workouts;
+        this.exercises = exercises;
+        this.progress = progress;
+        this.unitOfWork = unitOfWork;
+        this.listener = listener;
+    }
+
+    // ==================== SYNC ====================
+
+    // Applies every durable record after the checkpoint and returns how many were handled (applied, skipped
+    // as already applied, or rejected). Throws on a transient database error; the records before it are
+    // checkpointed.
+    public synchronized long replayAvailable() throws IOException, DatabaseOperationException {
+        long handled = 0;
+        long done = journal.getCheckpointSeq();
+        try (JournalReader reader = journal.reader(done)) {
+            Journal.Record record;
+            try {
+                // The background worker also stops early once close() is called
+                while ((worker == null || running) && (record = reader.next()) != null) {
+                    apply(record);
+                    done = record.getSeq();
+                    handled++;
+                    if (handled % CHECKPOINT_EVERY == 0) {
+                        journal.checkpoint(done);
+                    }
+                }
+            } finally {
+                // Never past a record that threw: it is retried next time
+                journal.checkpoint(done);
+            }
+        }
+        return handled;
+    }
+
+    private void apply(Journal.Record record) throws DatabaseOperationException {
+        long seq = record.getSeq();
+        JournalEntry entry = null;
+        try {
+            // A record that passed its CRC but does not decode will never decode: reject it, don't block on it
+            entry = JournalEntry.decode(record.getPayload());
+            JournalEntry decoded = entry;
+            boolean fresh = unitOfWork.execute(() -> {
+                if (seq <= progress.lockAppliedSeq(journal.getId())) {
+                    // Applied before a crash that came ahead of the checkpoint
+                    return false;
+                }
+                decoded.applyTo(workouts, exercises);
+                progress.setAppliedSeq(journal.getId(), seq);
+                return true;
+            });
+            (fresh ? applied : skipped).increment();
+            failedAttempts = 0;
+        } catch (DatabaseOperationException e) {
+            if (isUnreachable(e) || (isTransient(e) && countAttempt(seq) < MAX_ATTEMPTS)) {
+                lastError = e;
+                throw e;
+            }
+            reject(seq, entry, e);
+        } catch (Exception e) {
+            reject(seq, entry, e);
+        }
+    }
+
+    private int countAttempt(long seq) {
+        if (seq != failingSeq) {
+            failingSeq = seq;
+            failedAttempts = 0;
+        }
+        return ++failedAttempts;
+    }
+
+    // The record's own transaction rolled back, so its seq is stored separately; otherwise a crash
+    // before the next applied record would reject (and report) it again
+    private void reject(long seq, JournalEntry entry, Exception e) throws DatabaseOperationException {
+        failedAttempts = 0;
+        rejected.increment();
+        lastError = e;
+        listener.rejected(seq, entry, e);
+        unitOfWork.run(() -> {
+            if (seq > progress.lockAppliedSeq(journal.getId())) {
+                progress.setAppliedSeq(journal.getId(), seq);
+            }
+        });
+    }
+
+    static boolean isTransient(DatabaseOperationException e) {
+        if (isUnreachable(e)) {
+            return true;
+        }
+        String state = e.getSqlState();
+        return state != null && (state.startsWith("53") || state.equals("40001") || state.equals("40P01"));
+    }
+
+    // No record is at fault, so these are retried without limit
+    static boolean isUnreachable(DatabaseOperationException e) {
+        String state = e.getSqlState();
+        if (state != null) {
+            return state.startsWith("08") || state.startsWith("57P");
+        }
+        // ConnectionPool's borrow timeout carries no SQLState
+        for (Throwable t = e.getCause(); t != null; t = t.getCause()) {
+            if (t instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== BACKGROUND ====================
+
+    // Replays continuously on a daemon thread: new records as they become durable, and after a transient
+    // failure again with exponential backoff
+    public synchronized void start() {
+        if (worker != null) {
+            throw new IllegalStateException("Journal replayer already started");
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("journal-replay").daemon().start(this::runWorker);
+    }
+
+    private void runWorker() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (running) {
+            try {
+                replayAvailable();
+                backoff = MIN_BACKOFF_MILLIS;
+                journal.awaitDurable(journal.getCheckpointSeq(), MAX_BACKOFF_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (DatabaseOperationException | IOException e) {
+                lastError = e;
+                retries.increment();
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    // Stops the background thread after the record it is applying; the journal itself stays open
+    @Override
+    public void close() {
+        // Not synchronized: the worker holds the monitor while it replays
+        running = false;
+        Thread w = worker;
+        if (w == null) {
+            return;
+        }
+        w.interrupt();
+        boolean interrupted = false;
+        while (w.isAlive()) {
+            try {
+                w.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getAppliedCount() { return applied.sum(); }
+    public long getSkippedCount() { return skipped.sum(); }
+    public long getRejectedCount() { return rejected.sum(); }
+    public Exception getLastError() { return lastError; }
+
+    public String getStats() {
+        return String.format("JournalReplay[applied=%d, skipped=%d, rejected=%d, retries=%d, backlog=%d, checkpoint=%d]",
+                applied.sum(), skipped.sum(), rejected.sum(), retries.sum(), journal.getBacklog(),
+                journal.getCheckpointSeq());
+    }
+}
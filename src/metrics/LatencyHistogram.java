@@ -0,0 +1,98 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free latency histogram with log-linear buckets (the HdrHistogram layout, simplified).
+// Every power of two is split into 16 equal sub-buckets, so any recorded value is reported
+// within ~6% of its true value, from 1 ns up to ~18 minutes, in ~5 KB of counters.
+// record() is a couple of shifts and one atomic increment - cheap enough for every JDBC call.
+public class LatencyHistogram {
+
+    // 2^SUB_BUCKET_BITS linear sub-buckets per power of two
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values up to 2^MAX_EXPONENT ns (~18 min); anything larger lands in the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    // Values below 16 get a bucket each; above that, bucket = (exponent, top 4 bits below the leading one)
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Largest value that falls into the bucket - percentiles never under-report
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long low = (1L << exponent) | ((long) sub << (exponent - SUB_BUCKET_BITS));
+        return low + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    // Latency at or below which the given fraction of calls completed (e.g. 0.99), 0 if nothing was recorded
+    public long percentileNanos(double fraction) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public long getCount() { return count.sum(); }
+    public long getMaxNanos() { return maxNanos.get(); }
+
+    public double getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : totalNanos.sum() / (double) n;
+    }
+
+    // Not atomic with concurrent record() calls - a call in flight may land on either side of the reset
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+}
@@ -0,0 +1,54 @@
+package metrics;
+
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically prints a snapshot of every RepositoryMetrics to a stream (stdout by default).
+// Runs on one daemon thread; close() stops it.
+public final class MetricsReporter implements AutoCloseable {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final PrintStream out;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(long periodMillis) {
+        this(periodMillis, System.out);
+    }
+
+    public MetricsReporter(long periodMillis, PrintStream out) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Report period must be positive: " + periodMillis);
+        }
+        this.out = out;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Prints one snapshot right away (also used on shutdown)
+    public void report() {
+        try {
+            StringBuilder sb = new StringBuilder("=== Repository metrics " + LocalDateTime.now().format(TIME) + " ===");
+            for (RepositoryMetrics metrics : RepositoryMetrics.all()) {
+                sb.append(System.lineSeparator()).append(metrics.snapshot());
+            }
+            out.println(sb);
+        } catch (RuntimeException e) {
+            // A failing report must not cancel the schedule
+            System.err.println("Metrics report failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
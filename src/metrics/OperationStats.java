@@ -0,0 +1,99 @@
+package metrics;
+
+import exception.DatabaseOperationException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters for one operation of one repository: latency histogram, calls, errors by type and rows
+public class OperationStats implements OperationStatsMXBean {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> errorsByType = new ConcurrentHashMap<>();
+    private volatile long sinceNanos = System.nanoTime();
+
+    public OperationStats(String name) {
+        this.name = name;
+    }
+
+    public void recordSuccess(long nanos, long rowCount) {
+        latency.record(nanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    public void recordFailure(long nanos, Throwable error) {
+        latency.record(nanos);
+        errors.increment();
+        errorsByType.computeIfAbsent(errorType(error), k -> new LongAdder()).increment();
+    }
+
+    // Rows counted after the call returned, e.g. while a stream is being consumed
+    public void addRows(long rowCount) {
+        rows.add(rowCount);
+    }
+
+    private static String errorType(Throwable error) {
+        String type = error.getClass().getSimpleName();
+        if (error instanceof DatabaseOperationException) {
+            String sqlState = ((DatabaseOperationException) error).getSqlState();
+            if (sqlState != null) {
+                return type + "[" + sqlState + "]";
+            }
+        }
+        return type;
+    }
+
+    public String getName() { return name; }
+
+    @Override public long getCalls() { return latency.getCount(); }
+    @Override public long getErrors() { return errors.sum(); }
+    @Override public long getRows() { return rows.sum(); }
+
+    @Override
+    public double getCallsPerSecond() {
+        double seconds = (System.nanoTime() - sinceNanos) / 1e9;
+        return seconds <= 0 ? 0.0 : getCalls() / seconds;
+    }
+
+    @Override public double getMeanMicros() { return latency.getMeanNanos() / 1_000.0; }
+    @Override public double getP50Micros() { return latency.percentileNanos(0.50) / 1_000.0; }
+    @Override public double getP99Micros() { return latency.percentileNanos(0.99) / 1_000.0; }
+    @Override public double getP999Micros() { return latency.percentileNanos(0.999) / 1_000.0; }
+    @Override public double getMaxMicros() { return latency.getMaxNanos() / 1_000.0; }
+
+    @Override
+    public Map<String, Long> getErrorsByType() {
+        Map<String, Long> result = new TreeMap<>();
+        errorsByType.forEach((type, count) -> result.put(type, count.sum()));
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+        errorsByType.clear();
+        sinceNanos = System.nanoTime();
+    }
+
+    // One line for logs: calls, throughput, latency percentiles (ms), rows and errors
+    public String format() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "%-12s calls=%d (%.1f/s) p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms rows=%d errors=%d",
+                name, getCalls(), getCallsPerSecond(), getP50Micros() / 1_000, getP99Micros() / 1_000,
+                getP999Micros() / 1_000, getMaxMicros() / 1_000, getRows(), getErrors()));
+        Map<String, Long> byType = getErrorsByType();
+        if (!byType.isEmpty()) {
+            sb.append(' ').append(byType);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package metrics;
+
+import java.util.Map;
+
+// JMX view of one repository operation, e.g. fitness.tracker:type=Repository,repository=cardio,operation=getById.
+// Latencies are in microseconds and cover every call, failed ones included.
+public interface OperationStatsMXBean {
+
+    long getCalls();
+    long getErrors();
+
+    // Rows returned by reads, rows written by writes
+    long getRows();
+
+    // Calls per second since creation or the last reset()
+    double getCallsPerSecond();
+
+    double getMeanMicros();
+    double getP50Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaxMicros();
+
+    // Error counts keyed by exception type; database errors carry their SQLState, e.g. "DatabaseOperationException[23505]"
+    Map<String, Long> getErrorsByType();
+
+    void reset();
+}
@@ -0,0 +1,126 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Per-operation stats for one repository (one entity type).
+// With JMX enabled each operation is registered on first use as
+//   fitness.tracker:type=Repository,repository=<name>,operation=<operation>
+public class RepositoryMetrics {
+
+    public static final String JMX_DOMAIN = "fitness.tracker";
+
+    // Every instance, so a reporter can dump them all
+    private static final Map<String, RepositoryMetrics> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private final String name;
+    private final boolean jmxEnabled;
+    private final ConcurrentHashMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    private RepositoryMetrics(String name, boolean jmxEnabled) {
+        this.name = name;
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    // Returns the metrics for this repository name, creating them on first use
+    public static RepositoryMetrics forRepository(String name) {
+        return forRepository(name, true);
+    }
+
+    public static RepositoryMetrics forRepository(String name, boolean jmxEnabled) {
+        return REGISTRY.computeIfAbsent(name, n -> new RepositoryMetrics(n, jmxEnabled));
+    }
+
+    public static List<RepositoryMetrics> all() {
+        return new ArrayList<>(REGISTRY.values());
+    }
+
+    public OperationStats operation(String operation) {
+        OperationStats stats = operations.get(operation);
+        if (stats == null) {
+            stats = operations.computeIfAbsent(operation, op -> {
+                OperationStats created = new OperationStats(op);
+                if (jmxEnabled) {
+                    register(created);
+                }
+                return created;
+            });
+        }
+        return stats;
+    }
+
+    public String getName() { return name; }
+
+    // Operations that have been called at least once, sorted by name
+    public List<OperationStats> getOperations() {
+        List<OperationStats> list = new ArrayList<>();
+        for (OperationStats stats : operations.values()) {
+            if (stats.getCalls() > 0) {
+                list.add(stats);
+            }
+        }
+        list.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return list;
+    }
+
+    public String snapshot() {
+        StringBuilder sb = new StringBuilder("Repository[" + name + "]");
+        List<OperationStats> list = getOperations();
+        if (list.isEmpty()) {
+            sb.append(" no calls");
+        }
+        for (OperationStats stats : list) {
+            sb.append(System.lineSeparator()).append("  ").append(stats.format());
+        }
+        return sb.toString();
+    }
+
+    public void reset() {
+        operations.values().forEach(OperationStats::reset);
+    }
+
+    // ==================== JMX ====================
+
+    private void register(OperationStats stats) {
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=Repository,repository="
+                    + name + ",operation=" + stats.getName());
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            synchronized (registered) {
+                // Left over from an earlier instance (e.g. a redeploy) - the new stats take over
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+                server.registerMBean(stats, objectName);
+                registered.add(objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean for " + name + "." + stats.getName()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    // Removes this repository's MBeans and forgets its stats
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        synchronized (registered) {
+            for (ObjectName objectName : registered) {
+                try {
+                    server.unregisterMBean(objectName);
+                } catch (JMException e) {
+                    // Already gone
+                }
+            }
+            registered.clear();
+        }
+        REGISTRY.remove(name, this);
+    }
+}
@@ -0,0 +1,29 @@
+package model;
+
+import java.util.List;
+
+// Composition: the most recent cardio workouts, strength workouts and exercises, loaded together
+public class Dashboard {
+    private final List<CardioWorkout> recentCardio;
+    private final List<StrengthWorkout> recentStrength;
+    private final List<Exercise> recentExercises;
+
+    public Dashboard(List<CardioWorkout> recentCardio, List<StrengthWorkout> recentStrength,
+                     List<Exercise> recentExercises) {
+        this.recentCardio = List.copyOf(recentCardio);
+        this.recentStrength = List.copyOf(recentStrength);
+        this.recentExercises = List.copyOf(recentExercises);
+    }
+
+    public void displayInfo() {
+        System.out.println("[Dashboard] " + recentCardio.size() + " cardio | "
+                + recentStrength.size() + " strength | " + recentExercises.size() + " exercises");
+        recentCardio.forEach(Workout::displayInfo);
+        recentStrength.forEach(Workout::displayInfo);
+        recentExercises.forEach(Exercise::displayInfo);
+    }
+
+    public List<CardioWorkout> getRecentCardio() { return recentCardio; }
+    public List<StrengthWorkout> getRecentStrength() { return recentStrength; }
+    public List<Exercise> getRecentExercises() { return recentExercises; }
+}
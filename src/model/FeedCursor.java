@@ -0,0 +1,28 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Position in the cross-type workout feed: the sort key of the last row a client has seen.
+// The feed is ordered by (createdAt, workoutType, id), newest first; workoutType and id break
+// ties between rows created at the same instant, in the same table or across tables.
+public class FeedCursor {
+    private final LocalDateTime createdAt;
+    private final String workoutType;
+    private final int id;
+
+    public FeedCursor(LocalDateTime createdAt, String workoutType, int id) {
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.workoutType = Objects.requireNonNull(workoutType, "workoutType");
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public String getWorkoutType() { return workoutType; }
+    public int getId() { return id; }
+
+    @Override
+    public String toString() {
+        return "FeedCursor[" + createdAt + ", " + workoutType + ", " + id + "]";
+    }
+}
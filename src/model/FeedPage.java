@@ -0,0 +1,18 @@
+package model;
+
+import java.util.List;
+
+// One page of the workout feed. Pass getNextCursor() to the next call; it is null on the last page.
+public class FeedPage {
+    private final List<Workout> workouts;
+    private final FeedCursor nextCursor;
+
+    public FeedPage(List<Workout> workouts, FeedCursor nextCursor) {
+        this.workouts = List.copyOf(workouts);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Workout> getWorkouts() { return workouts; }
+    public FeedCursor getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+}
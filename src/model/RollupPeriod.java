@@ -0,0 +1,42 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Rollup granularity; weeks start on Monday, as date_trunc('week', ...) does in PostgreSQL
+public enum RollupPeriod {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String sqlName;
+
+    RollupPeriod(String sqlName) {
+        this.sqlName = sqlName;
+    }
+
+    // Value stored in workout_rollups.period
+    public String getSqlName() { return sqlName; }
+
+    // First day of the period containing date
+    public LocalDate startOf(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    public static RollupPeriod fromSqlName(String sqlName) {
+        for (RollupPeriod period : values()) {
+            if (period.sqlName.equals(sqlName)) {
+                return period;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rollup period: " + sqlName);
+    }
+}
@@ -1,10 +1,14 @@
 package model;
 
+import java.time.LocalDateTime;
+
 public abstract class Workout {
     private int id;
     private String name;
     private int durationMinutes;
     private int caloriesBurned;
+    // Set by the database on insert; null until the workout is saved or loaded
+    private LocalDateTime createdAt;
 
     public Workout(int id, String name, int durationMinutes, int caloriesBurned) {
         this.id = id;
@@ -50,4 +54,7 @@ public abstract class Workout {
 
     public int getCaloriesBurned() { return caloriesBurned; }
     public void setCaloriesBurned(int caloriesBurned) { this.caloriesBurned = caloriesBurned; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package model;
+
+// Numeric workout fields that can be queried for their minimum / maximum
+public enum WorkoutMetric {
+    DURATION,
+    CALORIES,
+    DISTANCE,    // cardio only
+    HEART_RATE,  // cardio only
+    WEIGHT       // strength only
+}
@@ -0,0 +1,65 @@
+package model;
+
+import java.time.LocalDate;
+
+// Totals for one workout type over one day, week or month (a row of workout_rollups)
+public class WorkoutRollup {
+    public static final String CARDIO = "cardio";
+    public static final String STRENGTH = "strength";
+
+    private final RollupPeriod period;
+    private final LocalDate periodStart;
+    private final String workoutType;
+    private final long workoutCount;
+    private final long totalMinutes;
+    private final long totalCalories;
+    private final double totalDistanceKm;  // 0 for strength
+    private final double totalVolumeKg;    // sets * reps * weight, 0 for cardio
+    private final int minMinutes;
+    private final int maxMinutes;
+    private final int minCalories;
+    private final int maxCalories;
+
+    public WorkoutRollup(RollupPeriod period, LocalDate periodStart, String workoutType, long workoutCount,
+                         long totalMinutes, long totalCalories, double totalDistanceKm, double totalVolumeKg,
+                         int minMinutes, int maxMinutes, int minCalories, int maxCalories) {
+        this.period = period;
+        this.periodStart = periodStart;
+        this.workoutType = workoutType;
+        this.workoutCount = workoutCount;
+        this.totalMinutes = totalMinutes;
+        this.totalCalories = totalCalories;
+        this.totalDistanceKm = totalDistanceKm;
+        this.totalVolumeKg = totalVolumeKg;
+        this.minMinutes = minMinutes;
+        this.maxMinutes = maxMinutes;
+        this.minCalories = minCalories;
+        this.maxCalories = maxCalories;
+    }
+
+    public double getAverageMinutes() { return (double) totalMinutes / workoutCount; }
+    public double getAverageCalories() { return (double) totalCalories / workoutCount; }
+
+    public void displayInfo() {
+        System.out.println("[" + period.getSqlName() + " " + periodStart + " " + workoutType + "] "
+                + workoutCount + " workouts"
+                + " | Minutes: " + totalMinutes + " (" + minMinutes + "-" + maxMinutes + ")"
+                + " | Calories: " + totalCalories + " (" + minCalories + "-" + maxCalories + ")"
+                + (CARDIO.equals(workoutType)
+                        ? " | Distance: " + String.format("%.2f", totalDistanceKm) + " km"
+                        : " | Volume: " + String.format("%.1f", totalVolumeKg) + " kg"));
+    }
+
+    public RollupPeriod getPeriod() { return period; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public String getWorkoutType() { return workoutType; }
+    public long getWorkoutCount() { return workoutCount; }
+    public long getTotalMinutes() { return totalMinutes; }
+    public long getTotalCalories() { return totalCalories; }
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public double getTotalVolumeKg() { return totalVolumeKg; }
+    public int getMinMinutes() { return minMinutes; }
+    public int getMaxMinutes() { return maxMinutes; }
+    public int getMinCalories() { return minCalories; }
+    public int getMaxCalories() { return maxCalories; }
+}
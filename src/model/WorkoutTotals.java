@@ -0,0 +1,47 @@
+package model;
+
+// All-time totals for one workout type, as kept in memory by RunningWorkoutStats
+public class WorkoutTotals {
+    private final String workoutType;
+    private final long workoutCount;
+    private final long totalMinutes;
+    private final long totalCalories;
+    private final double totalDistanceKm;  // 0 for strength
+    private final double totalVolumeKg;    // sets * reps * weight, 0 for cardio
+
+    public WorkoutTotals(String workoutType, long workoutCount, long totalMinutes, long totalCalories,
+                         double totalDistanceKm, double totalVolumeKg) {
+        this.workoutType = workoutType;
+        this.workoutCount = workoutCount;
+        this.totalMinutes = totalMinutes;
+        this.totalCalories = totalCalories;
+        this.totalDistanceKm = totalDistanceKm;
+        this.totalVolumeKg = totalVolumeKg;
+    }
+
+    // Averages are 0 while there are no workouts
+    public double getAverageMinutes() { return average(totalMinutes); }
+    public double getAverageCalories() { return average(totalCalories); }
+    public double getAverageDistanceKm() { return average(totalDistanceKm); }
+    public double getAverageVolumeKg() { return average(totalVolumeKg); }
+
+    private double average(double total) {
+        return workoutCount == 0 ? 0 : total / workoutCount;
+    }
+
+    public void displayInfo() {
+        System.out.println("[" + workoutType + " totals] " + workoutCount + " workouts"
+                + " | Minutes: " + totalMinutes + " (avg " + String.format("%.1f", getAverageMinutes()) + ")"
+                + " | Calories: " + totalCalories + " (avg " + String.format("%.1f", getAverageCalories()) + ")"
+                + (WorkoutRollup.CARDIO.equals(workoutType)
+                        ? " | Distance: " + String.format("%.2f", totalDistanceKm) + " km"
+                        : " | Volume: " + String.format("%.1f", totalVolumeKg) + " kg"));
+    }
+
+    public String getWorkoutType() { return workoutType; }
+    public long getWorkoutCount() { return workoutCount; }
+    public long getTotalMinutes() { return totalMinutes; }
+    public long getTotalCalories() { return totalCalories; }
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public double getTotalVolumeKg() { return totalVolumeKg; }
+}
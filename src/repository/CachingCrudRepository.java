@@ -0,0 +1,228 @@
+package repository;
+
+import exception.DatabaseOperationException;
+import repository.interfaces.CrudRepository;
+import utils.DatabaseConnection;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+// Decorator: read-through LRU cache in front of any CrudRepository<T>.
+// getById() is served from memory for hot ids; update(), delete() and upserts invalidate the entry.
+// Cached entities are shared instances - callers should not mutate what getById() returns
+// without writing it back through update().
+public class CachingCrudRepository<T> implements CrudRepository<T> {
+
+    protected final CrudRepository<T> delegate;
+    private final ToIntFunction<T> idOf;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Access-ordered LinkedHashMap = LRU; guarded by its own monitor
+    private final LinkedHashMap<Integer, Entry<T>> cache;
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // ttlMillis <= 0 means entries never expire (only evicted by size or invalidated by writes)
+    public CachingCrudRepository(CrudRepository<T> delegate, ToIntFunction<T> idOf, int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.delegate = delegate;
+        this.idOf = idOf;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<T>> eldest) {
+                if (size() > CachingCrudRepository.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public T getById(int id) throws DatabaseOperationException {
+        long loadGeneration;
+        synchronized (cache) {
+            Entry<T> entry = cache.get(id);
+            if (entry != null) {
+                if (ttlNanos == 0 || System.nanoTime() < entry.expiresAtNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                cache.remove(id);
+                expirations.increment();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+
+        T value = delegate.getById(id);
+        if (value != null) {
+            putIfUnchanged(id, value, loadGeneration);
+        }
+        return value;
+    }
+
+    @Override
+    public int update(int id, T entity) throws DatabaseOperationException {
+        try {
+            return delegate.update(id, entity);
+        } finally {
+            invalidateOnWrite(id);
+        }
+    }
+
+    @Override
+    public int delete(int id) throws DatabaseOperationException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            invalidateOnWrite(id);
+        }
+    }
+
+    // An upsert may have overwritten an existing (possibly cached) row
+    @Override
+    public void upsert(T entity) throws DatabaseOperationException {
+        try {
+            delegate.upsert(entity);
+        } finally {
+            invalidateOnWrite(idOf.applyAsInt(entity));
+        }
+    }
+
+    @Override
+    public void upsertAll(List<T> entities, int batchSize) throws DatabaseOperationException {
+        try {
+            delegate.upsertAll(entities, batchSize);
+        } finally {
+            for (T entity : entities) {
+                invalidateOnWrite(idOf.applyAsInt(entity));
+            }
+        }
+    }
+
+    // ==================== PASS-THROUGH ====================
+
+    @Override
+    public void create(T entity) throws DatabaseOperationException {
+        delegate.create(entity);
+    }
+
+    @Override
+    public void createAll(List<T> entities, int batchSize) throws DatabaseOperationException {
+        delegate.createAll(entities, batchSize);
+    }
+
+    @Override
+    public List<T> getAll() throws DatabaseOperationException {
+        return delegate.getAll();
+    }
+
+    @Override
+    public Stream<T> streamAll() throws DatabaseOperationException {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public T findByName(String name) throws DatabaseOperationException {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public List<T> getPage(int afterId, int limit) throws DatabaseOperationException {
+        return delegate.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<T> getPageDesc(int beforeId, int limit) throws DatabaseOperationException {
+        return delegate.getPageDesc(beforeId, limit);
+    }
+
+    // ==================== CACHE MANAGEMENT ====================
+
+    private void putIfUnchanged(int id, T value, long loadGeneration) {
+        long expiresAt = ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos;
+        synchronized (cache) {
+            if (generation == loadGeneration) {
+                cache.put(id, new Entry<>(value, expiresAt));
+            }
+        }
+    }
+
+    // Inside a transaction other threads still see the old row until commit,
+    // so drop the entry again once the transaction ends
+    protected void invalidateOnWrite(int id) {
+        invalidate(id);
+        if (DatabaseConnection.isInTransaction()) {
+            DatabaseConnection.runAfterTransaction(() -> invalidate(id));
+        }
+    }
+
+    public void invalidate(int id) {
+        synchronized (cache) {
+            generation++;
+            if (cache.remove(id) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            generation++;
+            invalidations.add(cache.size());
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public long getExpirationCount() { return expirations.sum(); }
+    public long getInvalidationCount() { return invalidations.sum(); }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : h / (double) total;
+    }
+
+    public String getStats() {
+        return String.format("Cache[size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d, invalidations=%d]",
+                size(), maxSize, getHitCount(), getMissCount(), getHitRate() * 100,
+                getEvictionCount(), getExpirationCount(), getInvalidationCount());
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAtNanos;
+
+        private Entry(T value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
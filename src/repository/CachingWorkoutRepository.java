@@ -0,0 +1,79 @@
+package repository;
+
+import exception.DatabaseOperationException;
+import model.Workout;
+import model.WorkoutMetric;
+import repository.interfaces.WorkoutRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// CachingCrudRepository for workouts: caches by Workout.getId() and forwards the workout-specific queries to the wrapped repository
+public class CachingWorkoutRepository<T extends Workout> extends CachingCrudRepository<T>
+        implements WorkoutRepository<T> {
+
+    private final WorkoutRepository<T> workoutDelegate;
+
+    public CachingWorkoutRepository(WorkoutRepository<T> delegate, int maxSize, long ttlMillis) {
+        super(delegate, Workout::getId, maxSize, ttlMillis);
+        this.workoutDelegate = delegate;
+    }
+
+    @Override
+    public T findMin(WorkoutMetric metric) throws DatabaseOperationException {
+        return workoutDelegate.findMin(metric);
+    }
+
+    @Override
+    public T findMax(WorkoutMetric metric) throws DatabaseOperationException {
+        return workoutDelegate.findMax(metric);
+    }
+
+    @Override
+    public List<T> findBetween(LocalDateTime from, LocalDateTime to) throws DatabaseOperationException {
+        return workoutDelegate.findBetween(from, to);
+    }
+
+    @Override
+    public List<T> findSince(LocalDateTime since) throws DatabaseOperationException {
+        return workoutDelegate.findSince(since);
+    }
+
+    @Override
+    public T updateReturningPrevious(int id, T entity) throws DatabaseOperationException {
+        try {
+            return workoutDelegate.updateReturningPrevious(id, entity);
+        } finally {
+            invalidateOnWrite(id);
+        }
+    }
+
+    @Override
+    public T deleteReturningPrevious(int id) throws DatabaseOperationException {
+        try {
+            return workoutDelegate.deleteReturningPrevious(id);
+        } finally {
+            invalidateOnWrite(id);
+        }
+    }
+
+    @Override
+    public T upsertReturningPrevious(T entity) throws DatabaseOperationException {
+        try {
+            return workoutDelegate.upsertReturningPrevious(entity);
+        } finally {
+            invalidateOnWrite(entity.getId());
+        }
+    }
+
+    @Override
+    public List<T> upsertAllReturningPrevious(List<T> entities, int batchSize) throws DatabaseOperationException {
+        try {
+            return workoutDelegate.upsertAllReturningPrevious(entities, batchSize);
+        } finally {
+            for (T entity : entities) {
+                invalidateOnWrite(entity.getId());
+            }
+        }
+    }
+}
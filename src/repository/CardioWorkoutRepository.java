@@ -1,39 +1,86 @@
 package repository;
 
 import model.CardioWorkout;
-import repository.interfaces.CrudRepository;
+import model.WorkoutMetric;
+import repository.interfaces.RowMapper;
+import repository.interfaces.WorkoutRepository;
 import utils.DatabaseConnection;
 import exception.DatabaseOperationException;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
-// Implements generic CrudRepository<CardioWorkout>
-public class CardioWorkoutRepository implements CrudRepository<CardioWorkout> {
+// Implements generic CrudRepository<CardioWorkout> via WorkoutRepository
+public class CardioWorkoutRepository implements WorkoutRepository<CardioWorkout> {
+
+    // Filled in by the database on insert and read back through getGeneratedKeys()
+    private static final String[] GENERATED_COLUMNS = {"id", "created_at"};
+
+    // Conflict target is the unique LOWER(name) index; the incoming row overwrites the stored one
+    private static final String UPSERT_CLAUSE = "ON CONFLICT (LOWER(name)) DO UPDATE SET "
+            + "name = EXCLUDED.name, "
+            + "duration_minutes = EXCLUDED.duration_minutes, "
+            + "calories_burned = EXCLUDED.calories_burned, "
+            + "distance_km = EXCLUDED.distance_km, "
+            + "average_heart_rate = EXCLUDED.average_heart_rate "
+            + "RETURNING id, name, created_at";
 
     @Override
     public void create(CardioWorkout workout) throws DatabaseOperationException {
         String sql = "INSERT INTO cardio_workouts (name, duration_minutes, calories_burned, distance_km, average_heart_rate) VALUES (?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, GENERATED_COLUMNS)) {
 
-            stmt.setString(1, workout.getName());
-            stmt.setInt(2, workout.getDurationMinutes());
-            stmt.setInt(3, workout.getCaloriesBurned());
-            stmt.setDouble(4, workout.getDistanceKm());
-            stmt.setInt(5, workout.getAverageHeartRate());
+            setInsertParams(stmt, 1, workout);
             stmt.executeUpdate();
 
             ResultSet rs = stmt.getGeneratedKeys();
             if (rs.next()) {
                 workout.setId(rs.getInt(1));
+                workout.setCreatedAt(rs.getObject(2, LocalDateTime.class));
             }
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error creating cardio workout", e);
         }
     }
 
+    @Override
+    public void createAll(List<CardioWorkout> workouts, int batchSize) throws DatabaseOperationException {
+        JdbcBatchInserts.createAll(workouts, batchSize,
+                "INSERT INTO cardio_workouts (name, duration_minutes, calories_burned, distance_km, average_heart_rate) VALUES (?, ?, ?, ?, ?)",
+                this::setInsertParams, CardioWorkout::setId, CardioWorkout::setCreatedAt,
+                "Error creating cardio workouts in batch");
+    }
+
+    @Override
+    public void upsert(CardioWorkout workout) throws DatabaseOperationException {
+        String sql = "INSERT INTO cardio_workouts (name, duration_minutes, calories_burned, distance_km, average_heart_rate) VALUES (?, ?, ?, ?, ?) " + UPSERT_CLAUSE;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            setInsertParams(stmt, 1, workout);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    workout.setId(rs.getInt("id"));
+                    workout.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error upserting cardio workout", e);
+        }
+    }
+
+    @Override
+    public void upsertAll(List<CardioWorkout> workouts, int batchSize) throws DatabaseOperationException {
+        JdbcUpserts.upsertAll(workouts, batchSize,
+                "INSERT INTO cardio_workouts (name, duration_minutes, calories_burned, distance_km, average_heart_rate)", 5, UPSERT_CLAUSE,
+                this::setInsertParams, CardioWorkout::getName, CardioWorkout::setId, CardioWorkout::setCreatedAt,
+                "Error upserting cardio workouts in batch");
+    }
+
     @Override
     public List<CardioWorkout> getAll() throws DatabaseOperationException {
         List<CardioWorkout> list = new ArrayList<>();
@@ -51,6 +98,12 @@ public class CardioWorkoutRepository implements CrudRepository<CardioWorkout> {
         return list;
     }
 
+    @Override
+    public Stream<CardioWorkout> streamAll() throws DatabaseOperationException {
+        String sql = "SELECT * FROM cardio_workouts";
+        return JdbcStreams.stream(sql, DEFAULT_FETCH_SIZE, this::mapRow, "Error streaming cardio workouts");
+    }
+
     @Override
     public CardioWorkout getById(int id) throws DatabaseOperationException {
         String sql = "SELECT * FROM cardio_workouts WHERE id = ?";
@@ -69,7 +122,65 @@ public class CardioWorkoutRepository implements CrudRepository<CardioWorkout> {
     }
 
     @Override
-    public void update(int id, CardioWorkout workout) throws DatabaseOperationException {
+    public CardioWorkout findByName(String name) throws DatabaseOperationException {
+        String sql = "SELECT * FROM cardio_workouts WHERE LOWER(name) = LOWER(?)";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, name);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return mapRow(rs);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error fetching cardio workout by name", e);
+        }
+        return null;
+    }
+
+    // Seeks on the primary key index, so every page costs the same however deep it is
+    @Override
+    public List<CardioWorkout> getPage(int afterId, int limit) throws DatabaseOperationException {
+        String sql = "SELECT * FROM cardio_workouts WHERE id > ? ORDER BY id LIMIT ?";
+        return queryPage(sql, afterId, limit, "Error fetching cardio workouts page");
+    }
+
+    @Override
+    public List<CardioWorkout> getPageDesc(int beforeId, int limit) throws DatabaseOperationException {
+        String sql = "SELECT * FROM cardio_workouts WHERE id < ? ORDER BY id DESC LIMIT ?";
+        int from = beforeId <= 0 ? Integer.MAX_VALUE : beforeId;
+        return queryPage(sql, from, limit, "Error fetching cardio workouts page");
+    }
+
+    // ORDER BY ... LIMIT 1 walks the (metric, id) index from one end instead of scanning the table
+    @Override
+    public CardioWorkout findMin(WorkoutMetric metric) throws DatabaseOperationException {
+        String column = columnFor(metric);
+        String sql = "SELECT * FROM cardio_workouts ORDER BY " + column + " ASC, id ASC LIMIT 1";
+        return queryFirst(sql, "Error fetching cardio workout with minimum " + column);
+    }
+
+    @Override
+    public CardioWorkout findMax(WorkoutMetric metric) throws DatabaseOperationException {
+        String column = columnFor(metric);
+        String sql = "SELECT * FROM cardio_workouts ORDER BY " + column + " DESC, id DESC LIMIT 1";
+        return queryFirst(sql, "Error fetching cardio workout with maximum " + column);
+    }
+
+    @Override
+    public List<CardioWorkout> findBetween(LocalDateTime from, LocalDateTime to) throws DatabaseOperationException {
+        String sql = "SELECT * FROM cardio_workouts WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id";
+        return queryByCreatedAt(sql, "Error fetching cardio workouts by date range", from, to);
+    }
+
+    @Override
+    public List<CardioWorkout> findSince(LocalDateTime since) throws DatabaseOperationException {
+        String sql = "SELECT * FROM cardio_workouts WHERE created_at >= ? ORDER BY created_at, id";
+        return queryByCreatedAt(sql, "Error fetching cardio workouts since " + since, since);
+    }
+
+    @Override
+    public int update(int id, CardioWorkout workout) throws DatabaseOperationException {
         String sql = "UPDATE cardio_workouts SET name = ?, duration_minutes = ?, calories_burned = ?, distance_km = ?, average_heart_rate = ? WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -80,28 +191,162 @@ public class CardioWorkoutRepository implements CrudRepository<CardioWorkout> {
             stmt.setDouble(4, workout.getDistanceKm());
             stmt.setInt(5, workout.getAverageHeartRate());
             stmt.setInt(6, id);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error updating cardio workout", e);
         }
     }
 
     @Override
-    public void delete(int id) throws DatabaseOperationException {
+    public int delete(int id) throws DatabaseOperationException {
         String sql = "DELETE FROM cardio_workouts WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error deleting cardio workout", e);
+        }
+    }
+
+    // ==================== WRITES RETURNING THE PREVIOUS ROW ====================
+
+    // The old row is locked by the sub-select, so RETURNING old.* is exactly what this UPDATE replaced
+    @Override
+    public CardioWorkout updateReturningPrevious(int id, CardioWorkout workout) throws DatabaseOperationException {
+        String sql = "UPDATE cardio_workouts w SET name = ?, duration_minutes = ?, calories_burned = ?, distance_km = ?, average_heart_rate = ? "
+                + "FROM (SELECT * FROM cardio_workouts WHERE id = ? FOR UPDATE) old "
+                + "WHERE w.id = old.id RETURNING old.*";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            setInsertParams(stmt, 1, workout);
+            stmt.setInt(6, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error updating cardio workout", e);
+        }
+    }
+
+    @Override
+    public CardioWorkout deleteReturningPrevious(int id) throws DatabaseOperationException {
+        String sql = "DELETE FROM cardio_workouts WHERE id = ? RETURNING *";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error deleting cardio workout", e);
         }
     }
 
+    // Locks the existing row first, then upserts; see JdbcUpserts.upsertAllReturningPrevious
+    @Override
+    public CardioWorkout upsertReturningPrevious(CardioWorkout workout) throws DatabaseOperationException {
+        List<CardioWorkout> previous = JdbcUpserts.upsertAllReturningPrevious(List.of(workout), 1, "cardio_workouts",
+                "INSERT INTO cardio_workouts (name, duration_minutes, calories_burned, distance_km, average_heart_rate)", 5, UPSERT_CLAUSE,
+                this::setInsertParams, CardioWorkout::getName, CardioWorkout::setId, CardioWorkout::setCreatedAt, this::mapRow,
+                "Error upserting cardio workout");
+        return previous.isEmpty() ? null : previous.get(0);
+    }
+
+    @Override
+    public List<CardioWorkout> upsertAllReturningPrevious(List<CardioWorkout> workouts, int batchSize) throws DatabaseOperationException {
+        return JdbcUpserts.upsertAllReturningPrevious(workouts, batchSize, "cardio_workouts",
+                "INSERT INTO cardio_workouts (name, duration_minutes, calories_burned, distance_km, average_heart_rate)", 5, UPSERT_CLAUSE,
+                this::setInsertParams, CardioWorkout::getName, CardioWorkout::setId, CardioWorkout::setCreatedAt, this::mapRow,
+                "Error upserting cardio workouts in batch");
+    }
+
+    private List<CardioWorkout> queryPage(String sql, int boundaryId, int limit, String errorMessage)
+            throws DatabaseOperationException {
+        List<CardioWorkout> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, boundaryId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        return list;
+    }
+
+    // Range scan on the (created_at, id) index; bounds are bound in order
+    private List<CardioWorkout> queryByCreatedAt(String sql, String errorMessage, LocalDateTime... bounds)
+            throws DatabaseOperationException {
+        List<CardioWorkout> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < bounds.length; i++) {
+                stmt.setObject(i + 1, bounds[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        return list;
+    }
+
+    private CardioWorkout queryFirst(String sql, String errorMessage) throws DatabaseOperationException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return mapRow(rs);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        return null;
+    }
+
+    // Whitelist of sortable columns - metric names never reach the SQL string directly
+    private String columnFor(WorkoutMetric metric) {
+        switch (metric) {
+            case DURATION: return "duration_minutes";
+            case CALORIES: return "calories_burned";
+            case DISTANCE: return "distance_km";
+            case HEART_RATE: return "average_heart_rate";
+            default: throw new IllegalArgumentException("CardioWorkout has no " + metric + " metric");
+        }
+    }
+
+    // Binds the INSERT parameters (in column order) starting at firstIndex.
+    // Shared by create, createAll, upsert and upsertAll.
+    private void setInsertParams(PreparedStatement stmt, int firstIndex, CardioWorkout workout) throws SQLException {
+        stmt.setString(firstIndex, workout.getName());
+        stmt.setInt(firstIndex + 1, workout.getDurationMinutes());
+        stmt.setInt(firstIndex + 2, workout.getCaloriesBurned());
+        stmt.setDouble(firstIndex + 3, workout.getDistanceKm());
+        stmt.setInt(firstIndex + 4, workout.getAverageHeartRate());
+    }
+
+    // The row mapper used by every query here, for callers that read rows themselves (e.g. benchmarks)
+    public RowMapper<CardioWorkout> rowMapper() {
+        return this::mapRow;
+    }
+
     // Helper method to map ResultSet row to CardioWorkout object
     private CardioWorkout mapRow(ResultSet rs) throws SQLException {
-        return new CardioWorkout(
+        CardioWorkout workout = new CardioWorkout(
                 rs.getInt("id"),
                 rs.getString("name"),
                 rs.getInt("duration_minutes"),
@@ -109,5 +354,7 @@ public class CardioWorkoutRepository implements CrudRepository<CardioWorkout> {
                 rs.getDouble("distance_km"),
                 rs.getInt("average_heart_rate")
         );
+        workout.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return workout;
     }
-}
\ No newline at end of file
+}
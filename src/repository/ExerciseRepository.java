@@ -2,24 +2,31 @@ package repository;
 
 import model.Exercise;
 import repository.interfaces.CrudRepository;
+import repository.interfaces.RowMapper;
 import utils.DatabaseConnection;
 import exception.DatabaseOperationException;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ExerciseRepository implements CrudRepository<Exercise> {
 
+    // Conflict target is the unique LOWER(name) index; the incoming row overwrites the stored one
+    private static final String UPSERT_CLAUSE = "ON CONFLICT (LOWER(name)) DO UPDATE SET "
+            + "name = EXCLUDED.name, "
+            + "muscle_group = EXCLUDED.muscle_group, "
+            + "equipment_needed = EXCLUDED.equipment_needed "
+            + "RETURNING id, name";
+
     @Override
     public void create(Exercise exercise) throws DatabaseOperationException {
         String sql = "INSERT INTO exercises (name, muscle_group, equipment_needed) VALUES (?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setString(1, exercise.getName());
-            stmt.setString(2, exercise.getMuscleGroup());
-            stmt.setString(3, exercise.getEquipmentNeeded());
+            setInsertParams(stmt, 1, exercise);
             stmt.executeUpdate();
 
             ResultSet rs = stmt.getGeneratedKeys();
@@ -31,6 +38,39 @@ public class ExerciseRepository implements CrudRepository<Exercise> {
         }
     }
 
+    @Override
+    public void createAll(List<Exercise> exercises, int batchSize) throws DatabaseOperationException {
+        JdbcBatchInserts.createAll(exercises, batchSize,
+                "INSERT INTO exercises (name, muscle_group, equipment_needed) VALUES (?, ?, ?)",
+                this::setInsertParams, Exercise::setId, null,
+                "Error creating exercises in batch");
+    }
+
+    @Override
+    public void upsert(Exercise exercise) throws DatabaseOperationException {
+        String sql = "INSERT INTO exercises (name, muscle_group, equipment_needed) VALUES (?, ?, ?) " + UPSERT_CLAUSE;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            setInsertParams(stmt, 1, exercise);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    exercise.setId(rs.getInt("id"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error upserting exercise", e);
+        }
+    }
+
+    @Override
+    public void upsertAll(List<Exercise> exercises, int batchSize) throws DatabaseOperationException {
+        JdbcUpserts.upsertAll(exercises, batchSize,
+                "INSERT INTO exercises (name, muscle_group, equipment_needed)", 3, UPSERT_CLAUSE,
+                this::setInsertParams, Exercise::getName, Exercise::setId, null,
+                "Error upserting exercises in batch");
+    }
+
     @Override
     public List<Exercise> getAll() throws DatabaseOperationException {
         List<Exercise> list = new ArrayList<>();
@@ -48,6 +88,12 @@ public class ExerciseRepository implements CrudRepository<Exercise> {
         return list;
     }
 
+    @Override
+    public Stream<Exercise> streamAll() throws DatabaseOperationException {
+        String sql = "SELECT * FROM exercises";
+        return JdbcStreams.stream(sql, DEFAULT_FETCH_SIZE, this::mapRow, "Error streaming exercises");
+    }
+
     @Override
     public Exercise getById(int id) throws DatabaseOperationException {
         String sql = "SELECT * FROM exercises WHERE id = ?";
@@ -66,7 +112,38 @@ public class ExerciseRepository implements CrudRepository<Exercise> {
     }
 
     @Override
-    public void update(int id, Exercise exercise) throws DatabaseOperationException {
+    public Exercise findByName(String name) throws DatabaseOperationException {
+        String sql = "SELECT * FROM exercises WHERE LOWER(name) = LOWER(?)";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, name);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return mapRow(rs);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error fetching exercise by name", e);
+        }
+        return null;
+    }
+
+    // Seeks on the primary key index, so every page costs the same however deep it is
+    @Override
+    public List<Exercise> getPage(int afterId, int limit) throws DatabaseOperationException {
+        String sql = "SELECT * FROM exercises WHERE id > ? ORDER BY id LIMIT ?";
+        return queryPage(sql, afterId, limit, "Error fetching exercises page");
+    }
+
+    @Override
+    public List<Exercise> getPageDesc(int beforeId, int limit) throws DatabaseOperationException {
+        String sql = "SELECT * FROM exercises WHERE id < ? ORDER BY id DESC LIMIT ?";
+        int from = beforeId <= 0 ? Integer.MAX_VALUE : beforeId;
+        return queryPage(sql, from, limit, "Error fetching exercises page");
+    }
+
+    @Override
+    public int update(int id, Exercise exercise) throws DatabaseOperationException {
         String sql = "UPDATE exercises SET name = ?, muscle_group = ?, equipment_needed = ? WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -75,25 +152,57 @@ public class ExerciseRepository implements CrudRepository<Exercise> {
             stmt.setString(2, exercise.getMuscleGroup());
             stmt.setString(3, exercise.getEquipmentNeeded());
             stmt.setInt(4, id);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error updating exercise", e);
         }
     }
 
     @Override
-    public void delete(int id) throws DatabaseOperationException {
+    public int delete(int id) throws DatabaseOperationException {
         String sql = "DELETE FROM exercises WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error deleting exercise", e);
         }
     }
 
+    private List<Exercise> queryPage(String sql, int boundaryId, int limit, String errorMessage)
+            throws DatabaseOperationException {
+        List<Exercise> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, boundaryId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        return list;
+    }
+
+    // Binds the INSERT parameters (in column order) starting at firstIndex.
+    // Shared by create, createAll, upsert and upsertAll.
+    private void setInsertParams(PreparedStatement stmt, int firstIndex, Exercise exercise) throws SQLException {
+        stmt.setString(firstIndex, exercise.getName());
+        stmt.setString(firstIndex + 1, exercise.getMuscleGroup());
+        stmt.setString(firstIndex + 2, exercise.getEquipmentNeeded());
+    }
+
+    // The row mapper used by every query here, for callers that read rows themselves (e.g. benchmarks)
+    public RowMapper<Exercise> rowMapper() {
+        return this::mapRow;
+    }
+
     private Exercise mapRow(ResultSet rs) throws SQLException {
         return new Exercise(
                 rs.getInt("id"),
@@ -103,15 +212,3 @@ public class ExerciseRepository implements CrudRepository<Exercise> {
         );
     }
 }
-
-
-
-
-
-
-
-
-
-
-
-
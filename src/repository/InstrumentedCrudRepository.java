@@ -0,0 +1,141 @@
+package repository;
+
+import exception.DatabaseOperationException;
+import metrics.OperationStats;
+import metrics.RepositoryMetrics;
+import repository.interfaces.CrudRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Decorator: times every call on any CrudRepository<T> and records it in RepositoryMetrics -
+// latency histogram (p50/p99/p999), calls, errors by exception type and rows.
+// Rows are what reads returned or writes touched; streamAll() counts rows as the stream is consumed
+// and its latency covers opening the cursor only.
+// The metrics are visible over JMX and through MetricsReporter; services keep using the plain interface.
+public class InstrumentedCrudRepository<T> implements CrudRepository<T> {
+
+    protected final CrudRepository<T> delegate;
+    protected final RepositoryMetrics metrics;
+
+    public InstrumentedCrudRepository(CrudRepository<T> delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public RepositoryMetrics getMetrics() {
+        return metrics;
+    }
+
+    // ==================== WRITES ====================
+
+    @Override
+    public void create(T entity) throws DatabaseOperationException {
+        timed("create", () -> {
+            delegate.create(entity);
+            return 1;
+        }, rows -> rows);
+    }
+
+    @Override
+    public void createAll(List<T> entities, int batchSize) throws DatabaseOperationException {
+        timed("createAll", () -> {
+            delegate.createAll(entities, batchSize);
+            return entities.size();
+        }, rows -> rows);
+    }
+
+    @Override
+    public void upsert(T entity) throws DatabaseOperationException {
+        timed("upsert", () -> {
+            delegate.upsert(entity);
+            return 1;
+        }, rows -> rows);
+    }
+
+    @Override
+    public void upsertAll(List<T> entities, int batchSize) throws DatabaseOperationException {
+        timed("upsertAll", () -> {
+            delegate.upsertAll(entities, batchSize);
+            return entities.size();
+        }, rows -> rows);
+    }
+
+    @Override
+    public int update(int id, T entity) throws DatabaseOperationException {
+        return timed("update", () -> delegate.update(id, entity), rows -> rows);
+    }
+
+    @Override
+    public int delete(int id) throws DatabaseOperationException {
+        return timed("delete", () -> delegate.delete(id), rows -> rows);
+    }
+
+    // ==================== READS ====================
+
+    @Override
+    public List<T> getAll() throws DatabaseOperationException {
+        return timed("getAll", delegate::getAll, List::size);
+    }
+
+    @Override
+    public Stream<T> streamAll() throws DatabaseOperationException {
+        OperationStats stats = metrics.operation("streamAll");
+        Stream<T> stream = timed("streamAll", delegate::streamAll, s -> 0);
+        LongAdder rows = new LongAdder();
+        return stream.peek(row -> rows.increment())
+                .onClose(() -> stats.addRows(rows.sum()));
+    }
+
+    @Override
+    public T getById(int id) throws DatabaseOperationException {
+        return timed("getById", () -> delegate.getById(id), InstrumentedCrudRepository::oneIfFound);
+    }
+
+    @Override
+    public T findByName(String name) throws DatabaseOperationException {
+        return timed("findByName", () -> delegate.findByName(name), InstrumentedCrudRepository::oneIfFound);
+    }
+
+    @Override
+    public List<T> getPage(int afterId, int limit) throws DatabaseOperationException {
+        return timed("getPage", () -> delegate.getPage(afterId, limit), List::size);
+    }
+
+    @Override
+    public List<T> getPageDesc(int beforeId, int limit) throws DatabaseOperationException {
+        return timed("getPageDesc", () -> delegate.getPageDesc(beforeId, limit), List::size);
+    }
+
+    // ==================== TIMING ====================
+
+    protected <R> R timed(String operation, Call<R> call, RowCount<? super R> rowCount)
+            throws DatabaseOperationException {
+        OperationStats stats = metrics.operation(operation);
+        long start = System.nanoTime();
+        R result;
+        try {
+            result = call.call();
+        } catch (DatabaseOperationException | RuntimeException e) {
+            stats.recordFailure(System.nanoTime() - start, e);
+            throw e;
+        }
+        stats.recordSuccess(System.nanoTime() - start, rowCount.rows(result));
+        return result;
+    }
+
+    protected static int oneIfFound(Object row) {
+        return row == null ? 0 : 1;
+    }
+
+    @FunctionalInterface
+    protected interface Call<R> {
+        R call() throws DatabaseOperationException;
+    }
+
+    @FunctionalInterface
+    protected interface RowCount<R> {
+        int rows(R result);
+    }
+}
@@ -0,0 +1,63 @@
+package repository;
+
+import exception.DatabaseOperationException;
+import metrics.RepositoryMetrics;
+import model.Workout;
+import model.WorkoutMetric;
+import repository.interfaces.WorkoutRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// InstrumentedCrudRepository for workouts: also times the workout-specific queries
+public class InstrumentedWorkoutRepository<T extends Workout> extends InstrumentedCrudRepository<T>
+        implements WorkoutRepository<T> {
+
+    private final WorkoutRepository<T> workoutDelegate;
+
+    public InstrumentedWorkoutRepository(WorkoutRepository<T> delegate, RepositoryMetrics metrics) {
+        super(delegate, metrics);
+        this.workoutDelegate = delegate;
+    }
+
+    @Override
+    public T findMin(WorkoutMetric metric) throws DatabaseOperationException {
+        return timed("findMin", () -> workoutDelegate.findMin(metric), InstrumentedCrudRepository::oneIfFound);
+    }
+
+    @Override
+    public T findMax(WorkoutMetric metric) throws DatabaseOperationException {
+        return timed("findMax", () -> workoutDelegate.findMax(metric), InstrumentedCrudRepository::oneIfFound);
+    }
+
+    @Override
+    public List<T> findBetween(LocalDateTime from, LocalDateTime to) throws DatabaseOperationException {
+        return timed("findBetween", () -> workoutDelegate.findBetween(from, to), List::size);
+    }
+
+    @Override
+    public List<T> findSince(LocalDateTime since) throws DatabaseOperationException {
+        return timed("findSince", () -> workoutDelegate.findSince(since), List::size);
+    }
+
+    // Recorded under the same operation names as the plain writes they stand in for
+    @Override
+    public T updateReturningPrevious(int id, T entity) throws DatabaseOperationException {
+        return timed("update", () -> workoutDelegate.updateReturningPrevious(id, entity), InstrumentedCrudRepository::oneIfFound);
+    }
+
+    @Override
+    public T deleteReturningPrevious(int id) throws DatabaseOperationException {
+        return timed("delete", () -> workoutDelegate.deleteReturningPrevious(id), InstrumentedCrudRepository::oneIfFound);
+    }
+
+    @Override
+    public T upsertReturningPrevious(T entity) throws DatabaseOperationException {
+        return timed("upsert", () -> workoutDelegate.upsertReturningPrevious(entity), previous -> 1);
+    }
+
+    @Override
+    public List<T> upsertAllReturningPrevious(List<T> entities, int batchSize) throws DatabaseOperationException {
+        return timed("upsertAll", () -> workoutDelegate.upsertAllReturningPrevious(entities, batchSize), previous -> entities.size());
+    }
+}
@@ -0,0 +1,88 @@
+package repository;
+
+import exception.DatabaseOperationException;
+import utils.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+
+// Batched INSERT ... VALUES (?, ...): rows are sent with addBatch / executeBatch, batchSize per round trip,
+// all inside one transaction. Generated ids (and created_at, if the table has it) are read back per batch
+// and handed to the entities once the transaction has committed.
+final class JdbcBatchInserts {
+
+    private JdbcBatchInserts() {
+    }
+
+    // createdAtSetter is null for tables without a created_at column
+    static <T> void createAll(List<T> entities, int batchSize, String sql, JdbcUpserts.ParamBinder<T> binder,
+                              ObjIntConsumer<T> idSetter, BiConsumer<T, LocalDateTime> createdAtSetter,
+                              String errorMessage) throws DatabaseOperationException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        String[] generatedColumns = createdAtSetter == null ? new String[]{"id"} : new String[]{"id", "created_at"};
+        int[] ids = new int[entities.size()];
+        LocalDateTime[] createdAt = new LocalDateTime[entities.size()];
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // Join the caller's transaction if there is one, otherwise run our own
+            boolean ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(sql, generatedColumns)) {
+                int batchStart = 0;
+                for (int i = 0; i < entities.size(); i++) {
+                    binder.bind(stmt, 1, entities.get(i));
+                    stmt.addBatch();
+
+                    if (i - batchStart + 1 == batchSize || i == entities.size() - 1) {
+                        stmt.executeBatch();
+                        // Keys come back in the order the rows were added to the batch
+                        try (ResultSet rs = stmt.getGeneratedKeys()) {
+                            int j = batchStart;
+                            while (j <= i && rs.next()) {
+                                ids[j] = rs.getInt(1);
+                                if (createdAtSetter != null) {
+                                    createdAt[j] = rs.getObject(2, LocalDateTime.class);
+                                }
+                                j++;
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+                if (ownTransaction) {
+                    conn.commit();
+                }
+            } catch (SQLException e) {
+                if (ownTransaction) {
+                    conn.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        // Only hand out ids once the rows are committed
+        for (int i = 0; i < ids.length; i++) {
+            idSetter.accept(entities.get(i), ids[i]);
+            if (createdAtSetter != null) {
+                createdAtSetter.accept(entities.get(i), createdAt[i]);
+            }
+        }
+    }
+}
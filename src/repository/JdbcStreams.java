@@ -0,0 +1,124 @@
+package repository;
+
+import exception.DatabaseOperationException;
+import exception.UncheckedDatabaseOperationException;
+import repository.interfaces.RowMapper;
+import utils.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Turns a query into a lazily-read Stream backed by a server-side cursor.
+// The PostgreSQL driver only fetches in chunks of fetchSize when autocommit is off,
+// otherwise it reads the whole result into memory on executeQuery().
+final class JdbcStreams {
+
+    private JdbcStreams() {
+    }
+
+    static <T> Stream<T> stream(String sql, int fetchSize, RowMapper<T> mapper, String errorMessage,
+                                Object... params) throws DatabaseOperationException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        boolean ownTransaction = false;
+        try {
+            conn = DatabaseConnection.getConnection();
+            ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            Cursor<T> cursor = new Cursor<>(conn, stmt, rs, ownTransaction, mapper, errorMessage);
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            closeQuietly(conn, stmt, null, ownTransaction);
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+    }
+
+    private static void closeQuietly(Connection conn, PreparedStatement stmt, ResultSet rs, boolean ownTransaction) {
+        try {
+            if (rs != null) rs.close();
+        } catch (SQLException ignored) {
+        }
+        try {
+            if (stmt != null) stmt.close();
+        } catch (SQLException ignored) {
+        }
+        if (conn != null) {
+            try {
+                if (ownTransaction) {
+                    // Read-only cursor transaction: nothing to keep
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException ignored) {
+            } finally {
+                try {
+                    conn.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+
+    // Reads one row per tryAdvance and releases the connection when exhausted or closed
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final boolean ownTransaction;
+        private final RowMapper<T> mapper;
+        private final String errorMessage;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private Cursor(Connection conn, PreparedStatement stmt, ResultSet rs, boolean ownTransaction,
+                       RowMapper<T> mapper, String errorMessage) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.ownTransaction = ownTransaction;
+            this.mapper = mapper;
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed.get()) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapper.mapRow(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new UncheckedDatabaseOperationException(new DatabaseOperationException(errorMessage, e));
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                closeQuietly(conn, stmt, rs, ownTransaction);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package repository;
+
+import exception.DatabaseOperationException;
+import repository.interfaces.RowMapper;
+import utils.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+// Multi-row INSERT ... ON CONFLICT (LOWER(name)) DO UPDATE ... RETURNING id, name.
+// Sends one statement per chunk of rows, all inside one transaction.
+final class JdbcUpserts {
+
+    // PostgreSQL's wire protocol allows at most this many bind parameters in one statement
+    static final int MAX_BIND_PARAMS = 65535;
+    // Redos of a returning-previous chunk that raced with concurrent inserts of the same names
+    private static final int MAX_RACE_RETRIES = 3;
+
+    // Binds one entity's columns starting at parameter index firstIndex
+    @FunctionalInterface
+    interface ParamBinder<T> {
+        void bind(PreparedStatement stmt, int firstIndex, T entity) throws SQLException;
+    }
+
+    private JdbcUpserts() {
+    }
+
+    // insertPrefix:  "INSERT INTO table (col1, ..., colN)"
+    // conflictClause: "ON CONFLICT (LOWER(name)) DO UPDATE SET ... RETURNING id, name[, created_at]"
+    // createdAtSetter is null for tables without a created_at column
+    static <T> void upsertAll(List<T> entities, int batchSize,
+                              String insertPrefix, int paramsPerRow, String conflictClause,
+                              ParamBinder<T> binder, Function<T, String> nameOf, ObjIntConsumer<T> idSetter,
+                              BiConsumer<T, LocalDateTime> createdAtSetter,
+                              String errorMessage) throws DatabaseOperationException {
+        upsertAll(entities, batchSize, insertPrefix, paramsPerRow, conflictClause, binder, nameOf, idSetter,
+                createdAtSetter, null, null, errorMessage);
+    }
+
+    // Same, and also returns the rows as they were before being overwritten (inserted rows have none).
+    // Each chunk runs two statements in the transaction: first
+    //   SELECT * FROM table WHERE LOWER(name) IN (...) FOR UPDATE
+    // to read and lock the rows about to be overwritten, then the upsert, whose RETURNING also reports
+    // (xmax <> 0), i.e. whether it updated an existing row. A data-modifying CTE can't do this: sibling
+    // CTEs share one snapshot and run in no defined order, so the old rows could be missed.
+    // If a row the SELECT did not see was updated anyway (another transaction inserted that name in
+    // between), the chunk is rolled back to a savepoint and redone; the new SELECT then sees that row.
+    static <T> List<T> upsertAllReturningPrevious(List<T> entities, int batchSize, String table,
+                                                  String insertPrefix, int paramsPerRow, String conflictClause,
+                                                  ParamBinder<T> binder, Function<T, String> nameOf,
+                                                  ObjIntConsumer<T> idSetter, BiConsumer<T, LocalDateTime> createdAtSetter,
+                                                  RowMapper<T> previousMapper,
+                                                  String errorMessage) throws DatabaseOperationException {
+        return upsertAll(entities, batchSize, insertPrefix, paramsPerRow, conflictClause, binder, nameOf, idSetter,
+                createdAtSetter, table, previousMapper, errorMessage);
+    }
+
+    private static <T> List<T> upsertAll(List<T> entities, int batchSize,
+                                         String insertPrefix, int paramsPerRow, String conflictClause,
+                                         ParamBinder<T> binder, Function<T, String> nameOf, ObjIntConsumer<T> idSetter,
+                                         BiConsumer<T, LocalDateTime> createdAtSetter, String previousTable, RowMapper<T> previousMapper,
+                                         String errorMessage) throws DatabaseOperationException {
+        List<T> previous = new ArrayList<>();
+        if (entities.isEmpty()) {
+            return previous;
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        // PostgreSQL refuses to update the same row twice in one statement,
+        // so entities sharing a name collapse to the last one and all get its id
+        Map<String, List<T>> byName = new LinkedHashMap<>();
+        Map<String, T> lastByName = new LinkedHashMap<>();
+        for (T entity : entities) {
+            String key = key(nameOf.apply(entity));
+            byName.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+            lastByName.put(key, entity);
+        }
+        List<T> rows = new ArrayList<>(lastByName.values());
+        int chunkSize = Math.min(batchSize, MAX_BIND_PARAMS / paramsPerRow);
+
+        Map<String, Integer> idByName = new HashMap<>();
+        Map<String, LocalDateTime> createdAtByName = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // Join the caller's transaction if there is one, otherwise run our own
+            boolean ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            try {
+                for (int start = 0; start < rows.size(); start += chunkSize) {
+                    List<T> chunk = rows.subList(start, Math.min(start + chunkSize, rows.size()));
+                    if (previousMapper == null) {
+                        upsertChunk(conn, chunk, insertPrefix, paramsPerRow, conflictClause, binder,
+                                createdAtSetter != null, null, idByName, createdAtByName);
+                    } else {
+                        previous.addAll(upsertChunkReturningPrevious(conn, chunk, previousTable, insertPrefix,
+                                paramsPerRow, conflictClause, binder, nameOf, createdAtSetter != null, previousMapper,
+                                idByName, createdAtByName));
+                    }
+                }
+                if (ownTransaction) {
+                    conn.commit();
+                }
+            } catch (SQLException e) {
+                if (ownTransaction) {
+                    conn.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+
+        // Only hand out ids once the rows are committed
+        for (Map.Entry<String, List<T>> group : byName.entrySet()) {
+            Integer id = idByName.get(group.getKey());
+            if (id != null) {
+                for (T entity : group.getValue()) {
+                    idSetter.accept(entity, id);
+                    if (createdAtSetter != null) {
+                        createdAtSetter.accept(entity, createdAtByName.get(group.getKey()));
+                    }
+                }
+            }
+        }
+        return previous;
+    }
+
+    private static <T> List<T> upsertChunkReturningPrevious(Connection conn, List<T> chunk, String table,
+                                                            String insertPrefix, int paramsPerRow, String conflictClause,
+                                                            ParamBinder<T> binder, Function<T, String> nameOf,
+                                                            boolean readCreatedAt, RowMapper<T> previousMapper,
+                                                            Map<String, Integer> idByName,
+                                                            Map<String, LocalDateTime> createdAtByName) throws SQLException {
+        String lockSql = "SELECT * FROM " + table + " WHERE LOWER(name) IN ("
+                + "LOWER(?), ".repeat(chunk.size() - 1) + "LOWER(?)) FOR UPDATE";
+        for (int attempt = 1; ; attempt++) {
+            Savepoint savepoint = conn.setSavepoint();
+            Map<String, T> previousByName = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, nameOf.apply(chunk.get(i)));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        T old = previousMapper.mapRow(rs);
+                        previousByName.put(key(nameOf.apply(old)), old);
+                    }
+                }
+            }
+
+            Set<String> updated = new HashSet<>();
+            upsertChunk(conn, chunk, insertPrefix, paramsPerRow, conflictClause, binder, readCreatedAt, updated,
+                    idByName, createdAtByName);
+            if (previousByName.keySet().containsAll(updated)) {
+                conn.releaseSavepoint(savepoint);
+                return new ArrayList<>(previousByName.values());
+            }
+            // Overwrote a row inserted after the SELECT: its old values are unknown, so redo the chunk
+            conn.rollback(savepoint);
+            if (attempt == MAX_RACE_RETRIES) {
+                throw new SQLException("Rows kept being inserted concurrently while upserting into " + table);
+            }
+        }
+    }
+
+    // Runs one multi-row upsert. With updatedNames, also collects the names whose row already existed.
+    private static <T> void upsertChunk(Connection conn, List<T> chunk, String insertPrefix, int paramsPerRow,
+                                        String conflictClause, ParamBinder<T> binder, boolean readCreatedAt,
+                                        Set<String> updatedNames, Map<String, Integer> idByName,
+                                        Map<String, LocalDateTime> createdAtByName) throws SQLException {
+        String rowPlaceholders = "(" + "?, ".repeat(paramsPerRow - 1) + "?)";
+        StringBuilder sql = new StringBuilder(insertPrefix).append(" VALUES ");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(rowPlaceholders);
+        }
+        // conflictClause ends with its RETURNING list
+        sql.append(' ').append(conflictClause);
+        if (updatedNames != null) {
+            sql.append(", (xmax <> 0) AS was_updated");
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < chunk.size(); i++) {
+                binder.bind(stmt, 1 + i * paramsPerRow, chunk.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = key(rs.getString("name"));
+                    idByName.put(name, rs.getInt("id"));
+                    if (readCreatedAt) {
+                        createdAtByName.put(name, rs.getObject("created_at", LocalDateTime.class));
+                    }
+                    if (updatedNames != null && rs.getBoolean("was_updated")) {
+                        updatedNames.add(name);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
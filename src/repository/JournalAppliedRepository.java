@@ -0,0 +1,43 @@
+package repository;
+
+import repository.interfaces.JournalProgressRepository;
+import utils.DatabaseConnection;
+import exception.DatabaseOperationException;
+
+import java.sql.*;
+
+// One row per journal in journal_applied (journal_id, last_seq)
+public class JournalAppliedRepository implements JournalProgressRepository {
+
+    // Creates the row on first use; DO UPDATE (rather than DO NOTHING) locks an existing row and returns it
+    @Override
+    public long lockAppliedSeq(String journalId) throws DatabaseOperationException {
+        String sql = "INSERT INTO journal_applied (journal_id, last_seq) VALUES (?, 0) "
+                + "ON CONFLICT (journal_id) DO UPDATE SET journal_id = EXCLUDED.journal_id RETURNING last_seq";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, journalId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error reading journal replay position", e);
+        }
+    }
+
+    @Override
+    public void setAppliedSeq(String journalId, long seq) throws DatabaseOperationException {
+        String sql = "UPDATE journal_applied SET last_seq = ? WHERE journal_id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, seq);
+            stmt.setString(2, journalId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error storing journal replay position", e);
+        }
+    }
+}
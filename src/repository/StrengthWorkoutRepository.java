@@ -1,39 +1,86 @@
 package repository;
 
 import model.StrengthWorkout;
-import repository.interfaces.CrudRepository;
+import model.WorkoutMetric;
+import repository.interfaces.RowMapper;
+import repository.interfaces.WorkoutRepository;
 import utils.DatabaseConnection;
 import exception.DatabaseOperationException;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
-public class StrengthWorkoutRepository implements CrudRepository<StrengthWorkout> {
+public class StrengthWorkoutRepository implements WorkoutRepository<StrengthWorkout> {
+
+    // Filled in by the database on insert and read back through getGeneratedKeys()
+    private static final String[] GENERATED_COLUMNS = {"id", "created_at"};
+
+    // Conflict target is the unique LOWER(name) index; the incoming row overwrites the stored one
+    private static final String UPSERT_CLAUSE = "ON CONFLICT (LOWER(name)) DO UPDATE SET "
+            + "name = EXCLUDED.name, "
+            + "duration_minutes = EXCLUDED.duration_minutes, "
+            + "calories_burned = EXCLUDED.calories_burned, "
+            + "sets = EXCLUDED.sets, "
+            + "reps = EXCLUDED.reps, "
+            + "weight_kg = EXCLUDED.weight_kg "
+            + "RETURNING id, name, created_at";
 
     @Override
     public void create(StrengthWorkout workout) throws DatabaseOperationException {
         String sql = "INSERT INTO strength_workouts (name, duration_minutes, calories_burned, sets, reps, weight_kg) VALUES (?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, GENERATED_COLUMNS)) {
 
-            stmt.setString(1, workout.getName());
-            stmt.setInt(2, workout.getDurationMinutes());
-            stmt.setInt(3, workout.getCaloriesBurned());
-            stmt.setInt(4, workout.getSets());
-            stmt.setInt(5, workout.getReps());
-            stmt.setDouble(6, workout.getWeightKg());
+            setInsertParams(stmt, 1, workout);
             stmt.executeUpdate();
 
             ResultSet rs = stmt.getGeneratedKeys();
             if (rs.next()) {
                 workout.setId(rs.getInt(1));
+                workout.setCreatedAt(rs.getObject(2, LocalDateTime.class));
             }
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error creating strength workout", e);
         }
     }
 
+    @Override
+    public void createAll(List<StrengthWorkout> workouts, int batchSize) throws DatabaseOperationException {
+        JdbcBatchInserts.createAll(workouts, batchSize,
+                "INSERT INTO strength_workouts (name, duration_minutes, calories_burned, sets, reps, weight_kg) VALUES (?, ?, ?, ?, ?, ?)",
+                this::setInsertParams, StrengthWorkout::setId, StrengthWorkout::setCreatedAt,
+                "Error creating strength workouts in batch");
+    }
+
+    @Override
+    public void upsert(StrengthWorkout workout) throws DatabaseOperationException {
+        String sql = "INSERT INTO strength_workouts (name, duration_minutes, calories_burned, sets, reps, weight_kg) VALUES (?, ?, ?, ?, ?, ?) " + UPSERT_CLAUSE;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            setInsertParams(stmt, 1, workout);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    workout.setId(rs.getInt("id"));
+                    workout.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error upserting strength workout", e);
+        }
+    }
+
+    @Override
+    public void upsertAll(List<StrengthWorkout> workouts, int batchSize) throws DatabaseOperationException {
+        JdbcUpserts.upsertAll(workouts, batchSize,
+                "INSERT INTO strength_workouts (name, duration_minutes, calories_burned, sets, reps, weight_kg)", 6, UPSERT_CLAUSE,
+                this::setInsertParams, StrengthWorkout::getName, StrengthWorkout::setId, StrengthWorkout::setCreatedAt,
+                "Error upserting strength workouts in batch");
+    }
+
     @Override
     public List<StrengthWorkout> getAll() throws DatabaseOperationException {
         List<StrengthWorkout> list = new ArrayList<>();
@@ -51,6 +98,12 @@ public class StrengthWorkoutRepository implements CrudRepository<StrengthWorkout
         return list;
     }
 
+    @Override
+    public Stream<StrengthWorkout> streamAll() throws DatabaseOperationException {
+        String sql = "SELECT * FROM strength_workouts";
+        return JdbcStreams.stream(sql, DEFAULT_FETCH_SIZE, this::mapRow, "Error streaming strength workouts");
+    }
+
     @Override
     public StrengthWorkout getById(int id) throws DatabaseOperationException {
         String sql = "SELECT * FROM strength_workouts WHERE id = ?";
@@ -69,7 +122,65 @@ public class StrengthWorkoutRepository implements CrudRepository<StrengthWorkout
     }
 
     @Override
-    public void update(int id, StrengthWorkout workout) throws DatabaseOperationException {
+    public StrengthWorkout findByName(String name) throws DatabaseOperationException {
+        String sql = "SELECT * FROM strength_workouts WHERE LOWER(name) = LOWER(?)";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, name);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return mapRow(rs);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error fetching strength workout by name", e);
+        }
+        return null;
+    }
+
+    // Seeks on the primary key index, so every page costs the same however deep it is
+    @Override
+    public List<StrengthWorkout> getPage(int afterId, int limit) throws DatabaseOperationException {
+        String sql = "SELECT * FROM strength_workouts WHERE id > ? ORDER BY id LIMIT ?";
+        return queryPage(sql, afterId, limit, "Error fetching strength workouts page");
+    }
+
+    @Override
+    public List<StrengthWorkout> getPageDesc(int beforeId, int limit) throws DatabaseOperationException {
+        String sql = "SELECT * FROM strength_workouts WHERE id < ? ORDER BY id DESC LIMIT ?";
+        int from = beforeId <= 0 ? Integer.MAX_VALUE : beforeId;
+        return queryPage(sql, from, limit, "Error fetching strength workouts page");
+    }
+
+    // ORDER BY ... LIMIT 1 walks the (metric, id) index from one end instead of scanning the table
+    @Override
+    public StrengthWorkout findMin(WorkoutMetric metric) throws DatabaseOperationException {
+        String column = columnFor(metric);
+        String sql = "SELECT * FROM strength_workouts ORDER BY " + column + " ASC, id ASC LIMIT 1";
+        return queryFirst(sql, "Error fetching strength workout with minimum " + column);
+    }
+
+    @Override
+    public StrengthWorkout findMax(WorkoutMetric metric) throws DatabaseOperationException {
+        String column = columnFor(metric);
+        String sql = "SELECT * FROM strength_workouts ORDER BY " + column + " DESC, id DESC LIMIT 1";
+        return queryFirst(sql, "Error fetching strength workout with maximum " + column);
+    }
+
+    @Override
+    public List<StrengthWorkout> findBetween(LocalDateTime from, LocalDateTime to) throws DatabaseOperationException {
+        String sql = "SELECT * FROM strength_workouts WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id";
+        return queryByCreatedAt(sql, "Error fetching strength workouts by date range", from, to);
+    }
+
+    @Override
+    public List<StrengthWorkout> findSince(LocalDateTime since) throws DatabaseOperationException {
+        String sql = "SELECT * FROM strength_workouts WHERE created_at >= ? ORDER BY created_at, id";
+        return queryByCreatedAt(sql, "Error fetching strength workouts since " + since, since);
+    }
+
+    @Override
+    public int update(int id, StrengthWorkout workout) throws DatabaseOperationException {
         String sql = "UPDATE strength_workouts SET name = ?, duration_minutes = ?, calories_burned = ?, sets = ?, reps = ?, weight_kg = ? WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -81,27 +192,161 @@ public class StrengthWorkoutRepository implements CrudRepository<StrengthWorkout
             stmt.setInt(5, workout.getReps());
             stmt.setDouble(6, workout.getWeightKg());
             stmt.setInt(7, id);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error updating strength workout", e);
         }
     }
 
     @Override
-    public void delete(int id) throws DatabaseOperationException {
+    public int delete(int id) throws DatabaseOperationException {
         String sql = "DELETE FROM strength_workouts WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error deleting strength workout", e);
         }
     }
 
+    // ==================== WRITES RETURNING THE PREVIOUS ROW ====================
+
+    // The old row is locked by the sub-select, so RETURNING old.* is exactly what this UPDATE replaced
+    @Override
+    public StrengthWorkout updateReturningPrevious(int id, StrengthWorkout workout) throws DatabaseOperationException {
+        String sql = "UPDATE strength_workouts w SET name = ?, duration_minutes = ?, calories_burned = ?, sets = ?, reps = ?, weight_kg = ? "
+                + "FROM (SELECT * FROM strength_workouts WHERE id = ? FOR UPDATE) old "
+                + "WHERE w.id = old.id RETURNING old.*";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            setInsertParams(stmt, 1, workout);
+            stmt.setInt(7, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error updating strength workout", e);
+        }
+    }
+
+    @Override
+    public StrengthWorkout deleteReturningPrevious(int id) throws DatabaseOperationException {
+        String sql = "DELETE FROM strength_workouts WHERE id = ? RETURNING *";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error deleting strength workout", e);
+        }
+    }
+
+    // Locks the existing row first, then upserts; see JdbcUpserts.upsertAllReturningPrevious
+    @Override
+    public StrengthWorkout upsertReturningPrevious(StrengthWorkout workout) throws DatabaseOperationException {
+        List<StrengthWorkout> previous = JdbcUpserts.upsertAllReturningPrevious(List.of(workout), 1, "strength_workouts",
+                "INSERT INTO strength_workouts (name, duration_minutes, calories_burned, sets, reps, weight_kg)", 6, UPSERT_CLAUSE,
+                this::setInsertParams, StrengthWorkout::getName, StrengthWorkout::setId, StrengthWorkout::setCreatedAt, this::mapRow,
+                "Error upserting strength workout");
+        return previous.isEmpty() ? null : previous.get(0);
+    }
+
+    @Override
+    public List<StrengthWorkout> upsertAllReturningPrevious(List<StrengthWorkout> workouts, int batchSize) throws DatabaseOperationException {
+        return JdbcUpserts.upsertAllReturningPrevious(workouts, batchSize, "strength_workouts",
+                "INSERT INTO strength_workouts (name, duration_minutes, calories_burned, sets, reps, weight_kg)", 6, UPSERT_CLAUSE,
+                this::setInsertParams, StrengthWorkout::getName, StrengthWorkout::setId, StrengthWorkout::setCreatedAt, this::mapRow,
+                "Error upserting strength workouts in batch");
+    }
+
+    private List<StrengthWorkout> queryPage(String sql, int boundaryId, int limit, String errorMessage)
+            throws DatabaseOperationException {
+        List<StrengthWorkout> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, boundaryId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        return list;
+    }
+
+    // Range scan on the (created_at, id) index; bounds are bound in order
+    private List<StrengthWorkout> queryByCreatedAt(String sql, String errorMessage, LocalDateTime... bounds)
+            throws DatabaseOperationException {
+        List<StrengthWorkout> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < bounds.length; i++) {
+                stmt.setObject(i + 1, bounds[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        return list;
+    }
+
+    private StrengthWorkout queryFirst(String sql, String errorMessage) throws DatabaseOperationException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return mapRow(rs);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException(errorMessage, e);
+        }
+        return null;
+    }
+
+    // Whitelist of sortable columns - metric names never reach the SQL string directly
+    private String columnFor(WorkoutMetric metric) {
+        switch (metric) {
+            case DURATION: return "duration_minutes";
+            case CALORIES: return "calories_burned";
+            case WEIGHT: return "weight_kg";
+            default: throw new IllegalArgumentException("StrengthWorkout has no " + metric + " metric");
+        }
+    }
+
+    // Binds the INSERT parameters (in column order) starting at firstIndex.
+    // Shared by create, createAll, upsert and upsertAll.
+    private void setInsertParams(PreparedStatement stmt, int firstIndex, StrengthWorkout workout) throws SQLException {
+        stmt.setString(firstIndex, workout.getName());
+        stmt.setInt(firstIndex + 1, workout.getDurationMinutes());
+        stmt.setInt(firstIndex + 2, workout.getCaloriesBurned());
+        stmt.setInt(firstIndex + 3, workout.getSets());
+        stmt.setInt(firstIndex + 4, workout.getReps());
+        stmt.setDouble(firstIndex + 5, workout.getWeightKg());
+    }
+
+    // The row mapper used by every query here, for callers that read rows themselves (e.g. benchmarks)
+    public RowMapper<StrengthWorkout> rowMapper() {
+        return this::mapRow;
+    }
+
     private StrengthWorkout mapRow(ResultSet rs) throws SQLException {
-        return new StrengthWorkout(
+        StrengthWorkout workout = new StrengthWorkout(
                 rs.getInt("id"),
                 rs.getString("name"),
                 rs.getInt("duration_minutes"),
@@ -110,5 +355,7 @@ public class StrengthWorkoutRepository implements CrudRepository<StrengthWorkout
                 rs.getInt("reps"),
                 rs.getDouble("weight_kg")
         );
+        workout.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return workout;
     }
-}
\ No newline at end of file
+}
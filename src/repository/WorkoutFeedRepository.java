@@ -0,0 +1,138 @@
+package repository;
+
+import model.FeedCursor;
+import model.FeedPage;
+import model.Workout;
+import repository.interfaces.CrudRepository;
+import repository.interfaces.FeedRepository;
+import repository.interfaces.RowMapper;
+import utils.DatabaseConnection;
+import exception.DatabaseOperationException;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Cardio and strength workouts as one feed, newest first, from a single UNION ALL query.
+// Each branch pads the other table's columns with NULLs and tags its rows with a workout_type
+// discriminator; rows are mapped back by the owning repository's row mapper.
+// Order: created_at DESC, workout_type DESC, id DESC - unique, so keyset paging never skips or repeats a row.
+public class WorkoutFeedRepository implements FeedRepository {
+
+    public static final String CARDIO = "cardio";
+    public static final String STRENGTH = "strength";
+
+    private static final String ORDER_BY = " ORDER BY created_at DESC, workout_type DESC, id DESC";
+
+    private final List<Branch> branches = new ArrayList<>();
+    private final String streamSql;
+    private final String firstPageSql;
+    private final String nextPageSql;
+
+    public WorkoutFeedRepository() {
+        branches.add(new Branch(CARDIO, "cardio_workouts",
+                "id, name, duration_minutes, calories_burned, distance_km, average_heart_rate, "
+                        + "NULL::INT AS sets, NULL::INT AS reps, NULL::DECIMAL(10, 2) AS weight_kg, created_at",
+                new CardioWorkoutRepository().rowMapper()));
+        branches.add(new Branch(STRENGTH, "strength_workouts",
+                "id, name, duration_minutes, calories_burned, NULL::DECIMAL(10, 2) AS distance_km, "
+                        + "NULL::INT AS average_heart_rate, sets, reps, weight_kg, created_at",
+                new StrengthWorkoutRepository().rowMapper()));
+
+        streamSql = branches.stream()
+                .map(b -> b.select(""))
+                .collect(Collectors.joining(" UNION ALL ")) + ORDER_BY;
+        // Each branch is limited on its own so it can stop early on its (created_at, id) index
+        firstPageSql = branches.stream()
+                .map(b -> "(" + b.select("") + " ORDER BY created_at DESC, id DESC LIMIT ?)")
+                .collect(Collectors.joining(" UNION ALL ")) + ORDER_BY + " LIMIT ?";
+        nextPageSql = branches.stream()
+                .map(b -> "(" + b.select(" WHERE (created_at, id) < (?, ?)") + " ORDER BY created_at DESC, id DESC LIMIT ?)")
+                .collect(Collectors.joining(" UNION ALL ")) + ORDER_BY + " LIMIT ?";
+    }
+
+    @Override
+    public FeedPage getPage(FeedCursor after, int limit) throws DatabaseOperationException {
+        // One extra row tells whether another page exists
+        int fetch = limit + 1;
+        List<Workout> list = new ArrayList<>();
+        FeedCursor last = null;
+        FeedCursor next = null;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(after == null ? firstPageSql : nextPageSql)) {
+
+            int index = 1;
+            for (Branch branch : branches) {
+                if (after != null) {
+                    stmt.setObject(index++, after.getCreatedAt());
+                    stmt.setInt(index++, idBound(branch, after));
+                }
+                stmt.setInt(index++, fetch);
+            }
+            stmt.setInt(index, fetch);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (list.size() == limit) {
+                        next = last;
+                        break;
+                    }
+                    list.add(mapRow(rs));
+                    last = new FeedCursor(rs.getObject("created_at", LocalDateTime.class),
+                            rs.getString("workout_type"), rs.getInt("id"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error fetching workout feed page", e);
+        }
+        return new FeedPage(list, next);
+    }
+
+    // Rows after the cursor satisfy (created_at, workout_type, id) < (ts, type, id).
+    // Within one branch workout_type is fixed, so this reduces to (created_at, id) < (ts, bound):
+    // a branch sorting below the cursor's type keeps every row at ts, one above keeps none.
+    private static int idBound(Branch branch, FeedCursor after) {
+        int cmp = branch.workoutType.compareTo(after.getWorkoutType());
+        if (cmp < 0) {
+            return Integer.MAX_VALUE;
+        }
+        return cmp == 0 ? after.getId() : 0;
+    }
+
+    @Override
+    public Stream<Workout> streamAll() throws DatabaseOperationException {
+        return JdbcStreams.stream(streamSql, CrudRepository.DEFAULT_FETCH_SIZE, this::mapRow, "Error streaming workout feed");
+    }
+
+    private Workout mapRow(ResultSet rs) throws SQLException {
+        String type = rs.getString("workout_type");
+        for (Branch branch : branches) {
+            if (branch.workoutType.equals(type)) {
+                return branch.mapper.mapRow(rs);
+            }
+        }
+        throw new SQLException("Unknown workout_type in feed: " + type);
+    }
+
+    // One workout table in the UNION ALL
+    private static final class Branch {
+        private final String workoutType;
+        private final String table;
+        private final String columns;
+        private final RowMapper<? extends Workout> mapper;
+
+        private Branch(String workoutType, String table, String columns, RowMapper<? extends Workout> mapper) {
+            this.workoutType = workoutType;
+            this.table = table;
+            this.columns = columns;
+            this.mapper = mapper;
+        }
+
+        private String select(String where) {
+            return "SELECT '" + workoutType + "' AS workout_type, " + columns + " FROM " + table + where;
+        }
+    }
+}
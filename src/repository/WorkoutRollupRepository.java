@@ -0,0 +1,74 @@
+package repository;
+
+import model.RollupPeriod;
+import model.WorkoutRollup;
+import repository.interfaces.RollupRepository;
+import utils.DatabaseConnection;
+import exception.DatabaseOperationException;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads workout_rollups by primary key range (period, period_start, workout_type):
+// the cost depends on the number of periods asked for, not on the number of workouts
+public class WorkoutRollupRepository implements RollupRepository {
+
+    @Override
+    public List<WorkoutRollup> findRange(RollupPeriod period, String workoutType, LocalDate from, LocalDate to)
+            throws DatabaseOperationException {
+        String sql = "SELECT * FROM workout_rollups WHERE period = ? AND period_start >= ? AND period_start < ?"
+                + (workoutType == null ? "" : " AND workout_type = ?")
+                + " ORDER BY period_start, workout_type";
+        List<WorkoutRollup> list = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, period.getSqlName());
+            stmt.setObject(2, from);
+            stmt.setObject(3, to);
+            if (workoutType != null) {
+                stmt.setString(4, workoutType);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error fetching " + period.getSqlName() + " rollups", e);
+        }
+        return list;
+    }
+
+    @Override
+    public long rebuild() throws DatabaseOperationException {
+        String sql = "SELECT rebuild_workout_rollups()";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error rebuilding workout rollups", e);
+        }
+    }
+
+    private WorkoutRollup mapRow(ResultSet rs) throws SQLException {
+        return new WorkoutRollup(
+                RollupPeriod.fromSqlName(rs.getString("period")),
+                rs.getObject("period_start", LocalDate.class),
+                rs.getString("workout_type"),
+                rs.getLong("workout_count"),
+                rs.getLong("total_minutes"),
+                rs.getLong("total_calories"),
+                rs.getDouble("total_distance_km"),
+                rs.getDouble("total_volume_kg"),
+                rs.getInt("min_minutes"),
+                rs.getInt("max_minutes"),
+                rs.getInt("min_calories"),
+                rs.getInt("max_calories")
+        );
+    }
+}
@@ -1,19 +1,75 @@
 package repository.interfaces;
 
 import exception.DatabaseOperationException;
+import exception.UncheckedDatabaseOperationException;
+
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 // Generic interface - T is any type
 // This is the DIP: service depends on interface, not concrete class
 public interface CrudRepository<T> {
 
+    // Rows sent per executeBatch() round trip by createAll(List)
+    int DEFAULT_BATCH_SIZE = 500;
+
+    // Rows fetched per cursor round trip by streamAll()
+    int DEFAULT_FETCH_SIZE = 1000;
+
     void create(T entity) throws DatabaseOperationException;
 
+    // Inserts all entities in one transaction and sets their generated ids
+    default void createAll(List<T> entities) throws DatabaseOperationException {
+        createAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    void createAll(List<T> entities, int batchSize) throws DatabaseOperationException;
+
+    // Inserts the entity, or overwrites the existing row with the same name (case-insensitive).
+    // Sets the entity's id either way.
+    void upsert(T entity) throws DatabaseOperationException;
+
+    // Upserts in one transaction with one multi-row statement per batch and sets every id.
+    // Entities sharing a name collapse to the last one in the list.
+    default void upsertAll(List<T> entities) throws DatabaseOperationException {
+        upsertAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    void upsertAll(List<T> entities, int batchSize) throws DatabaseOperationException;
+
     List<T> getAll() throws DatabaseOperationException;
 
+    // Reads rows lazily through a server-side cursor, so memory stays flat for any table size.
+    // The stream holds a connection until it is exhausted or closed - use try-with-resources.
+    // Errors while reading surface as UncheckedDatabaseOperationException.
+    Stream<T> streamAll() throws DatabaseOperationException;
+
+    // Visits every row without materializing the table
+    default void forEach(Consumer<? super T> action) throws DatabaseOperationException {
+        try (Stream<T> stream = streamAll()) {
+            stream.forEach(action);
+        } catch (UncheckedDatabaseOperationException e) {
+            throw e.getCause();
+        }
+    }
+
     T getById(int id) throws DatabaseOperationException;
 
-    void update(int id, T entity) throws DatabaseOperationException;
+    // Case-insensitive lookup through the unique LOWER(name) index, or null if not found
+    T findByName(String name) throws DatabaseOperationException;
+
+    // Keyset pagination: up to limit rows with id > afterId, in ascending id order.
+    // Pass 0 for the first page, then the id of the last row received.
+    List<T> getPage(int afterId, int limit) throws DatabaseOperationException;
+
+    // Descending variant: up to limit rows with id < beforeId, newest first.
+    // Pass 0 for the first page, then the id of the last row received.
+    List<T> getPageDesc(int beforeId, int limit) throws DatabaseOperationException;
+
+    // Returns the number of rows changed - 0 means no row with that id exists
+    int update(int id, T entity) throws DatabaseOperationException;
 
-    void delete(int id) throws DatabaseOperationException;
+    // Returns the number of rows deleted - 0 means no row with that id exists
+    int delete(int id) throws DatabaseOperationException;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package repository.interfaces;
+
+import exception.DatabaseOperationException;
+import model.FeedCursor;
+import model.FeedPage;
+import model.Workout;
+
+import java.util.stream.Stream;
+
+// Read-only feed across every workout table, newest first.
+// Rows come back as their concrete type (CardioWorkout, StrengthWorkout, ...).
+public interface FeedRepository {
+
+    // Keyset pagination: up to limit workouts that sort after the cursor.
+    // Pass null for the first page, then the page's getNextCursor().
+    FeedPage getPage(FeedCursor after, int limit) throws DatabaseOperationException;
+
+    // Whole feed through a server-side cursor - use try-with-resources.
+    // Errors while reading surface as UncheckedDatabaseOperationException.
+    Stream<Workout> streamAll() throws DatabaseOperationException;
+}
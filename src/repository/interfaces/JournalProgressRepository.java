@@ -0,0 +1,14 @@
+package repository.interfaces;
+
+import exception.DatabaseOperationException;
+
+// Replay position of each offline journal, kept in the database next to the data it describes.
+// Used inside a UnitOfWork: lock the position, apply one journal record, then store its seq,
+// so the record and the new position commit or roll back together.
+public interface JournalProgressRepository {
+
+    // Last seq applied for this journal (0 if none); the row stays locked until the transaction ends
+    long lockAppliedSeq(String journalId) throws DatabaseOperationException;
+
+    void setAppliedSeq(String journalId, long seq) throws DatabaseOperationException;
+}
@@ -0,0 +1,20 @@
+package repository.interfaces;
+
+import exception.DatabaseOperationException;
+import model.RollupPeriod;
+import model.WorkoutRollup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Read side of the workout_rollups table; the rows themselves are maintained by database triggers
+public interface RollupRepository {
+
+    // Rollups whose period starts in [from, to), ordered by period start then workout type.
+    // workoutType is WorkoutRollup.CARDIO, WorkoutRollup.STRENGTH, or null for both.
+    List<WorkoutRollup> findRange(RollupPeriod period, String workoutType, LocalDate from, LocalDate to)
+            throws DatabaseOperationException;
+
+    // Recomputes every rollup from the workout tables; returns the number of rollup rows written
+    long rebuild() throws DatabaseOperationException;
+}
@@ -0,0 +1,11 @@
+package repository.interfaces;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Maps the current row of a ResultSet to an entity
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T mapRow(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,37 @@
+package repository.interfaces;
+
+import exception.DatabaseOperationException;
+import model.Workout;
+import model.WorkoutMetric;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Workout-specific queries on top of the generic CRUD operations
+public interface WorkoutRepository<T extends Workout> extends CrudRepository<T> {
+
+    // Row with the smallest value of metric (ties broken by lowest id), or null if the table is empty.
+    // Throws IllegalArgumentException if this workout type has no such metric.
+    T findMin(WorkoutMetric metric) throws DatabaseOperationException;
+
+    // Row with the largest value of metric (ties broken by highest id), or null if the table is empty
+    T findMax(WorkoutMetric metric) throws DatabaseOperationException;
+
+    // Workouts created in [from, to), oldest first - a range scan on the created_at index
+    List<T> findBetween(LocalDateTime from, LocalDateTime to) throws DatabaseOperationException;
+
+    // Workouts created at or after since, oldest first
+    List<T> findSince(LocalDateTime since) throws DatabaseOperationException;
+
+    // Write variants for callers that keep running totals: each also returns the row as it was
+    // before the write, read and locked in the same transaction (null if there was no such row)
+    T updateReturningPrevious(int id, T entity) throws DatabaseOperationException;
+
+    T deleteReturningPrevious(int id) throws DatabaseOperationException;
+
+    // Sets the entity's id like upsert(); returns the row it overwrote, or null if it inserted one
+    T upsertReturningPrevious(T entity) throws DatabaseOperationException;
+
+    // Like upsertAll(); returns the rows that were overwritten (inserted rows have no previous version)
+    List<T> upsertAllReturningPrevious(List<T> entities, int batchSize) throws DatabaseOperationException;
+}
@@ -0,0 +1,87 @@
+package service;
+
+import utils.DatabaseConnection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs blocking service calls on virtual threads and completes a CompletableFuture with the result.
+// At most maxConcurrency calls run at once (default: the connection pool size), so a burst of async
+// calls waits here on cheap virtual threads instead of timing out in ConnectionPool.borrow().
+// Calls run on their own thread, outside any transaction the caller has open.
+public class AsyncExecutor implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AsyncExecutor() {
+        this(DatabaseConnection.getMaxPoolSize());
+    }
+
+    public AsyncExecutor(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-service-", 0).factory());
+    }
+
+    // The future completes with work's result, or exceptionally with the exception it threw
+    // (checked service exceptions such as ResourceNotFoundException are passed through unwrapped)
+    public <R> CompletableFuture<R> submit(UnitOfWork.Work<R, ? extends Exception> work) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        submitted.increment();
+        try {
+            executor.execute(() -> run(work, future));
+        } catch (RejectedExecutionException e) {
+            failed.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <R> void run(UnitOfWork.Work<R, ? extends Exception> work, CompletableFuture<R> future) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+            future.completeExceptionally(e);
+            return;
+        }
+        try {
+            future.complete(work.execute());
+        } catch (Throwable t) {
+            failed.increment();
+            future.completeExceptionally(t);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getMaxConcurrency() { return maxConcurrency; }
+    public int getActiveCount() { return maxConcurrency - permits.availablePermits(); }
+    public int getWaitingCount() { return permits.getQueueLength(); }
+    public long getSubmittedCount() { return submitted.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+
+    public String getStats() {
+        return String.format("Async[active=%d/%d, waiting=%d, submitted=%d, failed=%d]",
+                getActiveCount(), maxConcurrency, getWaitingCount(), getSubmittedCount(), getFailedCount());
+    }
+
+    // Stops accepting calls and waits for the ones already submitted
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
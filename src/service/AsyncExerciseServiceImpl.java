@@ -0,0 +1,93 @@
+package service;
+
+import model.Exercise;
+import service.interfaces.AsyncExerciseService;
+import service.interfaces.ExerciseService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Decorator: runs the blocking ExerciseService on an AsyncExecutor
+public class AsyncExerciseServiceImpl implements AsyncExerciseService {
+
+    private final ExerciseService exerciseService;
+    private final AsyncExecutor executor;
+
+    public AsyncExerciseServiceImpl(ExerciseService exerciseService, AsyncExecutor executor) {
+        this.exerciseService = exerciseService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Void> createExercise(Exercise exercise) {
+        return executor.submit(() -> {
+            exerciseService.createExercise(exercise);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> createExercises(List<Exercise> exercises) {
+        return executor.submit(() -> {
+            exerciseService.createExercises(exercises);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertExercise(Exercise exercise) {
+        return executor.submit(() -> {
+            exerciseService.upsertExercise(exercise);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertExercises(List<Exercise> exercises) {
+        return executor.submit(() -> {
+            exerciseService.upsertExercises(exercises);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Exercise>> getAllExercises() {
+        return executor.submit(() -> exerciseService.getAllExercises());
+    }
+
+    @Override
+    public CompletableFuture<Exercise> getExerciseById(int id) {
+        return executor.submit(() -> exerciseService.getExerciseById(id));
+    }
+
+    @Override
+    public CompletableFuture<Exercise> getExerciseByName(String name) {
+        return executor.submit(() -> exerciseService.getExerciseByName(name));
+    }
+
+    @Override
+    public CompletableFuture<List<Exercise>> getExercisesPage(int afterId, int limit) {
+        return executor.submit(() -> exerciseService.getExercisesPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Exercise>> getExercisesPageDesc(int beforeId, int limit) {
+        return executor.submit(() -> exerciseService.getExercisesPageDesc(beforeId, limit));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateExercise(int id, Exercise exercise) {
+        return executor.submit(() -> {
+            exerciseService.updateExercise(id, exercise);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteExercise(int id) {
+        return executor.submit(() -> {
+            exerciseService.deleteExercise(id);
+            return null;
+        });
+    }
+}
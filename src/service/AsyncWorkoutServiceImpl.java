@@ -0,0 +1,259 @@
+package service;
+
+import model.CardioWorkout;
+import model.Dashboard;
+import model.Exercise;
+import model.StrengthWorkout;
+import model.WorkoutMetric;
+import service.interfaces.AsyncWorkoutService;
+import service.interfaces.ExerciseService;
+import service.interfaces.WorkoutService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+// Decorator: runs the blocking WorkoutService on an AsyncExecutor.
+// Validation, duplicate mapping and not-found handling stay in the wrapped service.
+public class AsyncWorkoutServiceImpl implements AsyncWorkoutService {
+
+    private final WorkoutService workoutService;
+    private final ExerciseService exerciseService;
+    private final AsyncExecutor executor;
+
+    // DIP: Constructor injection - the dashboard also needs exercises
+    public AsyncWorkoutServiceImpl(WorkoutService workoutService, ExerciseService exerciseService,
+                                   AsyncExecutor executor) {
+        this.workoutService = workoutService;
+        this.exerciseService = exerciseService;
+        this.executor = executor;
+    }
+
+    // ==================== CARDIO METHODS ====================
+
+    @Override
+    public CompletableFuture<Void> createCardioWorkout(CardioWorkout workout) {
+        return executor.submit(() -> {
+            workoutService.createCardioWorkout(workout);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> createCardioWorkouts(List<CardioWorkout> workouts) {
+        return executor.submit(() -> {
+            workoutService.createCardioWorkouts(workouts);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertCardioWorkout(CardioWorkout workout) {
+        return executor.submit(() -> {
+            workoutService.upsertCardioWorkout(workout);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertCardioWorkouts(List<CardioWorkout> workouts) {
+        return executor.submit(() -> {
+            workoutService.upsertCardioWorkouts(workouts);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<CardioWorkout>> getAllCardioWorkouts() {
+        return executor.submit(() -> workoutService.getAllCardioWorkouts());
+    }
+
+    @Override
+    public CompletableFuture<CardioWorkout> getCardioWorkoutById(int id) {
+        return executor.submit(() -> workoutService.getCardioWorkoutById(id));
+    }
+
+    @Override
+    public CompletableFuture<CardioWorkout> getCardioWorkoutByName(String name) {
+        return executor.submit(() -> workoutService.getCardioWorkoutByName(name));
+    }
+
+    @Override
+    public CompletableFuture<List<CardioWorkout>> getCardioWorkoutsPage(int afterId, int limit) {
+        return executor.submit(() -> workoutService.getCardioWorkoutsPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<CardioWorkout>> getCardioWorkoutsPageDesc(int beforeId, int limit) {
+        return executor.submit(() -> workoutService.getCardioWorkoutsPageDesc(beforeId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<CardioWorkout>> getCardioWorkoutsBetween(LocalDateTime from, LocalDateTime to) {
+        return executor.submit(() -> workoutService.getCardioWorkoutsBetween(from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<CardioWorkout>> getCardioWorkoutsSince(LocalDateTime since) {
+        return executor.submit(() -> workoutService.getCardioWorkoutsSince(since));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateCardioWorkout(int id, CardioWorkout workout) {
+        return executor.submit(() -> {
+            workoutService.updateCardioWorkout(id, workout);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteCardioWorkout(int id) {
+        return executor.submit(() -> {
+            workoutService.deleteCardioWorkout(id);
+            return null;
+        });
+    }
+
+    // ==================== STRENGTH METHODS ====================
+
+    @Override
+    public CompletableFuture<Void> createStrengthWorkout(StrengthWorkout workout) {
+        return executor.submit(() -> {
+            workoutService.createStrengthWorkout(workout);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> createStrengthWorkouts(List<StrengthWorkout> workouts) {
+        return executor.submit(() -> {
+            workoutService.createStrengthWorkouts(workouts);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertStrengthWorkout(StrengthWorkout workout) {
+        return executor.submit(() -> {
+            workoutService.upsertStrengthWorkout(workout);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertStrengthWorkouts(List<StrengthWorkout> workouts) {
+        return executor.submit(() -> {
+            workoutService.upsertStrengthWorkouts(workouts);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<StrengthWorkout>> getAllStrengthWorkouts() {
+        return executor.submit(() -> workoutService.getAllStrengthWorkouts());
+    }
+
+    @Override
+    public CompletableFuture<StrengthWorkout> getStrengthWorkoutById(int id) {
+        return executor.submit(() -> workoutService.getStrengthWorkoutById(id));
+    }
+
+    @Override
+    public CompletableFuture<StrengthWorkout> getStrengthWorkoutByName(String name) {
+        return executor.submit(() -> workoutService.getStrengthWorkoutByName(name));
+    }
+
+    @Override
+    public CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsPage(int afterId, int limit) {
+        return executor.submit(() -> workoutService.getStrengthWorkoutsPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsPageDesc(int beforeId, int limit) {
+        return executor.submit(() -> workoutService.getStrengthWorkoutsPageDesc(beforeId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsBetween(LocalDateTime from, LocalDateTime to) {
+        return executor.submit(() -> workoutService.getStrengthWorkoutsBetween(from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsSince(LocalDateTime since) {
+        return executor.submit(() -> workoutService.getStrengthWorkoutsSince(since));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateStrengthWorkout(int id, StrengthWorkout workout) {
+        return executor.submit(() -> {
+            workoutService.updateStrengthWorkout(id, workout);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteStrengthWorkout(int id) {
+        return executor.submit(() -> {
+            workoutService.deleteStrengthWorkout(id);
+            return null;
+        });
+    }
+
+    // ==================== MIN / MAX ====================
+
+    @Override
+    public CompletableFuture<CardioWorkout> getCardioWithMinDuration() {
+        return executor.submit(() -> workoutService.getCardioWithMinDuration());
+    }
+
+    @Override
+    public CompletableFuture<StrengthWorkout> getStrengthWithMinWeight() {
+        return executor.submit(() -> workoutService.getStrengthWithMinWeight());
+    }
+
+    @Override
+    public CompletableFuture<CardioWorkout> getCardioWithMin(WorkoutMetric metric) {
+        return executor.submit(() -> workoutService.getCardioWithMin(metric));
+    }
+
+    @Override
+    public CompletableFuture<CardioWorkout> getCardioWithMax(WorkoutMetric metric) {
+        return executor.submit(() -> workoutService.getCardioWithMax(metric));
+    }
+
+    @Override
+    public CompletableFuture<StrengthWorkout> getStrengthWithMin(WorkoutMetric metric) {
+        return executor.submit(() -> workoutService.getStrengthWithMin(metric));
+    }
+
+    @Override
+    public CompletableFuture<StrengthWorkout> getStrengthWithMax(WorkoutMetric metric) {
+        return executor.submit(() -> workoutService.getStrengthWithMax(metric));
+    }
+
+    // ==================== DASHBOARD ====================
+
+    // The three reads start together; the first failure fails the dashboard without waiting for the rest
+    @Override
+    public CompletableFuture<Dashboard> getDashboard(int limit) {
+        CompletableFuture<List<CardioWorkout>> cardio = getCardioWorkoutsPageDesc(0, limit);
+        CompletableFuture<List<StrengthWorkout>> strength = getStrengthWorkoutsPageDesc(0, limit);
+        CompletableFuture<List<Exercise>> exercises = executor.submit(() -> exerciseService.getExercisesPageDesc(0, limit));
+
+        CompletableFuture<Dashboard> dashboard = new CompletableFuture<>();
+        BiConsumer<Object, Throwable> failFast = (result, error) -> {
+            if (error != null) {
+                dashboard.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        };
+        cardio.whenComplete(failFast);
+        strength.whenComplete(failFast);
+        exercises.whenComplete(failFast);
+        CompletableFuture.allOf(cardio, strength, exercises)
+                .thenRun(() -> dashboard.complete(new Dashboard(cardio.join(), strength.join(), exercises.join())));
+        return dashboard;
+    }
+}
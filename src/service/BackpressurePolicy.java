@@ -0,0 +1,11 @@
+package service;
+
+// What a write-behind submit does when the queue is at capacity
+public enum BackpressurePolicy {
+    // Wait until the flusher frees a slot (callers slow down to the database's pace)
+    BLOCK,
+    // Fail the future at once with RejectedExecutionException
+    FAIL,
+    // Skip the queue and insert on the caller's thread
+    CALLER_RUNS
+}
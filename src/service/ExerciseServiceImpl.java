@@ -6,12 +6,15 @@ import service.interfaces.ExerciseService;
 import exception.*;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 // SRP: Only handles exercise business logic
 public class ExerciseServiceImpl implements ExerciseService {
 
     private final CrudRepository<Exercise> exerciseRepo;
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     // DIP: Constructor injection
     public ExerciseServiceImpl(CrudRepository<Exercise> exerciseRepo) {
         this.exerciseRepo = exerciseRepo;
@@ -21,23 +24,48 @@ public class ExerciseServiceImpl implements ExerciseService {
     public void createExercise(Exercise exercise)
             throws InvalidInputException, DuplicateResourceException, DatabaseOperationException {
 
-        // Validation
-        if (exercise.getName() == null || exercise.getName().trim().isEmpty()) {
-            throw new InvalidInputException("Exercise name cannot be empty");
+        validateExercise(exercise);
+
+        // Duplicate check: the unique LOWER(name) index rejects the insert (SQLState 23505)
+        try {
+            exerciseRepo.create(exercise);
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Exercise with name '" + exercise.getName() + "' already exists");
         }
-        if (exercise.getMuscleGroup() == null || exercise.getMuscleGroup().trim().isEmpty()) {
-            throw new InvalidInputException("Muscle group cannot be empty");
+    }
+
+    // Batch import: validates everything first, then inserts in one transaction
+    @Override
+    public void createExercises(List<Exercise> exercises)
+            throws InvalidInputException, DuplicateResourceException, DatabaseOperationException {
+
+        for (Exercise exercise : exercises) {
+            validateExercise(exercise);
+        }
+        try {
+            exerciseRepo.createAll(exercises);
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Batch contains an exercise name that already exists");
         }
+    }
 
-        // Duplicate check
-//        List<Exercise> existing = exerciseRepo.getAll();
-//        for (Exercise e : existing) {
-//            if (e.getName().equalsIgnoreCase(exercise.getName())) {
-//                throw new DuplicateResourceException("Exercise with name '" + exercise.getName() + "' already exists");
-//            }
-//        }
+    // Sync path: insert or overwrite by name in a single statement (ON CONFLICT)
+    @Override
+    public void upsertExercise(Exercise exercise)
+            throws InvalidInputException, DatabaseOperationException {
 
-        exerciseRepo.create(exercise);
+        validateExercise(exercise);
+        exerciseRepo.upsert(exercise);
+    }
+
+    @Override
+    public void upsertExercises(List<Exercise> exercises)
+            throws InvalidInputException, DatabaseOperationException {
+
+        for (Exercise exercise : exercises) {
+            validateExercise(exercise);
+        }
+        exerciseRepo.upsertAll(exercises);
     }
 
     @Override
@@ -45,6 +73,12 @@ public class ExerciseServiceImpl implements ExerciseService {
         return exerciseRepo.getAll();
     }
 
+    // Caller must close the stream (try-with-resources)
+    @Override
+    public Stream<Exercise> streamAllExercises() throws DatabaseOperationException {
+        return exerciseRepo.streamAll();
+    }
+
     @Override
     public Exercise getExerciseById(int id)
             throws ResourceNotFoundException, DatabaseOperationException {
@@ -56,30 +90,83 @@ public class ExerciseServiceImpl implements ExerciseService {
         return exercise;
     }
 
+    @Override
+    public Exercise getExerciseByName(String name)
+            throws ResourceNotFoundException, DatabaseOperationException {
+
+        Exercise exercise = exerciseRepo.findByName(name);
+        if (exercise == null) {
+            throw new ResourceNotFoundException("Exercise with name '" + name + "' not found");
+        }
+        return exercise;
+    }
+
+    // Keyset pagination: pass 0 for the first page, then the id of the last row received
+    @Override
+    public List<Exercise> getExercisesPage(int afterId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        validatePageLimit(limit);
+        return exerciseRepo.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Exercise> getExercisesPageDesc(int beforeId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        validatePageLimit(limit);
+        return exerciseRepo.getPageDesc(beforeId, limit);
+    }
+
     @Override
     public void updateExercise(int id, Exercise exercise)
-            throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException {
+            throws InvalidInputException, DuplicateResourceException, ResourceNotFoundException, DatabaseOperationException {
 
         if (exercise.getName() == null || exercise.getName().trim().isEmpty()) {
             throw new InvalidInputException("Exercise name cannot be empty");
         }
 
-        Exercise existing = exerciseRepo.getById(id);
-        if (existing == null) {
+        // Single statement: the affected row count doubles as the existence check
+        int updated;
+        try {
+            updated = exerciseRepo.update(id, exercise);
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Exercise with name '" + exercise.getName() + "' already exists");
+        }
+        if (updated == 0) {
             throw new ResourceNotFoundException("Exercise with id " + id + " not found");
         }
-
-        exerciseRepo.update(id, exercise);
     }
 
     @Override
     public void deleteExercise(int id)
             throws ResourceNotFoundException, DatabaseOperationException {
 
-        Exercise existing = exerciseRepo.getById(id);
-        if (existing == null) {
+        if (exerciseRepo.delete(id) == 0) {
             throw new ResourceNotFoundException("Exercise with id " + id + " not found");
         }
-        exerciseRepo.delete(id);
     }
-}
\ No newline at end of file
+
+    // Validation
+    private void validateExercise(Exercise exercise) throws InvalidInputException {
+        if (exercise.getName() == null || exercise.getName().trim().isEmpty()) {
+            throw new InvalidInputException("Exercise name cannot be empty");
+        }
+        if (exercise.getMuscleGroup() == null || exercise.getMuscleGroup().trim().isEmpty()) {
+            throw new InvalidInputException("Muscle group cannot be empty");
+        }
+    }
+
+    private void validatePageLimit(int limit) throws InvalidInputException {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Maps a unique_violation from the database to DuplicateResourceException
+    private DatabaseOperationException duplicateOrRethrow(DatabaseOperationException e, String message)
+            throws DuplicateResourceException {
+        if (e.isUniqueViolation()) {
+            throw new DuplicateResourceException(message);
+        }
+        return e;
+    }
+}
@@ -0,0 +1,38 @@
+package service;
+
+import model.FeedCursor;
+import model.FeedPage;
+import model.Workout;
+import repository.interfaces.FeedRepository;
+import service.interfaces.FeedService;
+import exception.*;
+
+import java.util.stream.Stream;
+
+// SRP: Only handles the cross-type workout feed
+// DIP: Depends on FeedRepository interface, not the UNION ALL implementation
+public class FeedServiceImpl implements FeedService {
+
+    private final FeedRepository feedRepo;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    public FeedServiceImpl(FeedRepository feedRepo) {
+        this.feedRepo = feedRepo;
+    }
+
+    // Pass null for the first page, then the previous page's next cursor
+    @Override
+    public FeedPage getFeedPage(FeedCursor after, int limit) throws InvalidInputException, DatabaseOperationException {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return feedRepo.getPage(after, limit);
+    }
+
+    // Caller must close the stream (try-with-resources) to release its connection
+    @Override
+    public Stream<Workout> streamFeed() throws DatabaseOperationException {
+        return feedRepo.streamAll();
+    }
+}
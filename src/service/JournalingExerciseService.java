@@ -0,0 +1,117 @@
+package service;
+
+import exception.*;
+import journal.Journal;
+import journal.JournalEntry;
+import journal.JournalEntry.Kind;
+import journal.JournalEntry.Target;
+import model.Exercise;
+import service.interfaces.ExerciseService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+// ExerciseService counterpart of JournalingWorkoutService: writes go to the Journal and are applied by a
+// JournalReplayer later; reads go straight to the wrapped service.
+public class JournalingExerciseService implements ExerciseService {
+
+    private final ExerciseService delegate;
+    private final Journal journal;
+
+    public JournalingExerciseService(ExerciseService delegate, Journal journal) {
+        this.delegate = delegate;
+        this.journal = journal;
+    }
+
+    @Override
+    public void createExercise(Exercise exercise) throws InvalidInputException, DatabaseOperationException {
+        validateExercise(exercise);
+        append(JournalEntry.encodeWrite(Target.EXERCISE, Kind.CREATE, List.of(exercise)), "exercise");
+    }
+
+    @Override
+    public void createExercises(List<Exercise> exercises) throws InvalidInputException, DatabaseOperationException {
+        for (Exercise exercise : exercises) {
+            validateExercise(exercise);
+        }
+        append(JournalEntry.encodeWrite(Target.EXERCISE, Kind.CREATE, exercises), "exercises");
+    }
+
+    @Override
+    public void upsertExercise(Exercise exercise) throws InvalidInputException, DatabaseOperationException {
+        validateExercise(exercise);
+        append(JournalEntry.encodeWrite(Target.EXERCISE, Kind.UPSERT, List.of(exercise)), "exercise");
+    }
+
+    @Override
+    public void upsertExercises(List<Exercise> exercises) throws InvalidInputException, DatabaseOperationException {
+        for (Exercise exercise : exercises) {
+            validateExercise(exercise);
+        }
+        append(JournalEntry.encodeWrite(Target.EXERCISE, Kind.UPSERT, exercises), "exercises");
+    }
+
+    @Override
+    public List<Exercise> getAllExercises() throws DatabaseOperationException {
+        return delegate.getAllExercises();
+    }
+
+    @Override
+    public Stream<Exercise> streamAllExercises() throws DatabaseOperationException {
+        return delegate.streamAllExercises();
+    }
+
+    @Override
+    public Exercise getExerciseById(int id) throws ResourceNotFoundException, DatabaseOperationException {
+        return delegate.getExerciseById(id);
+    }
+
+    @Override
+    public Exercise getExerciseByName(String name) throws ResourceNotFoundException, DatabaseOperationException {
+        return delegate.getExerciseByName(name);
+    }
+
+    @Override
+    public List<Exercise> getExercisesPage(int afterId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getExercisesPage(afterId, limit);
+    }
+
+    @Override
+    public List<Exercise> getExercisesPageDesc(int beforeId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getExercisesPageDesc(beforeId, limit);
+    }
+
+    @Override
+    public void updateExercise(int id, Exercise exercise) throws InvalidInputException, DatabaseOperationException {
+        if (exercise.getName() == null || exercise.getName().trim().isEmpty()) {
+            throw new InvalidInputException("Exercise name cannot be empty");
+        }
+        append(JournalEntry.encodeUpdate(Target.EXERCISE, id, exercise), "exercise update");
+    }
+
+    @Override
+    public void deleteExercise(int id) throws DatabaseOperationException {
+        append(JournalEntry.encodeDelete(Target.EXERCISE, id), "exercise delete");
+    }
+
+    // Same checks and messages as ExerciseServiceImpl
+    private void validateExercise(Exercise exercise) throws InvalidInputException {
+        if (exercise.getName() == null || exercise.getName().trim().isEmpty()) {
+            throw new InvalidInputException("Exercise name cannot be empty");
+        }
+        if (exercise.getMuscleGroup() == null || exercise.getMuscleGroup().trim().isEmpty()) {
+            throw new InvalidInputException("Muscle group cannot be empty");
+        }
+    }
+
+    private void append(byte[] payload, String what) throws DatabaseOperationException {
+        try {
+            journal.append(payload);
+        } catch (IOException e) {
+            throw new DatabaseOperationException("Could not journal " + what, e);
+        }
+    }
+}
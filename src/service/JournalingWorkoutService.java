@@ -0,0 +1,320 @@
+package service;
+
+import exception.*;
+import journal.Journal;
+import journal.JournalEntry;
+import journal.JournalEntry.Kind;
+import journal.JournalEntry.Target;
+import model.CardioWorkout;
+import model.StrengthWorkout;
+import model.WorkoutMetric;
+import service.interfaces.WorkoutService;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+// Offline-capable WorkoutService: writes are validated, appended to the local Journal and acknowledged once
+// the journal record is on disk; a JournalReplayer applies them to the wrapped service later. Reads go
+// straight to the wrapped service, so they see a write only after it has been replayed.
+//
+// What only the database can decide is reported by the replayer's RejectListener instead of thrown here:
+// a duplicate name, or an update / delete of an id that does not exist. New workouts get their id on replay.
+// A create is replayed as a create, so a name that was taken in the meantime is rejected, not overwritten.
+public class JournalingWorkoutService implements WorkoutService {
+
+    private final WorkoutService delegate;
+    private final Journal journal;
+
+    public JournalingWorkoutService(WorkoutService delegate, Journal journal) {
+        this.delegate = delegate;
+        this.journal = journal;
+    }
+
+    // ==================== CARDIO METHODS ====================
+
+    @Override
+    public void createCardioWorkout(CardioWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        validateCardio(workout);
+        append(JournalEntry.encodeWrite(Target.CARDIO, Kind.CREATE, List.of(workout)), "cardio workout");
+    }
+
+    @Override
+    public void createCardioWorkouts(List<CardioWorkout> workouts)
+            throws InvalidInputException, DatabaseOperationException {
+
+        for (CardioWorkout workout : workouts) {
+            validateCardioInBatch(workout);
+        }
+        append(JournalEntry.encodeWrite(Target.CARDIO, Kind.CREATE, workouts), "cardio workouts");
+    }
+
+    // Completes once the workout is journaled (not yet in the database)
+    @Override
+    public CompletableFuture<CardioWorkout> submitCardioWorkout(CardioWorkout workout) {
+        try {
+            createCardioWorkout(workout);
+            return CompletableFuture.completedFuture(workout);
+        } catch (InvalidInputException | DatabaseOperationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void upsertCardioWorkout(CardioWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        validateCardio(workout);
+        append(JournalEntry.encodeWrite(Target.CARDIO, Kind.UPSERT, List.of(workout)), "cardio workout");
+    }
+
+    @Override
+    public void upsertCardioWorkouts(List<CardioWorkout> workouts)
+            throws InvalidInputException, DatabaseOperationException {
+
+        for (CardioWorkout workout : workouts) {
+            validateCardioInBatch(workout);
+        }
+        append(JournalEntry.encodeWrite(Target.CARDIO, Kind.UPSERT, workouts), "cardio workouts");
+    }
+
+    @Override
+    public void updateCardioWorkout(int id, CardioWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid cardio workout data");
+        }
+        append(JournalEntry.encodeUpdate(Target.CARDIO, id, workout), "cardio workout update");
+    }
+
+    @Override
+    public void deleteCardioWorkout(int id) throws DatabaseOperationException {
+        append(JournalEntry.encodeDelete(Target.CARDIO, id), "cardio workout delete");
+    }
+
+    @Override
+    public List<CardioWorkout> getAllCardioWorkouts() throws DatabaseOperationException {
+        return delegate.getAllCardioWorkouts();
+    }
+
+    @Override
+    public Stream<CardioWorkout> streamAllCardioWorkouts() throws DatabaseOperationException {
+        return delegate.streamAllCardioWorkouts();
+    }
+
+    @Override
+    public CardioWorkout getCardioWorkoutById(int id) throws ResourceNotFoundException, DatabaseOperationException {
+        return delegate.getCardioWorkoutById(id);
+    }
+
+    @Override
+    public CardioWorkout getCardioWorkoutByName(String name) throws ResourceNotFoundException, DatabaseOperationException {
+        return delegate.getCardioWorkoutByName(name);
+    }
+
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsPage(int afterId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getCardioWorkoutsPage(afterId, limit);
+    }
+
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsPageDesc(int beforeId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getCardioWorkoutsPageDesc(beforeId, limit);
+    }
+
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsBetween(LocalDateTime from, LocalDateTime to)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getCardioWorkoutsBetween(from, to);
+    }
+
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsSince(LocalDateTime since)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getCardioWorkoutsSince(since);
+    }
+
+    // ==================== STRENGTH METHODS ====================
+
+    @Override
+    public void createStrengthWorkout(StrengthWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        validateStrength(workout);
+        append(JournalEntry.encodeWrite(Target.STRENGTH, Kind.CREATE, List.of(workout)), "strength workout");
+    }
+
+    @Override
+    public void createStrengthWorkouts(List<StrengthWorkout> workouts)
+            throws InvalidInputException, DatabaseOperationException {
+
+        for (StrengthWorkout workout : workouts) {
+            validateStrengthInBatch(workout);
+        }
+        append(JournalEntry.encodeWrite(Target.STRENGTH, Kind.CREATE, workouts), "strength workouts");
+    }
+
+    @Override
+    public CompletableFuture<StrengthWorkout> submitStrengthWorkout(StrengthWorkout workout) {
+        try {
+            createStrengthWorkout(workout);
+            return CompletableFuture.completedFuture(workout);
+        } catch (InvalidInputException | DatabaseOperationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void upsertStrengthWorkout(StrengthWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        validateStrength(workout);
+        append(JournalEntry.encodeWrite(Target.STRENGTH, Kind.UPSERT, List.of(workout)), "strength workout");
+    }
+
+    @Override
+    public void upsertStrengthWorkouts(List<StrengthWorkout> workouts)
+            throws InvalidInputException, DatabaseOperationException {
+
+        for (StrengthWorkout workout : workouts) {
+            validateStrengthInBatch(workout);
+        }
+        append(JournalEntry.encodeWrite(Target.STRENGTH, Kind.UPSERT, workouts), "strength workouts");
+    }
+
+    @Override
+    public void updateStrengthWorkout(int id, StrengthWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid strength workout data");
+        }
+        append(JournalEntry.encodeUpdate(Target.STRENGTH, id, workout), "strength workout update");
+    }
+
+    @Override
+    public void deleteStrengthWorkout(int id) throws DatabaseOperationException {
+        append(JournalEntry.encodeDelete(Target.STRENGTH, id), "strength workout delete");
+    }
+
+    @Override
+    public List<StrengthWorkout> getAllStrengthWorkouts() throws DatabaseOperationException {
+        return delegate.getAllStrengthWorkouts();
+    }
+
+    @Override
+    public Stream<StrengthWorkout> streamAllStrengthWorkouts() throws DatabaseOperationException {
+        return delegate.streamAllStrengthWorkouts();
+    }
+
+    @Override
+    public StrengthWorkout getStrengthWorkoutById(int id) throws ResourceNotFoundException, DatabaseOperationException {
+        return delegate.getStrengthWorkoutById(id);
+    }
+
+    @Override
+    public StrengthWorkout getStrengthWorkoutByName(String name) throws ResourceNotFoundException, DatabaseOperationException {
+        return delegate.getStrengthWorkoutByName(name);
+    }
+
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsPage(int afterId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getStrengthWorkoutsPage(afterId, limit);
+    }
+
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsPageDesc(int beforeId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getStrengthWorkoutsPageDesc(beforeId, limit);
+    }
+
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsBetween(LocalDateTime from, LocalDateTime to)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getStrengthWorkoutsBetween(from, to);
+    }
+
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsSince(LocalDateTime since)
+            throws InvalidInputException, DatabaseOperationException {
+        return delegate.getStrengthWorkoutsSince(since);
+    }
+
+    // ==================== MIN / MAX ====================
+
+    @Override
+    public CardioWorkout getCardioWithMinDuration() throws DatabaseOperationException {
+        return delegate.getCardioWithMinDuration();
+    }
+
+    @Override
+    public StrengthWorkout getStrengthWithMinWeight() throws DatabaseOperationException {
+        return delegate.getStrengthWithMinWeight();
+    }
+
+    @Override
+    public CardioWorkout getCardioWithMin(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException {
+        return delegate.getCardioWithMin(metric);
+    }
+
+    @Override
+    public CardioWorkout getCardioWithMax(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException {
+        return delegate.getCardioWithMax(metric);
+    }
+
+    @Override
+    public StrengthWorkout getStrengthWithMin(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException {
+        return delegate.getStrengthWithMin(metric);
+    }
+
+    @Override
+    public StrengthWorkout getStrengthWithMax(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException {
+        return delegate.getStrengthWithMax(metric);
+    }
+
+    // ==================== HELPERS ====================
+
+    // Same checks and messages as WorkoutServiceImpl, so callers see no difference
+    private void validateCardio(CardioWorkout workout) throws InvalidInputException {
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid cardio workout data: check name, duration, calories, distance, heart rate");
+        }
+    }
+
+    private void validateCardioInBatch(CardioWorkout workout) throws InvalidInputException {
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid cardio workout data for '" + workout.getName()
+                    + "': check name, duration, calories, distance, heart rate");
+        }
+    }
+
+    private void validateStrength(StrengthWorkout workout) throws InvalidInputException {
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid strength workout data: check name, duration, calories, sets, reps, weight");
+        }
+    }
+
+    private void validateStrengthInBatch(StrengthWorkout workout) throws InvalidInputException {
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid strength workout data for '" + workout.getName()
+                    + "': check name, duration, calories, sets, reps, weight");
+        }
+    }
+
+    // Returns once the record is on disk
+    private void append(byte[] payload, String what) throws DatabaseOperationException {
+        try {
+            journal.append(payload);
+        } catch (IOException e) {
+            throw new DatabaseOperationException("Could not journal " + what, e);
+        }
+    }
+}
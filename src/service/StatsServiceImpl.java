@@ -0,0 +1,90 @@
+package service;
+
+import analytics.RunningWorkoutStats;
+import model.RollupPeriod;
+import model.WorkoutRollup;
+import model.WorkoutTotals;
+import repository.interfaces.RollupRepository;
+import service.interfaces.StatsService;
+import exception.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// SRP: Only handles workout summaries
+// DIP: Depends on RollupRepository interface, not the SQL behind it
+public class StatsServiceImpl implements StatsService {
+
+    private final RollupRepository rollupRepo;
+    private final RunningWorkoutStats runningStats;
+
+    // Caps one request at about ten years of daily rollups
+    private static final long MAX_RANGE_DAYS = 3700;
+
+    // runningStats must be the instance WorkoutServiceImpl updates
+    public StatsServiceImpl(RollupRepository rollupRepo, RunningWorkoutStats runningStats) {
+        this.rollupRepo = rollupRepo;
+        this.runningStats = runningStats;
+    }
+
+    @Override
+    public List<WorkoutRollup> getRollups(RollupPeriod period, LocalDate from, LocalDate to)
+            throws InvalidInputException, DatabaseOperationException {
+        validateRange(period, from, to);
+        return rollupRepo.findRange(period, null, period.startOf(from), to);
+    }
+
+    @Override
+    public List<WorkoutRollup> getRollups(RollupPeriod period, String workoutType, LocalDate from, LocalDate to)
+            throws InvalidInputException, DatabaseOperationException {
+        validateRange(period, from, to);
+        validateWorkoutType(workoutType);
+        return rollupRepo.findRange(period, workoutType, period.startOf(from), to);
+    }
+
+    @Override
+    public WorkoutRollup getRollup(RollupPeriod period, String workoutType, LocalDate date)
+            throws InvalidInputException, DatabaseOperationException {
+        if (period == null || date == null) {
+            throw new InvalidInputException("Period and date must not be null");
+        }
+        validateWorkoutType(workoutType);
+        LocalDate start = period.startOf(date);
+        List<WorkoutRollup> rollups = rollupRepo.findRange(period, workoutType, start, start.plusDays(1));
+        return rollups.isEmpty() ? null : rollups.get(0);
+    }
+
+    @Override
+    public WorkoutTotals getLiveTotals(String workoutType) throws InvalidInputException {
+        validateWorkoutType(workoutType);
+        return WorkoutRollup.CARDIO.equals(workoutType)
+                ? runningStats.getCardioTotals()
+                : runningStats.getStrengthTotals();
+    }
+
+    @Override
+    public long rebuildRollups() throws DatabaseOperationException {
+        return rollupRepo.rebuild();
+    }
+
+    // from is widened to the start of its period, so a range beginning mid-week still returns that week
+    private void validateRange(RollupPeriod period, LocalDate from, LocalDate to) throws InvalidInputException {
+        if (period == null || from == null || to == null) {
+            throw new InvalidInputException("Period and date range must not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidInputException("Date range start " + from + " is after its end " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new InvalidInputException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private void validateWorkoutType(String workoutType) throws InvalidInputException {
+        if (!WorkoutRollup.CARDIO.equals(workoutType) && !WorkoutRollup.STRENGTH.equals(workoutType)) {
+            throw new InvalidInputException("Workout type must be '" + WorkoutRollup.CARDIO
+                    + "' or '" + WorkoutRollup.STRENGTH + "': " + workoutType);
+        }
+    }
+}
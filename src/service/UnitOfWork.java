@@ -0,0 +1,69 @@
+package service;
+
+import exception.DatabaseOperationException;
+import utils.DatabaseConnection;
+
+import java.sql.SQLException;
+
+// Runs a block of service / repository calls on one connection with a single commit.
+// Any exception rolls the whole block back. Nested blocks join the outer one.
+//
+//   unitOfWork.run(() -> {
+//       workoutService.createCardioWorkout(warmUp);
+//       workoutService.createStrengthWorkouts(sets);
+//       exerciseService.createExercise(newExercise);
+//   });
+public class UnitOfWork {
+
+    @FunctionalInterface
+    public interface Work<R, E extends Exception> {
+        R execute() throws E;
+    }
+
+    @FunctionalInterface
+    public interface VoidWork<E extends Exception> {
+        void execute() throws E;
+    }
+
+    public <E extends Exception> void run(VoidWork<E> work) throws E, DatabaseOperationException {
+        execute(() -> {
+            work.execute();
+            return null;
+        });
+    }
+
+    public <R, E extends Exception> R execute(Work<R, E> work) throws E, DatabaseOperationException {
+        if (DatabaseConnection.isInTransaction()) {
+            return work.execute();
+        }
+
+        try {
+            DatabaseConnection.beginTransaction();
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error starting transaction", e);
+        }
+
+        R result;
+        try {
+            result = work.execute();
+        } catch (Throwable t) {
+            rollbackQuietly(t);
+            throw t;
+        }
+
+        try {
+            DatabaseConnection.commitTransaction();
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error committing transaction", e);
+        }
+        return result;
+    }
+
+    private void rollbackQuietly(Throwable cause) {
+        try {
+            DatabaseConnection.rollbackTransaction();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
@@ -1,25 +1,78 @@
 package service;
 
+import analytics.RunningWorkoutStats;
 import model.CardioWorkout;
 import model.StrengthWorkout;
+import model.WorkoutMetric;
 import repository.interfaces.CrudRepository;
+import repository.interfaces.WorkoutRepository;
 import service.interfaces.WorkoutService;
+import utils.DatabaseConnection;
 import exception.*;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 // SRP: Only handles workout business logic
-// DIP: Depends on CrudRepository interface, not concrete class
-public class WorkoutServiceImpl implements WorkoutService {
+// DIP: Depends on WorkoutRepository interface, not concrete class
+public class WorkoutServiceImpl implements WorkoutService, AutoCloseable {
 
-    private final CrudRepository<CardioWorkout> cardioRepo;
-    private final CrudRepository<StrengthWorkout> strengthRepo;
+    private final WorkoutRepository<CardioWorkout> cardioRepo;
+    private final WorkoutRepository<StrengthWorkout> strengthRepo;
+    // Optional live totals; null when nobody reads them
+    private final RunningWorkoutStats runningStats;
+    // Write-behind buffers; null when creates insert on the caller's thread
+    private final WriteBehindBuffer<CardioWorkout> cardioBuffer;
+    private final WriteBehindBuffer<StrengthWorkout> strengthBuffer;
+
+    private static final int MAX_PAGE_SIZE = 1000;
 
     // DIP: Constructor injection - receives interfaces
-    public WorkoutServiceImpl(CrudRepository<CardioWorkout> cardioRepo,
-                              CrudRepository<StrengthWorkout> strengthRepo) {
+    public WorkoutServiceImpl(WorkoutRepository<CardioWorkout> cardioRepo,
+                              WorkoutRepository<StrengthWorkout> strengthRepo) {
+        this(cardioRepo, strengthRepo, null);
+    }
+
+    // Every committed write is also applied to runningStats. Updates, deletes and upserts then use the
+    // repository variants that return the previous row, so the totals can subtract what was replaced.
+    public WorkoutServiceImpl(WorkoutRepository<CardioWorkout> cardioRepo,
+                              WorkoutRepository<StrengthWorkout> strengthRepo,
+                              RunningWorkoutStats runningStats) {
+        this(cardioRepo, strengthRepo, runningStats, null);
+    }
+
+    // With a WriteBehindConfig, creates outside a UnitOfWork are queued and inserted in multi-row batches
+    // by a background flusher; close() writes whatever is still queued.
+    public WorkoutServiceImpl(WorkoutRepository<CardioWorkout> cardioRepo,
+                              WorkoutRepository<StrengthWorkout> strengthRepo,
+                              RunningWorkoutStats runningStats,
+                              WriteBehindConfig writeBehind) {
         this.cardioRepo = cardioRepo;
         this.strengthRepo = strengthRepo;
+        this.runningStats = runningStats;
+        if (writeBehind == null) {
+            this.cardioBuffer = null;
+            this.strengthBuffer = null;
+        } else {
+            this.cardioBuffer = new WriteBehindBuffer<>("cardio", writeBehind, batch -> {
+                cardioRepo.createAll(batch);
+                for (CardioWorkout workout : batch) {
+                    recordCardio(null, workout);
+                }
+            }, this::insertCardio);
+            this.strengthBuffer = new WriteBehindBuffer<>("strength", writeBehind, batch -> {
+                strengthRepo.createAll(batch);
+                for (StrengthWorkout workout : batch) {
+                    recordStrength(null, workout);
+                }
+            }, this::insertStrength);
+        }
     }
 
     // ==================== CARDIO METHODS ====================
@@ -32,16 +85,105 @@ public class WorkoutServiceImpl implements WorkoutService {
         if (!workout.validate()) {
             throw new InvalidInputException("Invalid cardio workout data: check name, duration, calories, distance, heart rate");
         }
+        // Inside a UnitOfWork the insert must join the caller's transaction
+        if (cardioBuffer == null || DatabaseConnection.isInTransaction()) {
+            insertCardio(workout);
+        } else {
+            await(cardioBuffer.submit(workout));
+        }
+    }
+
+    // Completes with the workout (id set) once its insert has committed. In write-behind mode this
+    // returns at once and the insert shares a batch with other callers; otherwise it inserts first.
+    @Override
+    public CompletableFuture<CardioWorkout> submitCardioWorkout(CardioWorkout workout) {
+        if (!workout.validate()) {
+            return CompletableFuture.failedFuture(new InvalidInputException(
+                    "Invalid cardio workout data: check name, duration, calories, distance, heart rate"));
+        }
+        if (cardioBuffer == null || DatabaseConnection.isInTransaction()) {
+            try {
+                insertCardio(workout);
+                return CompletableFuture.completedFuture(workout);
+            } catch (DuplicateResourceException | DatabaseOperationException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return cardioBuffer.submit(workout);
+    }
+
+    private void insertCardio(CardioWorkout workout) throws DuplicateResourceException, DatabaseOperationException {
+        // Duplicate check: the unique LOWER(name) index rejects the insert (SQLState 23505)
+        try {
+            cardioRepo.create(workout);
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Cardio workout with name '" + workout.getName() + "' already exists");
+        }
+        recordCardio(null, workout);
+    }
+
+    // Batch import: validates everything first, then inserts in one transaction
+    @Override
+    public void createCardioWorkouts(List<CardioWorkout> workouts)
+            throws InvalidInputException, DuplicateResourceException, DatabaseOperationException {
+
+        for (CardioWorkout workout : workouts) {
+            if (!workout.validate()) {
+                throw new InvalidInputException("Invalid cardio workout data for '" + workout.getName()
+                        + "': check name, duration, calories, distance, heart rate");
+            }
+        }
+        try {
+            cardioRepo.createAll(workouts);
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Batch contains a cardio workout name that already exists");
+        }
+        for (CardioWorkout workout : workouts) {
+            recordCardio(null, workout);
+        }
+    }
+
+    // Sync path: insert or overwrite by name in a single statement (ON CONFLICT)
+    @Override
+    public void upsertCardioWorkout(CardioWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid cardio workout data: check name, duration, calories, distance, heart rate");
+        }
+        if (runningStats == null) {
+            cardioRepo.upsert(workout);
+        } else {
+            recordCardio(cardioRepo.upsertReturningPrevious(workout), workout);
+        }
+    }
 
-        // Duplicate check
-//        List<CardioWorkout> existing = cardioRepo.getAll();
-//        for (CardioWorkout w : existing) {
-//            if (w.getName().equalsIgnoreCase(workout.getName())) {
-//                throw new DuplicateResourceException("Cardio workout with name '" + workout.getName() + "' already exists");
-//            }
-//        }
+    @Override
+    public void upsertCardioWorkouts(List<CardioWorkout> workouts)
+            throws InvalidInputException, DatabaseOperationException {
 
-        cardioRepo.create(workout);
+        for (CardioWorkout workout : workouts) {
+            if (!workout.validate()) {
+                throw new InvalidInputException("Invalid cardio workout data for '" + workout.getName()
+                        + "': check name, duration, calories, distance, heart rate");
+            }
+        }
+        if (runningStats == null) {
+            cardioRepo.upsertAll(workouts);
+            return;
+        }
+        List<CardioWorkout> previous = cardioRepo.upsertAllReturningPrevious(workouts, CrudRepository.DEFAULT_BATCH_SIZE);
+        for (CardioWorkout old : previous) {
+            recordCardio(old, null);
+        }
+        // Workouts sharing a name were stored once, as the last of them
+        Map<Integer, CardioWorkout> stored = new LinkedHashMap<>();
+        for (CardioWorkout workout : workouts) {
+            stored.put(workout.getId(), workout);
+        }
+        for (CardioWorkout workout : stored.values()) {
+            recordCardio(null, workout);
+        }
     }
 
     @Override
@@ -49,6 +191,12 @@ public class WorkoutServiceImpl implements WorkoutService {
         return cardioRepo.getAll();
     }
 
+    // Caller must close the stream (try-with-resources)
+    @Override
+    public Stream<CardioWorkout> streamAllCardioWorkouts() throws DatabaseOperationException {
+        return cardioRepo.streamAll();
+    }
+
     @Override
     public CardioWorkout getCardioWorkoutById(int id)
             throws ResourceNotFoundException, DatabaseOperationException {
@@ -60,46 +208,116 @@ public class WorkoutServiceImpl implements WorkoutService {
         return workout;
     }
 
+    @Override
+    public CardioWorkout getCardioWorkoutByName(String name)
+            throws ResourceNotFoundException, DatabaseOperationException {
+
+        CardioWorkout workout = cardioRepo.findByName(name);
+        if (workout == null) {
+            throw new ResourceNotFoundException("Cardio workout with name '" + name + "' not found");
+        }
+        return workout;
+    }
+
+    // Keyset pagination: pass 0 for the first page, then the id of the last row received
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsPage(int afterId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        validatePageLimit(limit);
+        return cardioRepo.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsPageDesc(int beforeId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        validatePageLimit(limit);
+        return cardioRepo.getPageDesc(beforeId, limit);
+    }
+
+    // Created in [from, to), oldest first
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsBetween(LocalDateTime from, LocalDateTime to)
+            throws InvalidInputException, DatabaseOperationException {
+        validateRange(from, to);
+        return cardioRepo.findBetween(from, to);
+    }
+
+    @Override
+    public List<CardioWorkout> getCardioWorkoutsSince(LocalDateTime since)
+            throws InvalidInputException, DatabaseOperationException {
+        validateSince(since);
+        return cardioRepo.findSince(since);
+    }
+
     @Override
     public void updateCardioWorkout(int id, CardioWorkout workout)
-            throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException {
+            throws InvalidInputException, DuplicateResourceException, ResourceNotFoundException, DatabaseOperationException {
 
         if (!workout.validate()) {
             throw new InvalidInputException("Invalid cardio workout data");
         }
 
-        CardioWorkout existing = cardioRepo.getById(id);
-        if (existing == null) {
+        // Single statement: the affected row count doubles as the existence check
+        int updated;
+        try {
+            if (runningStats == null) {
+                updated = cardioRepo.update(id, workout);
+            } else {
+                CardioWorkout previous = cardioRepo.updateReturningPrevious(id, workout);
+                updated = previous == null ? 0 : 1;
+                if (previous != null) {
+                    recordCardio(previous, workout);
+                }
+            }
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Cardio workout with name '" + workout.getName() + "' already exists");
+        }
+        if (updated == 0) {
             throw new ResourceNotFoundException("Cardio workout with id " + id + " not found");
         }
-
-        cardioRepo.update(id, workout);
     }
 
     @Override
     public void deleteCardioWorkout(int id)
             throws ResourceNotFoundException, DatabaseOperationException {
 
-        CardioWorkout existing = cardioRepo.getById(id);
-        if (existing == null) {
+        if (runningStats != null) {
+            CardioWorkout previous = cardioRepo.deleteReturningPrevious(id);
+            if (previous == null) {
+                throw new ResourceNotFoundException("Cardio workout with id " + id + " not found");
+            }
+            recordCardio(previous, null);
+            return;
+        }
+        if (cardioRepo.delete(id) == 0) {
             throw new ResourceNotFoundException("Cardio workout with id " + id + " not found");
         }
-        cardioRepo.delete(id);
     }
 
-    // Find minimum duration using getAll()
+    // Index seek on (duration_minutes, id) instead of loading every row
     @Override
     public CardioWorkout getCardioWithMinDuration() throws DatabaseOperationException {
-        List<CardioWorkout> all = cardioRepo.getAll();
-        if (all.isEmpty()) return null;
+        return cardioRepo.findMin(WorkoutMetric.DURATION);
+    }
 
-        CardioWorkout min = all.get(0);
-        for (CardioWorkout w : all) {
-            if (w.getDurationMinutes() < min.getDurationMinutes()) {
-                min = w;
-            }
+    @Override
+    public CardioWorkout getCardioWithMin(WorkoutMetric metric)
+            throws InvalidInputException, DatabaseOperationException {
+        try {
+            return cardioRepo.findMin(metric);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+    }
+
+    @Override
+    public CardioWorkout getCardioWithMax(WorkoutMetric metric)
+            throws InvalidInputException, DatabaseOperationException {
+        try {
+            return cardioRepo.findMax(metric);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
         }
-        return min;
     }
 
     // ==================== STRENGTH METHODS ====================
@@ -111,15 +329,99 @@ public class WorkoutServiceImpl implements WorkoutService {
         if (!workout.validate()) {
             throw new InvalidInputException("Invalid strength workout data: check name, duration, calories, sets, reps, weight");
         }
+        if (strengthBuffer == null || DatabaseConnection.isInTransaction()) {
+            insertStrength(workout);
+        } else {
+            await(strengthBuffer.submit(workout));
+        }
+    }
+
+    @Override
+    public CompletableFuture<StrengthWorkout> submitStrengthWorkout(StrengthWorkout workout) {
+        if (!workout.validate()) {
+            return CompletableFuture.failedFuture(new InvalidInputException(
+                    "Invalid strength workout data: check name, duration, calories, sets, reps, weight"));
+        }
+        if (strengthBuffer == null || DatabaseConnection.isInTransaction()) {
+            try {
+                insertStrength(workout);
+                return CompletableFuture.completedFuture(workout);
+            } catch (DuplicateResourceException | DatabaseOperationException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return strengthBuffer.submit(workout);
+    }
+
+    private void insertStrength(StrengthWorkout workout) throws DuplicateResourceException, DatabaseOperationException {
+        try {
+            strengthRepo.create(workout);
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Strength workout with name '" + workout.getName() + "' already exists");
+        }
+        recordStrength(null, workout);
+    }
+
+    @Override
+    public void createStrengthWorkouts(List<StrengthWorkout> workouts)
+            throws InvalidInputException, DuplicateResourceException, DatabaseOperationException {
+
+        for (StrengthWorkout workout : workouts) {
+            if (!workout.validate()) {
+                throw new InvalidInputException("Invalid strength workout data for '" + workout.getName()
+                        + "': check name, duration, calories, sets, reps, weight");
+            }
+        }
+        try {
+            strengthRepo.createAll(workouts);
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Batch contains a strength workout name that already exists");
+        }
+        for (StrengthWorkout workout : workouts) {
+            recordStrength(null, workout);
+        }
+    }
+
+    @Override
+    public void upsertStrengthWorkout(StrengthWorkout workout)
+            throws InvalidInputException, DatabaseOperationException {
+
+        if (!workout.validate()) {
+            throw new InvalidInputException("Invalid strength workout data: check name, duration, calories, sets, reps, weight");
+        }
+        if (runningStats == null) {
+            strengthRepo.upsert(workout);
+        } else {
+            recordStrength(strengthRepo.upsertReturningPrevious(workout), workout);
+        }
+    }
 
-//        List<StrengthWorkout> existing = strengthRepo.getAll();
-//        for (StrengthWorkout w : existing) {
-//            if (w.getName().equalsIgnoreCase(workout.getName())) {
-//                throw new DuplicateResourceException("Strength workout with name '" + workout.getName() + "' already exists");
-//            }
-//        }
+    @Override
+    public void upsertStrengthWorkouts(List<StrengthWorkout> workouts)
+            throws InvalidInputException, DatabaseOperationException {
 
-        strengthRepo.create(workout);
+        for (StrengthWorkout workout : workouts) {
+            if (!workout.validate()) {
+                throw new InvalidInputException("Invalid strength workout data for '" + workout.getName()
+                        + "': check name, duration, calories, sets, reps, weight");
+            }
+        }
+        if (runningStats == null) {
+            strengthRepo.upsertAll(workouts);
+            return;
+        }
+        List<StrengthWorkout> previous = strengthRepo.upsertAllReturningPrevious(workouts, CrudRepository.DEFAULT_BATCH_SIZE);
+        for (StrengthWorkout old : previous) {
+            recordStrength(old, null);
+        }
+        // Workouts sharing a name were stored once, as the last of them
+        Map<Integer, StrengthWorkout> stored = new LinkedHashMap<>();
+        for (StrengthWorkout workout : workouts) {
+            stored.put(workout.getId(), workout);
+        }
+        for (StrengthWorkout workout : stored.values()) {
+            recordStrength(null, workout);
+        }
     }
 
     @Override
@@ -127,6 +429,12 @@ public class WorkoutServiceImpl implements WorkoutService {
         return strengthRepo.getAll();
     }
 
+    // Caller must close the stream (try-with-resources)
+    @Override
+    public Stream<StrengthWorkout> streamAllStrengthWorkouts() throws DatabaseOperationException {
+        return strengthRepo.streamAll();
+    }
+
     @Override
     public StrengthWorkout getStrengthWorkoutById(int id)
             throws ResourceNotFoundException, DatabaseOperationException {
@@ -138,45 +446,212 @@ public class WorkoutServiceImpl implements WorkoutService {
         return workout;
     }
 
+    @Override
+    public StrengthWorkout getStrengthWorkoutByName(String name)
+            throws ResourceNotFoundException, DatabaseOperationException {
+
+        StrengthWorkout workout = strengthRepo.findByName(name);
+        if (workout == null) {
+            throw new ResourceNotFoundException("Strength workout with name '" + name + "' not found");
+        }
+        return workout;
+    }
+
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsPage(int afterId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        validatePageLimit(limit);
+        return strengthRepo.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsPageDesc(int beforeId, int limit)
+            throws InvalidInputException, DatabaseOperationException {
+        validatePageLimit(limit);
+        return strengthRepo.getPageDesc(beforeId, limit);
+    }
+
+    // Created in [from, to), oldest first
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsBetween(LocalDateTime from, LocalDateTime to)
+            throws InvalidInputException, DatabaseOperationException {
+        validateRange(from, to);
+        return strengthRepo.findBetween(from, to);
+    }
+
+    @Override
+    public List<StrengthWorkout> getStrengthWorkoutsSince(LocalDateTime since)
+            throws InvalidInputException, DatabaseOperationException {
+        validateSince(since);
+        return strengthRepo.findSince(since);
+    }
+
     @Override
     public void updateStrengthWorkout(int id, StrengthWorkout workout)
-            throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException {
+            throws InvalidInputException, DuplicateResourceException, ResourceNotFoundException, DatabaseOperationException {
 
         if (!workout.validate()) {
             throw new InvalidInputException("Invalid strength workout data");
         }
 
-        StrengthWorkout existing = strengthRepo.getById(id);
-        if (existing == null) {
+        // Single statement: the affected row count doubles as the existence check
+        int updated;
+        try {
+            if (runningStats == null) {
+                updated = strengthRepo.update(id, workout);
+            } else {
+                StrengthWorkout previous = strengthRepo.updateReturningPrevious(id, workout);
+                updated = previous == null ? 0 : 1;
+                if (previous != null) {
+                    recordStrength(previous, workout);
+                }
+            }
+        } catch (DatabaseOperationException e) {
+            throw duplicateOrRethrow(e, "Strength workout with name '" + workout.getName() + "' already exists");
+        }
+        if (updated == 0) {
             throw new ResourceNotFoundException("Strength workout with id " + id + " not found");
         }
-
-        strengthRepo.update(id, workout);
     }
 
     @Override
     public void deleteStrengthWorkout(int id)
             throws ResourceNotFoundException, DatabaseOperationException {
 
-        StrengthWorkout existing = strengthRepo.getById(id);
-        if (existing == null) {
+        if (runningStats != null) {
+            StrengthWorkout previous = strengthRepo.deleteReturningPrevious(id);
+            if (previous == null) {
+                throw new ResourceNotFoundException("Strength workout with id " + id + " not found");
+            }
+            recordStrength(previous, null);
+            return;
+        }
+        if (strengthRepo.delete(id) == 0) {
             throw new ResourceNotFoundException("Strength workout with id " + id + " not found");
         }
-        strengthRepo.delete(id);
     }
 
-    // Find minimum weight using getAll()
+    // Index seek on (weight_kg, id) instead of loading every row
     @Override
     public StrengthWorkout getStrengthWithMinWeight() throws DatabaseOperationException {
-        List<StrengthWorkout> all = strengthRepo.getAll();
-        if (all.isEmpty()) return null;
+        return strengthRepo.findMin(WorkoutMetric.WEIGHT);
+    }
+
+    @Override
+    public StrengthWorkout getStrengthWithMin(WorkoutMetric metric)
+            throws InvalidInputException, DatabaseOperationException {
+        try {
+            return strengthRepo.findMin(metric);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+    }
+
+    @Override
+    public StrengthWorkout getStrengthWithMax(WorkoutMetric metric)
+            throws InvalidInputException, DatabaseOperationException {
+        try {
+            return strengthRepo.findMax(metric);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+    }
+
+    // ==================== WRITE-BEHIND ====================
+
+    // Waits for a queued create and rethrows its failure as the synchronous create would
+    private static void await(CompletableFuture<?> future) throws DuplicateResourceException, DatabaseOperationException {
+        try {
+            future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof DuplicateResourceException) {
+                throw (DuplicateResourceException) cause;
+            }
+            if (cause instanceof DatabaseOperationException) {
+                throw (DatabaseOperationException) cause;
+            }
+            throw new DatabaseOperationException("Write-behind insert failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    public boolean isWriteBehind() {
+        return cardioBuffer != null;
+    }
+
+    public String getWriteBehindStats() {
+        if (cardioBuffer == null) {
+            return "WriteBehind[off]";
+        }
+        return cardioBuffer.getStats() + " " + strengthBuffer.getStats();
+    }
 
-        StrengthWorkout min = all.get(0);
-        for (StrengthWorkout w : all) {
-            if (w.getWeightKg() < min.getWeightKg()) {
-                min = w;
+    // Flushes and stops the write-behind buffers; throws if a queued workout could not be written
+    @Override
+    public void close() throws DatabaseOperationException {
+        if (cardioBuffer == null) {
+            return;
+        }
+        DatabaseOperationException failure = null;
+        try {
+            cardioBuffer.close();
+        } catch (DatabaseOperationException e) {
+            failure = e;
+        }
+        try {
+            strengthBuffer.close();
+        } catch (DatabaseOperationException e) {
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
             }
         }
-        return min;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Applied when the surrounding transaction commits (at once outside a UnitOfWork), never on rollback
+    private void recordCardio(CardioWorkout previous, CardioWorkout current) {
+        if (runningStats != null) {
+            DatabaseConnection.runAfterCommit(runningStats.cardioChange(previous, current));
+        }
+    }
+
+    private void recordStrength(StrengthWorkout previous, StrengthWorkout current) {
+        if (runningStats != null) {
+            DatabaseConnection.runAfterCommit(runningStats.strengthChange(previous, current));
+        }
+    }
+
+    private void validatePageLimit(int limit) throws InvalidInputException {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) throws InvalidInputException {
+        if (from == null || to == null) {
+            throw new InvalidInputException("Time range bounds must not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidInputException("Time range start " + from + " is after its end " + to);
+        }
+    }
+
+    private void validateSince(LocalDateTime since) throws InvalidInputException {
+        if (since == null) {
+            throw new InvalidInputException("Start time must not be null");
+        }
+    }
+
+    // Maps a unique_violation from the database to DuplicateResourceException
+    private DatabaseOperationException duplicateOrRethrow(DatabaseOperationException e, String message)
+            throws DuplicateResourceException {
+        if (e.isUniqueViolation()) {
+            throw new DuplicateResourceException(message);
+        }
+        return e;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,281 @@
+package service;
+
+import exception.DatabaseOperationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Write-behind queue for one workout table.
+// Callers enqueue without taking a lock: a slot is reserved by a CAS on the counter, then the item goes on a
+// ConcurrentLinkedQueue. One flusher thread takes up to batchSize items, once a full batch is waiting or the
+// oldest item has waited maxDelay, and writes them with one multi-row insert. If the batch fails (e.g. one
+// duplicate name), its items are retried one by one so only the failing ones fail.
+// Every accepted item's future completes: with the item once its insert committed, or with the error.
+// A slot stays reserved until its item is written, so capacity bounds everything not yet in the database.
+public final class WriteBehindBuffer<T> implements AutoCloseable {
+
+    @FunctionalInterface
+    interface BatchWriter<T> {
+        void writeAll(List<T> batch) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface RowWriter<T> {
+        void write(T item) throws Exception;
+    }
+
+    // Sign bit of the reservation counter: set once close() starts, after which nothing is accepted
+    private static final int CLOSED = Integer.MIN_VALUE;
+    private static final int COUNT = Integer.MAX_VALUE;
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final String name;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final BackpressurePolicy policy;
+    private final BatchWriter<T> batchWriter;
+    private final RowWriter<T> rowWriter;
+
+    private final ConcurrentLinkedQueue<Pending<T>> queue = new ConcurrentLinkedQueue<>();
+    // Reserved slots (queued or about to be), plus the CLOSED bit
+    private final AtomicInteger state = new AtomicInteger();
+    private final Thread flusher;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder rowFallbacks = new LongAdder();
+    // Failures while close() drains the queue, reported by close()
+    private final LongAdder failedOnClose = new LongAdder();
+
+    WriteBehindBuffer(String name, WriteBehindConfig config, BatchWriter<T> batchWriter, RowWriter<T> rowWriter) {
+        this.name = name;
+        this.capacity = config.getCapacity();
+        this.batchSize = config.getBatchSize();
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxDelayMillis());
+        this.policy = config.getPolicy();
+        this.batchWriter = batchWriter;
+        this.rowWriter = rowWriter;
+        this.flusher = Thread.ofPlatform().name("write-behind-" + name).daemon().start(this::runFlusher);
+    }
+
+    // ==================== SUBMIT ====================
+
+    CompletableFuture<T> submit(T item) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!reserve()) {
+            switch (policy) {
+                case BLOCK -> {
+                    if (!reserveBlocking(future)) {
+                        return future;
+                    }
+                }
+                case FAIL -> {
+                    if (isClosing()) {
+                        return rejectClosed(future);
+                    }
+                    rejected.increment();
+                    future.completeExceptionally(new RejectedExecutionException(
+                            "Write-behind queue for " + name + " is full (" + capacity + ")"));
+                    return future;
+                }
+                case CALLER_RUNS -> {
+                    if (isClosing()) {
+                        return rejectClosed(future);
+                    }
+                    callerRuns.increment();
+                    writeRow(item, future);
+                    return future;
+                }
+            }
+        }
+        queue.offer(new Pending<>(item, future, System.nanoTime()));
+        accepted.increment();
+        if (count(state.get()) >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return future;
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int s = state.get();
+            if (s < 0 || s >= capacity) {
+                return false;
+            }
+            if (state.compareAndSet(s, s + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean reserveBlocking(CompletableFuture<T> future) {
+        while (!reserve()) {
+            if (isClosing()) {
+                rejectClosed(future);
+                return false;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                future.completeExceptionally(new InterruptedException("Interrupted waiting for write-behind queue " + name));
+                return false;
+            }
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private CompletableFuture<T> rejectClosed(CompletableFuture<T> future) {
+        rejected.increment();
+        future.completeExceptionally(new RejectedExecutionException("Write-behind queue for " + name + " is closed"));
+        return future;
+    }
+
+    private boolean isClosing() {
+        return state.get() < 0;
+    }
+
+    private static int count(int s) {
+        return s & COUNT;
+    }
+
+    // ==================== FLUSHER ====================
+
+    private void runFlusher() {
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (true) {
+            int s = state.get();
+            int pending = count(s);
+            boolean closing = s < 0;
+            if (pending == 0) {
+                if (closing) {
+                    return;
+                }
+                LockSupport.parkNanos(this, maxDelayNanos);
+                continue;
+            }
+            Pending<T> oldest = queue.peek();
+            if (oldest == null) {
+                // Slot reserved, item not offered yet
+                Thread.onSpinWait();
+                continue;
+            }
+            long wait = oldest.acceptedNanos + maxDelayNanos - System.nanoTime();
+            if (pending < batchSize && !closing && wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+
+            Pending<T> next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            flush(batch, closing);
+            // Free the slots only now, so capacity also bounds the batch being written
+            state.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending<T>> batch, boolean closing) {
+        try {
+            List<T> items = new ArrayList<>(batch.size());
+            for (Pending<T> p : batch) {
+                items.add(p.item);
+            }
+            batchWriter.writeAll(items);
+            batches.increment();
+            written.add(batch.size());
+            for (Pending<T> p : batch) {
+                p.future.complete(p.item);
+            }
+        } catch (Throwable batchError) {
+            // The batch rolled back as a whole; retry row by row so only the failing rows fail,
+            // with the errors the single-row path reports (e.g. DuplicateResourceException)
+            rowFallbacks.increment();
+            for (Pending<T> p : batch) {
+                if (!writeRow(p.item, p.future) && closing) {
+                    failedOnClose.increment();
+                }
+            }
+        }
+    }
+
+    private boolean writeRow(T item, CompletableFuture<T> future) {
+        try {
+            rowWriter.write(item);
+            written.increment();
+            future.complete(item);
+            return true;
+        } catch (Throwable e) {
+            failed.increment();
+            future.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    // Stops accepting, then waits until every accepted item is written or has failed.
+    // Throws if any of those last items failed; each one's own future holds its error.
+    @Override
+    public void close() throws DatabaseOperationException {
+        int s;
+        do {
+            s = state.get();
+        } while (s >= 0 && !state.compareAndSet(s, s | CLOSED));
+        LockSupport.unpark(flusher);
+
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        long lost = failedOnClose.sum();
+        if (lost > 0) {
+            throw new DatabaseOperationException(lost + " write-behind " + name + " workouts failed while draining on close");
+        }
+    }
+
+    public int getQueuedCount() { return count(state.get()); }
+    public long getAcceptedCount() { return accepted.sum(); }
+    public long getWrittenCount() { return written.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+
+    public String getStats() {
+        return String.format("WriteBehind[%s: queued=%d/%d, accepted=%d, written=%d, failed=%d, rejected=%d, "
+                        + "callerRuns=%d, batches=%d, rowFallbacks=%d]",
+                name, getQueuedCount(), capacity, accepted.sum(), written.sum(), failed.sum(), rejected.sum(),
+                callerRuns.sum(), batches.sum(), rowFallbacks.sum());
+    }
+
+    // An accepted item and its acknowledgement
+    private static final class Pending<T> {
+        private final T item;
+        private final CompletableFuture<T> future;
+        private final long acceptedNanos;
+
+        private Pending(T item, CompletableFuture<T> future, long acceptedNanos) {
+            this.item = item;
+            this.future = future;
+            this.acceptedNanos = acceptedNanos;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package service;
+
+// Settings for WorkoutServiceImpl's write-behind mode, one buffer per workout table.
+// A batch is flushed when batchSize workouts are waiting or the oldest has waited maxDelayMillis.
+public class WriteBehindConfig {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final long DEFAULT_MAX_DELAY_MS = 5;
+
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final BackpressurePolicy policy;
+
+    public WriteBehindConfig(int capacity, int batchSize, long maxDelayMillis, BackpressurePolicy policy) {
+        if (capacity <= 0 || batchSize <= 0 || maxDelayMillis <= 0) {
+            throw new IllegalArgumentException("Capacity, batch size and max delay must be positive");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Backpressure policy must not be null");
+        }
+        this.capacity = capacity;
+        this.batchSize = Math.min(batchSize, capacity);
+        this.maxDelayMillis = maxDelayMillis;
+        this.policy = policy;
+    }
+
+    public static WriteBehindConfig defaults() {
+        return new WriteBehindConfig(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_MAX_DELAY_MS, BackpressurePolicy.BLOCK);
+    }
+
+    public int getCapacity() { return capacity; }
+    public int getBatchSize() { return batchSize; }
+    public long getMaxDelayMillis() { return maxDelayMillis; }
+    public BackpressurePolicy getPolicy() { return policy; }
+}
@@ -0,0 +1,22 @@
+package service.interfaces;
+
+import model.Exercise;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking variant of ExerciseService; see AsyncWorkoutService for how failures are reported
+public interface AsyncExerciseService {
+
+    CompletableFuture<Void> createExercise(Exercise exercise);
+    CompletableFuture<Void> createExercises(List<Exercise> exercises);
+    CompletableFuture<Void> upsertExercise(Exercise exercise);
+    CompletableFuture<Void> upsertExercises(List<Exercise> exercises);
+    CompletableFuture<List<Exercise>> getAllExercises();
+    CompletableFuture<Exercise> getExerciseById(int id);
+    CompletableFuture<Exercise> getExerciseByName(String name);
+    CompletableFuture<List<Exercise>> getExercisesPage(int afterId, int limit);
+    CompletableFuture<List<Exercise>> getExercisesPageDesc(int beforeId, int limit);
+    CompletableFuture<Void> updateExercise(int id, Exercise exercise);
+    CompletableFuture<Void> deleteExercise(int id);
+}
@@ -0,0 +1,59 @@
+package service.interfaces;
+
+import model.CardioWorkout;
+import model.Dashboard;
+import model.StrengthWorkout;
+import model.WorkoutMetric;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking variant of WorkoutService: every call runs on a virtual thread and returns at once.
+// Futures fail with the same exceptions the blocking methods throw (InvalidInputException,
+// ResourceNotFoundException, ...); join()/get() wrap them in CompletionException/ExecutionException.
+// Streams are left out - they hold a connection until closed and belong on the caller's thread.
+public interface AsyncWorkoutService {
+
+    // Cardio CRUD
+    CompletableFuture<Void> createCardioWorkout(CardioWorkout workout);
+    CompletableFuture<Void> createCardioWorkouts(List<CardioWorkout> workouts);
+    CompletableFuture<Void> upsertCardioWorkout(CardioWorkout workout);
+    CompletableFuture<Void> upsertCardioWorkouts(List<CardioWorkout> workouts);
+    CompletableFuture<List<CardioWorkout>> getAllCardioWorkouts();
+    CompletableFuture<CardioWorkout> getCardioWorkoutById(int id);
+    CompletableFuture<CardioWorkout> getCardioWorkoutByName(String name);
+    CompletableFuture<List<CardioWorkout>> getCardioWorkoutsPage(int afterId, int limit);
+    CompletableFuture<List<CardioWorkout>> getCardioWorkoutsPageDesc(int beforeId, int limit);
+    CompletableFuture<List<CardioWorkout>> getCardioWorkoutsBetween(LocalDateTime from, LocalDateTime to);
+    CompletableFuture<List<CardioWorkout>> getCardioWorkoutsSince(LocalDateTime since);
+    CompletableFuture<Void> updateCardioWorkout(int id, CardioWorkout workout);
+    CompletableFuture<Void> deleteCardioWorkout(int id);
+
+    // Strength CRUD
+    CompletableFuture<Void> createStrengthWorkout(StrengthWorkout workout);
+    CompletableFuture<Void> createStrengthWorkouts(List<StrengthWorkout> workouts);
+    CompletableFuture<Void> upsertStrengthWorkout(StrengthWorkout workout);
+    CompletableFuture<Void> upsertStrengthWorkouts(List<StrengthWorkout> workouts);
+    CompletableFuture<List<StrengthWorkout>> getAllStrengthWorkouts();
+    CompletableFuture<StrengthWorkout> getStrengthWorkoutById(int id);
+    CompletableFuture<StrengthWorkout> getStrengthWorkoutByName(String name);
+    CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsPage(int afterId, int limit);
+    CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsPageDesc(int beforeId, int limit);
+    CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsBetween(LocalDateTime from, LocalDateTime to);
+    CompletableFuture<List<StrengthWorkout>> getStrengthWorkoutsSince(LocalDateTime since);
+    CompletableFuture<Void> updateStrengthWorkout(int id, StrengthWorkout workout);
+    CompletableFuture<Void> deleteStrengthWorkout(int id);
+
+    // Min / max queries - answered by the database with ORDER BY ... LIMIT 1
+    CompletableFuture<CardioWorkout> getCardioWithMinDuration();
+    CompletableFuture<StrengthWorkout> getStrengthWithMinWeight();
+    CompletableFuture<CardioWorkout> getCardioWithMin(WorkoutMetric metric);
+    CompletableFuture<CardioWorkout> getCardioWithMax(WorkoutMetric metric);
+    CompletableFuture<StrengthWorkout> getStrengthWithMin(WorkoutMetric metric);
+    CompletableFuture<StrengthWorkout> getStrengthWithMax(WorkoutMetric metric);
+
+    // Latest limit cardio workouts, strength workouts and exercises, queried in parallel:
+    // completes after the slowest of the three reads instead of their sum
+    CompletableFuture<Dashboard> getDashboard(int limit);
+}
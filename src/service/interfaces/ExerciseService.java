@@ -4,11 +4,19 @@ import exception.*;
 import model.Exercise;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ExerciseService {
     void createExercise(Exercise exercise) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException;
+    void createExercises(List<Exercise> exercises) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException;
+    void upsertExercise(Exercise exercise) throws InvalidInputException, DatabaseOperationException;
+    void upsertExercises(List<Exercise> exercises) throws InvalidInputException, DatabaseOperationException;
     List<Exercise> getAllExercises() throws DatabaseOperationException;
+    Stream<Exercise> streamAllExercises() throws DatabaseOperationException;
     Exercise getExerciseById(int id) throws ResourceNotFoundException, DatabaseOperationException;
-    void updateExercise(int id, Exercise exercise) throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException;
+    Exercise getExerciseByName(String name) throws ResourceNotFoundException, DatabaseOperationException;
+    List<Exercise> getExercisesPage(int afterId, int limit) throws InvalidInputException, DatabaseOperationException;
+    List<Exercise> getExercisesPageDesc(int beforeId, int limit) throws InvalidInputException, DatabaseOperationException;
+    void updateExercise(int id, Exercise exercise) throws InvalidInputException, DuplicateResourceException, ResourceNotFoundException, DatabaseOperationException;
     void deleteExercise(int id) throws ResourceNotFoundException, DatabaseOperationException;
 }
\ No newline at end of file
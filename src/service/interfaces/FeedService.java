@@ -0,0 +1,14 @@
+package service.interfaces;
+
+import exception.*;
+import model.FeedCursor;
+import model.FeedPage;
+import model.Workout;
+
+import java.util.stream.Stream;
+
+// Chronological feed of every workout type, newest first
+public interface FeedService {
+    FeedPage getFeedPage(FeedCursor after, int limit) throws InvalidInputException, DatabaseOperationException;
+    Stream<Workout> streamFeed() throws DatabaseOperationException;
+}
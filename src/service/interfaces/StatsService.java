@@ -0,0 +1,31 @@
+package service.interfaces;
+
+import exception.*;
+import model.RollupPeriod;
+import model.WorkoutRollup;
+import model.WorkoutTotals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Workout summaries: per-period rollups precomputed in the database, and all-time totals kept in memory
+public interface StatsService {
+
+    // Rollups for every period starting in [from, to), both workout types
+    List<WorkoutRollup> getRollups(RollupPeriod period, LocalDate from, LocalDate to)
+            throws InvalidInputException, DatabaseOperationException;
+
+    // Same, for one workout type (WorkoutRollup.CARDIO or WorkoutRollup.STRENGTH)
+    List<WorkoutRollup> getRollups(RollupPeriod period, String workoutType, LocalDate from, LocalDate to)
+            throws InvalidInputException, DatabaseOperationException;
+
+    // The rollup of the period containing date, or null if no workout of that type falls in it
+    WorkoutRollup getRollup(RollupPeriod period, String workoutType, LocalDate date)
+            throws InvalidInputException, DatabaseOperationException;
+
+    // All-time totals for one workout type from the in-process counters - no database query
+    WorkoutTotals getLiveTotals(String workoutType) throws InvalidInputException;
+
+    // Recomputes all rollups from scratch; returns the number of rollup rows
+    long rebuildRollups() throws DatabaseOperationException;
+}
@@ -3,27 +3,56 @@ package service.interfaces;
 import exception.*;
 import model.CardioWorkout;
 import model.StrengthWorkout;
+import model.WorkoutMetric;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 // DIP: Controller depends on this interface, not concrete class
 public interface WorkoutService {
 
     // Cardio CRUD
     void createCardioWorkout(CardioWorkout workout) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException;
+    void createCardioWorkouts(List<CardioWorkout> workouts) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException;
+    // Completes with the workout once it is committed; failures (InvalidInputException, DuplicateResourceException, ...) complete it exceptionally
+    CompletableFuture<CardioWorkout> submitCardioWorkout(CardioWorkout workout);
+    void upsertCardioWorkout(CardioWorkout workout) throws InvalidInputException, DatabaseOperationException;
+    void upsertCardioWorkouts(List<CardioWorkout> workouts) throws InvalidInputException, DatabaseOperationException;
     List<CardioWorkout> getAllCardioWorkouts() throws DatabaseOperationException;
+    Stream<CardioWorkout> streamAllCardioWorkouts() throws DatabaseOperationException;
     CardioWorkout getCardioWorkoutById(int id) throws ResourceNotFoundException, DatabaseOperationException;
-    void updateCardioWorkout(int id, CardioWorkout workout) throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException;
+    CardioWorkout getCardioWorkoutByName(String name) throws ResourceNotFoundException, DatabaseOperationException;
+    List<CardioWorkout> getCardioWorkoutsPage(int afterId, int limit) throws InvalidInputException, DatabaseOperationException;
+    List<CardioWorkout> getCardioWorkoutsPageDesc(int beforeId, int limit) throws InvalidInputException, DatabaseOperationException;
+    List<CardioWorkout> getCardioWorkoutsBetween(LocalDateTime from, LocalDateTime to) throws InvalidInputException, DatabaseOperationException;
+    List<CardioWorkout> getCardioWorkoutsSince(LocalDateTime since) throws InvalidInputException, DatabaseOperationException;
+    void updateCardioWorkout(int id, CardioWorkout workout) throws InvalidInputException, DuplicateResourceException, ResourceNotFoundException, DatabaseOperationException;
     void deleteCardioWorkout(int id) throws ResourceNotFoundException, DatabaseOperationException;
 
     // Strength CRUD
     void createStrengthWorkout(StrengthWorkout workout) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException;
+    void createStrengthWorkouts(List<StrengthWorkout> workouts) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException;
+    CompletableFuture<StrengthWorkout> submitStrengthWorkout(StrengthWorkout workout);
+    void upsertStrengthWorkout(StrengthWorkout workout) throws InvalidInputException, DatabaseOperationException;
+    void upsertStrengthWorkouts(List<StrengthWorkout> workouts) throws InvalidInputException, DatabaseOperationException;
     List<StrengthWorkout> getAllStrengthWorkouts() throws DatabaseOperationException;
+    Stream<StrengthWorkout> streamAllStrengthWorkouts() throws DatabaseOperationException;
     StrengthWorkout getStrengthWorkoutById(int id) throws ResourceNotFoundException, DatabaseOperationException;
-    void updateStrengthWorkout(int id, StrengthWorkout workout) throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException;
+    StrengthWorkout getStrengthWorkoutByName(String name) throws ResourceNotFoundException, DatabaseOperationException;
+    List<StrengthWorkout> getStrengthWorkoutsPage(int afterId, int limit) throws InvalidInputException, DatabaseOperationException;
+    List<StrengthWorkout> getStrengthWorkoutsPageDesc(int beforeId, int limit) throws InvalidInputException, DatabaseOperationException;
+    List<StrengthWorkout> getStrengthWorkoutsBetween(LocalDateTime from, LocalDateTime to) throws InvalidInputException, DatabaseOperationException;
+    List<StrengthWorkout> getStrengthWorkoutsSince(LocalDateTime since) throws InvalidInputException, DatabaseOperationException;
+    void updateStrengthWorkout(int id, StrengthWorkout workout) throws InvalidInputException, DuplicateResourceException, ResourceNotFoundException, DatabaseOperationException;
     void deleteStrengthWorkout(int id) throws ResourceNotFoundException, DatabaseOperationException;
 
-    // Find minimum using getAll()
+    // Min / max queries - answered by the database with ORDER BY ... LIMIT 1
     CardioWorkout getCardioWithMinDuration() throws DatabaseOperationException;
     StrengthWorkout getStrengthWithMinWeight() throws DatabaseOperationException;
+    CardioWorkout getCardioWithMin(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException;
+    CardioWorkout getCardioWithMax(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException;
+    StrengthWorkout getStrengthWithMin(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException;
+    StrengthWorkout getStrengthWithMax(WorkoutMetric metric) throws InvalidInputException, DatabaseOperationException;
 }
\ No newline at end of file
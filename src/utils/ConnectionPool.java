@@ -0,0 +1,311 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// SRP: Only responsible for pooling JDBC connections
+// Bounded pool: at most maxSize physical connections, borrowers wait up to borrowTimeoutMs.
+// Handles returned by borrow() go back to the pool on close() instead of being torn down.
+public class ConnectionPool {
+
+    // Seconds given to Connection.isValid() when validating on borrow
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+
+    // Most recently returned connections sit at the head (LIFO keeps hot connections hot)
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final ConcurrentHashMap.KeySetView<PooledConnection, Boolean> all = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // Metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password,
+                          int minSize, int maxSize, long borrowTimeoutMs, long idleTimeoutMs) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Opens minSize connections up front so the first requests don't pay the handshake
+    public void warmUp() throws SQLException {
+        List<PooledConnection> opened = new ArrayList<>();
+        try {
+            // openPhysical() already counts each new connection in all
+            while (all.size() < minSize) {
+                opened.add(openPhysical());
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Not idle yet, so close() would never see them
+            for (PooledConnection pc : opened) {
+                destroy(pc);
+            }
+            throw e;
+        }
+        for (PooledConnection pc : opened) {
+            pc.lastUsedNanos = System.nanoTime();
+            idle.offerFirst(pc);
+        }
+    }
+
+    // Borrow a connection. Waits up to borrowTimeoutMs when all maxSize connections are in use.
+    public Connection borrow() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMs
+                        + " ms waiting for a database connection (max pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isUsable(pc)) {
+                    return pc.lease();
+                }
+                validationFailures.incrementAndGet();
+                destroy(pc);
+            }
+            return openPhysical().lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        try {
+            return pc.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        PooledConnection pc = new PooledConnection(physical);
+        all.add(pc);
+        createdCount.incrementAndGet();
+        return pc;
+    }
+
+    // Called when a borrowed handle is closed
+    private void release(PooledConnection pc) {
+        try {
+            if (closed.get() || pc.physical.isClosed()) {
+                destroy(pc);
+                return;
+            }
+            // Leave no transaction or session state behind for the next borrower
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (pc.physical.isReadOnly()) {
+                pc.physical.setReadOnly(false);
+            }
+            pc.physical.clearWarnings();
+            pc.lastUsedNanos = System.nanoTime();
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            destroy(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        all.remove(pc);
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    // Closes connections idle for longer than idleTimeoutMs, never going below minSize
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        // Oldest idle connections are at the tail
+        PooledConnection pc;
+        while (all.size() > minSize && (pc = idle.peekLast()) != null && pc.lastUsedNanos < cutoff) {
+            if (idle.removeLastOccurrence(pc)) {
+                evictedCount.incrementAndGet();
+                destroy(pc);
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        evictor.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destroy(pc);
+        }
+        // Connections still on loan are closed when their borrower returns them
+    }
+
+    public boolean isClosed() { return closed.get(); }
+
+    // ==================== METRICS ====================
+
+    public int getActiveCount() { return maxSize - permits.availablePermits(); }
+    public int getIdleCount() { return idle.size(); }
+    public int getTotalCount() { return all.size(); }
+    public int getPendingCount() { return permits.getQueueLength(); }
+    public int getMinSize() { return minSize; }
+    public int getMaxSize() { return maxSize; }
+
+    public long getBorrowCount() { return borrowCount.get(); }
+    public long getBorrowTimeouts() { return borrowTimeouts.get(); }
+    public long getCreatedCount() { return createdCount.get(); }
+    public long getEvictedCount() { return evictedCount.get(); }
+    public long getValidationFailures() { return validationFailures.get(); }
+
+    public double getAverageWaitMillis() {
+        long count = borrowCount.get();
+        return count == 0 ? 0.0 : totalWaitNanos.get() / (double) count / 1_000_000.0;
+    }
+
+    public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+
+    public String getStats() {
+        return String.format("Pool[active=%d, idle=%d, total=%d, pending=%d, min=%d, max=%d, "
+                        + "borrows=%d, timeouts=%d, avgWait=%.3f ms, maxWait=%.3f ms, "
+                        + "created=%d, evicted=%d, invalid=%d]",
+                getActiveCount(), getIdleCount(), getTotalCount(), getPendingCount(), minSize, maxSize,
+                getBorrowCount(), getBorrowTimeouts(), getAverageWaitMillis(), getMaxWaitMillis(),
+                getCreatedCount(), getEvictedCount(), getValidationFailures());
+    }
+
+    // One physical connection owned by the pool
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        // Wraps the physical connection in a handle whose close() returns it to the pool
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pc;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        private LeaseHandler(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pc.physical.isClosed();
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    break;
+            }
+            if (returned.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(pc.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,37 +1,202 @@
 package utils;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class DatabaseConnection {
     private static final String URL = "jdbc:postgresql://localhost:5432/fitness_tracker";
     private static final String USER = "postgres";
     private static final String PASSWORD = "admin";
 
-    private static Connection connection = null;
+    // Pool sizing - override with -Dfitness.pool.min=... etc.
+    private static final int MIN_POOL_SIZE = Integer.getInteger("fitness.pool.min", 2);
+    private static final int MAX_POOL_SIZE = Integer.getInteger("fitness.pool.max", 10);
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("fitness.pool.borrowTimeoutMs", 5_000L);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("fitness.pool.idleTimeoutMs", 300_000L);
 
+    private static volatile ConnectionPool pool = null;
+
+    // Transaction bound to the current thread by beginTransaction()
+    private static final ThreadLocal<Transaction> currentTransaction = new ThreadLocal<>();
+
+    // Returns a pooled connection. Closing it gives it back to the pool.
+    // Inside a transaction every caller on this thread shares the transaction's connection,
+    // and closing the returned handle leaves it open until commit/rollback.
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            try {
-                Class.forName("org.postgresql.Driver");
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
-                System.out.println("Database connected successfully!");
-            } catch (ClassNotFoundException e) {
-                throw new SQLException("PostgreSQL Driver not found", e);
+        Transaction tx = currentTransaction.get();
+        if (tx != null) {
+            return tx.handle;
+        }
+        return getPool().borrow();
+    }
+
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed()) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null || current.isClosed()) {
+                    try {
+                        Class.forName("org.postgresql.Driver");
+                    } catch (ClassNotFoundException e) {
+                        throw new SQLException("PostgreSQL Driver not found", e);
+                    }
+                    current = new ConnectionPool(URL, USER, PASSWORD,
+                            MIN_POOL_SIZE, MAX_POOL_SIZE, BORROW_TIMEOUT_MS, IDLE_TIMEOUT_MS);
+                    try {
+                        current.warmUp();
+                    } catch (SQLException e) {
+                        current.close();
+                        throw e;
+                    }
+                    pool = current;
+                    System.out.println("Database connected successfully! (pool min="
+                            + MIN_POOL_SIZE + ", max=" + MAX_POOL_SIZE + ")");
+                }
             }
         }
-        return connection;
+        return current;
     }
 
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("Database connection closed.");
-            } catch (SQLException e) {
-                System.err.println("Error closing connection: " + e.getMessage());
+    // ==================== TRANSACTIONS ====================
+
+    // Binds one connection with autocommit off to the current thread.
+    // Repositories called on this thread join it until commitTransaction() or rollbackTransaction().
+    public static void beginTransaction() throws SQLException {
+        if (currentTransaction.get() != null) {
+            throw new IllegalStateException("A transaction is already active on this thread");
+        }
+        Connection conn = getPool().borrow();
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        currentTransaction.set(new Transaction(conn));
+    }
+
+    public static boolean isInTransaction() {
+        return currentTransaction.get() != null;
+    }
+
+    public static void commitTransaction() throws SQLException {
+        Transaction tx = requireTransaction();
+        boolean committed = false;
+        try {
+            tx.conn.commit();
+            committed = true;
+        } finally {
+            endTransaction(tx, committed);
+        }
+    }
+
+    public static void rollbackTransaction() throws SQLException {
+        Transaction tx = requireTransaction();
+        try {
+            tx.conn.rollback();
+        } finally {
+            endTransaction(tx, false);
+        }
+    }
+
+    // Runs action once the current transaction ends (commit or rollback), or right away if there is none.
+    // Used by caches that must not keep a value read before the transaction's writes became visible.
+    public static void runAfterTransaction(Runnable action) {
+        Transaction tx = currentTransaction.get();
+        if (tx == null) {
+            action.run();
+        } else {
+            tx.afterCompletion.add(action);
+        }
+    }
+
+    // Runs action once the current transaction commits, or right away if there is none; dropped on rollback.
+    // Used by in-memory state that must only reflect writes that became durable.
+    public static void runAfterCommit(Runnable action) {
+        Transaction tx = currentTransaction.get();
+        if (tx == null) {
+            action.run();
+        } else {
+            tx.afterCommit.add(action);
+        }
+    }
+
+    private static Transaction requireTransaction() {
+        Transaction tx = currentTransaction.get();
+        if (tx == null) {
+            throw new IllegalStateException("No transaction is active on this thread");
+        }
+        return tx;
+    }
+
+    private static void endTransaction(Transaction tx, boolean committed) throws SQLException {
+        currentTransaction.remove();
+        try {
+            tx.conn.close();
+        } finally {
+            for (Runnable action : tx.afterCompletion) {
+                action.run();
+            }
+            if (committed) {
+                for (Runnable action : tx.afterCommit) {
+                    action.run();
+                }
             }
         }
     }
+
+    private static final class Transaction {
+        private final Connection conn;
+        // Shared by every getConnection() call inside the transaction; close() is a no-op
+        private final Connection handle;
+        private final List<Runnable> afterCompletion = new ArrayList<>();
+        private final List<Runnable> afterCommit = new ArrayList<>();
+
+        private Transaction(Connection conn) {
+            this.conn = conn;
+            this.handle = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                return null;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                try {
+                                    return method.invoke(conn, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                        }
+                    });
+        }
+    }
+
+    public static int getMaxPoolSize() {
+        return MAX_POOL_SIZE;
+    }
+
+    // Pool metrics: active/idle counts and borrow wait times
+    public static String getPoolStats() {
+        ConnectionPool current = pool;
+        return current == null ? "Pool not initialized" : current.getStats();
+    }
+
+    public static void closeConnection() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+            pool = null;
+            System.out.println("Database connection pool closed.");
+        }
+    }
 }
@@ -0,0 +1,353 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+// Decorate-sort-undecorate sorting for large lists.
+// 1. Decorate: every sort key is read once per element into a primitive column (double[] or String[]).
+// 2. Sort: an int[] permutation is merge-sorted by comparing column slots - no getters, no unboxing.
+// 3. Undecorate: the list is rearranged according to the permutation.
+// The sort is stable. When the leading key is whole-numbered (calories, duration, ...) it is packed with
+// the element index into a long[] and sorted with Arrays.sort / Arrays.parallelSort; only runs of equal
+// leading keys fall back to the merge sort on the remaining keys. Otherwise lists of PARALLEL_THRESHOLD
+// elements or more are sorted with a fork-join merge sort.
+//
+//   SortEngine.<CardioWorkout>ordering()
+//           .desc(CardioWorkout::getCaloriesBurned)
+//           .asc(CardioWorkout::getDurationMinutes)
+//           .ascText(CardioWorkout::getName)
+//           .sort(list);
+public final class SortEngine<T> {
+
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // Ranges this small are insertion-sorted
+    private static final int INSERTION_SORT_CUTOFF = 32;
+    // Fork-join tasks stop splitting below this size
+    private static final int PARALLEL_GRANULARITY = 1 << 13;
+    // Low 31 bits of a packed key hold the element index
+    private static final long INDEX_MASK = (1L << 31) - 1;
+
+    private final List<KeySpec<T>> keys = new ArrayList<>();
+
+    private SortEngine() {
+    }
+
+    public static <T> SortEngine<T> ordering() {
+        return new SortEngine<>();
+    }
+
+    // Numeric key, smallest first (compared like Double.compare)
+    public SortEngine<T> asc(ToDoubleFunction<? super T> key) {
+        keys.add(new NumericKeySpec<>(key, 1));
+        return this;
+    }
+
+    // Numeric key, largest first
+    public SortEngine<T> desc(ToDoubleFunction<? super T> key) {
+        keys.add(new NumericKeySpec<>(key, -1));
+        return this;
+    }
+
+    // Text key, natural String order (nulls last)
+    public SortEngine<T> ascText(Function<? super T, String> key) {
+        keys.add(new TextKeySpec<>(key, 1));
+        return this;
+    }
+
+    // Text key, reverse String order (nulls first)
+    public SortEngine<T> descText(Function<? super T, String> key) {
+        keys.add(new TextKeySpec<>(key, -1));
+        return this;
+    }
+
+    // Sorts the list in place
+    public void sort(List<T> list) {
+        int n = list.size();
+        if (n < 2 || keys.isEmpty()) {
+            return;
+        }
+        Object[] items = list.toArray();
+        int[] order = sortedOrder(items);
+
+        ListIterator<T> it = list.listIterator();
+        for (int index : order) {
+            it.next();
+            it.set(cast(items[index]));
+        }
+    }
+
+    // Sorted copy; the input list is left untouched
+    public List<T> sorted(List<? extends T> list) {
+        Object[] items = list.toArray();
+        int[] order = items.length < 2 || keys.isEmpty() ? identity(items.length) : sortedOrder(items);
+        List<T> result = new ArrayList<>(items.length);
+        for (int index : order) {
+            result.add(cast(items[index]));
+        }
+        return result;
+    }
+
+    private int[] sortedOrder(Object[] items) {
+        int n = items.length;
+        KeyColumn[] columns = new KeyColumn[keys.size()];
+        for (int k = 0; k < columns.length; k++) {
+            columns[k] = keys.get(k).extract(items);
+        }
+
+        if (columns[0] instanceof NumericColumn && ((NumericColumn) columns[0]).integral) {
+            return packedOrder(columns);
+        }
+
+        int[] order = identity(n);
+        int[] tmp = new int[n];
+        Sorter sorter = new Sorter(columns);
+        if (n >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new ParallelSortTask(sorter, order, tmp, 0, n));
+        } else {
+            sorter.mergeSort(order, tmp, 0, n);
+        }
+        return order;
+    }
+
+    // Leading key and index share one long: (key << 31) | index. Sorting the longs orders by key,
+    // then by original position, which keeps the sort stable.
+    private static int[] packedOrder(KeyColumn[] columns) {
+        NumericColumn lead = (NumericColumn) columns[0];
+        double[] values = lead.values;
+        int n = values.length;
+
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((lead.sign * (long) values[i]) << 31) | i;
+        }
+        if (n >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(packed);
+        } else {
+            Arrays.sort(packed);
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) (packed[i] & INDEX_MASK);
+        }
+        if (columns.length == 1) {
+            return order;
+        }
+
+        // Break ties on the remaining keys, one run of equal leading keys at a time
+        Sorter rest = new Sorter(Arrays.copyOfRange(columns, 1, columns.length));
+        int[] tmp = new int[n];
+        int start = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || values[order[i]] != values[order[start]]) {
+                if (i - start > 1) {
+                    rest.mergeSort(order, tmp, start, i);
+                }
+                start = i;
+            }
+        }
+        return order;
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object item) {
+        return (T) item;
+    }
+
+    // ==================== KEYS ====================
+
+    private interface KeySpec<T> {
+        KeyColumn extract(Object[] items);
+    }
+
+    private static final class NumericKeySpec<T> implements KeySpec<T> {
+        private final ToDoubleFunction<? super T> key;
+        private final int sign;
+
+        private NumericKeySpec(ToDoubleFunction<? super T> key, int sign) {
+            this.key = key;
+            this.sign = sign;
+        }
+
+        @Override
+        public KeyColumn extract(Object[] items) {
+            double[] values = new double[items.length];
+            boolean integral = true;
+            for (int i = 0; i < items.length; i++) {
+                double v = key.applyAsDouble(SortEngine.<T>cast(items[i]));
+                values[i] = v;
+                integral &= v == (int) v;
+            }
+            return new NumericColumn(values, sign, integral);
+        }
+    }
+
+    private static final class TextKeySpec<T> implements KeySpec<T> {
+        private final Function<? super T, String> key;
+        private final int sign;
+
+        private TextKeySpec(Function<? super T, String> key, int sign) {
+            this.key = key;
+            this.sign = sign;
+        }
+
+        @Override
+        public KeyColumn extract(Object[] items) {
+            String[] values = new String[items.length];
+            for (int i = 0; i < items.length; i++) {
+                values[i] = key.apply(SortEngine.<T>cast(items[i]));
+            }
+            return new TextColumn(values, sign);
+        }
+    }
+
+    // One decorated key: compares two elements by their original list positions
+    private abstract static class KeyColumn {
+        abstract int compare(int a, int b);
+    }
+
+    private static final class NumericColumn extends KeyColumn {
+        private final double[] values;
+        private final int sign;
+        // Every value is a whole number in int range - eligible for the packed long[] sort
+        private final boolean integral;
+
+        private NumericColumn(double[] values, int sign, boolean integral) {
+            this.values = values;
+            this.sign = sign;
+            this.integral = integral;
+        }
+
+        @Override
+        int compare(int a, int b) {
+            return sign * Double.compare(values[a], values[b]);
+        }
+    }
+
+    private static final class TextColumn extends KeyColumn {
+        private final String[] values;
+        private final int sign;
+
+        private TextColumn(String[] values, int sign) {
+            this.values = values;
+            this.sign = sign;
+        }
+
+        @Override
+        int compare(int a, int b) {
+            String x = values[a];
+            String y = values[b];
+            if (x == null || y == null) {
+                return sign * (x == null ? (y == null ? 0 : 1) : -1);
+            }
+            return sign * x.compareTo(y);
+        }
+    }
+
+    // ==================== MERGE SORT ====================
+
+    private static final class Sorter {
+        private final KeyColumn[] columns;
+
+        private Sorter(KeyColumn[] columns) {
+            this.columns = columns;
+        }
+
+        private int compare(int a, int b) {
+            for (KeyColumn column : columns) {
+                int c = column.compare(a, b);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        }
+
+        // Stable sort of order[lo, hi)
+        private void mergeSort(int[] order, int[] tmp, int lo, int hi) {
+            if (hi - lo <= INSERTION_SORT_CUTOFF) {
+                insertionSort(order, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            mergeSort(order, tmp, lo, mid);
+            mergeSort(order, tmp, mid, hi);
+            merge(order, tmp, lo, mid, hi);
+        }
+
+        private void insertionSort(int[] order, int lo, int hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= lo && compare(order[j], current) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+        }
+
+        private void merge(int[] order, int[] tmp, int lo, int mid, int hi) {
+            // Already in order - common for partially sorted input
+            if (compare(order[mid - 1], order[mid]) <= 0) {
+                return;
+            }
+            System.arraycopy(order, lo, tmp, lo, hi - lo);
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (i < mid && (j >= hi || compare(tmp[i], tmp[j]) <= 0)) {
+                    order[k] = tmp[i++];
+                } else {
+                    order[k] = tmp[j++];
+                }
+            }
+        }
+    }
+
+    private static final class ParallelSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks are never serialized
+        private final transient Sorter sorter;
+        private final int[] order;
+        private final int[] tmp;
+        private final int lo;
+        private final int hi;
+
+        private ParallelSortTask(Sorter sorter, int[] order, int[] tmp, int lo, int hi) {
+            this.sorter = sorter;
+            this.order = order;
+            this.tmp = tmp;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_GRANULARITY) {
+                sorter.mergeSort(order, tmp, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParallelSortTask(sorter, order, tmp, lo, mid),
+                      new ParallelSortTask(sorter, order, tmp, mid, hi));
+            sorter.merge(order, tmp, lo, mid, hi);
+        }
+    }
+}
@@ -4,61 +4,264 @@ import model.CardioWorkout;
 import model.StrengthWorkout;
 import model.Workout;
 
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 // SRP: Only responsible for sorting
-// Uses Lambda expressions for Comparators
+// Uses Lambda expressions as sort keys; SortEngine extracts each key once per element
 public class SortingUtils {
 
+    // Lists at least this big are split across the common ForkJoinPool by topK / bottomK
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
     // Sort cardio workouts by calories (ascending) - LAMBDA
     public static void sortByCaloriesAsc(List<CardioWorkout> list) {
-        Collections.sort(list, (a, b) -> Integer.compare(a.getCaloriesBurned(), b.getCaloriesBurned()));
+        SortEngine.<CardioWorkout>ordering().asc(w -> w.getCaloriesBurned()).sort(list);
     }
 
     // Sort cardio workouts by calories (descending) - LAMBDA
     public static void sortByCaloriesDesc(List<CardioWorkout> list) {
-        Collections.sort(list, (a, b) -> Integer.compare(b.getCaloriesBurned(), a.getCaloriesBurned()));
+        SortEngine.<CardioWorkout>ordering().desc(w -> w.getCaloriesBurned()).sort(list);
     }
 
     // Sort cardio workouts by duration (ascending) - LAMBDA
     public static void sortByDurationAsc(List<CardioWorkout> list) {
-        Collections.sort(list, (a, b) -> Integer.compare(a.getDurationMinutes(), b.getDurationMinutes()));
+        SortEngine.<CardioWorkout>ordering().asc(w -> w.getDurationMinutes()).sort(list);
     }
 
     // Sort cardio workouts by duration (descending) - LAMBDA
     public static void sortByDurationDesc(List<CardioWorkout> list) {
-        Collections.sort(list, (a, b) -> Integer.compare(b.getDurationMinutes(), a.getDurationMinutes()));
+        SortEngine.<CardioWorkout>ordering().desc(w -> w.getDurationMinutes()).sort(list);
     }
 
     // Sort cardio workouts by distance (ascending) - LAMBDA
     public static void sortByDistanceAsc(List<CardioWorkout> list) {
-        Collections.sort(list, (a, b) -> Double.compare(a.getDistanceKm(), b.getDistanceKm()));
+        SortEngine.<CardioWorkout>ordering().asc(w -> w.getDistanceKm()).sort(list);
     }
 
     // Sort cardio workouts by name (ascending) - LAMBDA
     public static void sortByNameAsc(List<CardioWorkout> list) {
-        Collections.sort(list, (a, b) -> a.getName().compareTo(b.getName()));
+        SortEngine.<CardioWorkout>ordering().ascText(w -> w.getName()).sort(list);
     }
 
     // Sort strength workouts by weight (descending) - LAMBDA
     public static void sortByWeightDesc(List<StrengthWorkout> list) {
-        Collections.sort(list, (a, b) -> Double.compare(b.getWeightKg(), a.getWeightKg()));
+        SortEngine.<StrengthWorkout>ordering().desc(w -> w.getWeightKg()).sort(list);
     }
 
     // Sort strength workouts by calories (descending) - LAMBDA
     public static void sortStrengthByCaloriesDesc(List<StrengthWorkout> list) {
-        Collections.sort(list, (a, b) -> Integer.compare(b.getCaloriesBurned(), a.getCaloriesBurned()));
+        SortEngine.<StrengthWorkout>ordering().desc(w -> w.getCaloriesBurned()).sort(list);
     }
 
     // Sort strength workouts by name (ascending) - LAMBDA
     public static void sortStrengthByNameAsc(List<StrengthWorkout> list) {
-        Collections.sort(list, (a, b) -> a.getName().compareTo(b.getName()));
+        SortEngine.<StrengthWorkout>ordering().ascText(w -> w.getName()).sort(list);
     }
 
     // Generic: sort any Workout list by intensity (descending) - LAMBDA
-    public static void sortByIntensityDesc(List<? extends Workout> list) {
-        list.sort((a, b) -> Double.compare(b.calculateIntensity(), a.calculateIntensity()));
+    // Intensity is computed once per workout, not twice per comparison
+    public static <T extends Workout> void sortByIntensityDesc(List<T> list) {
+        SortEngine.<T>ordering().desc(w -> w.calculateIntensity()).sort(list);
+    }
+
+    // Multi-key: calories (high → low), then duration (low → high), then name - LAMBDA
+    public static <T extends Workout> void sortByCaloriesThenDurationThenName(List<T> list) {
+        SortEngine.<T>ordering()
+                .desc(w -> w.getCaloriesBurned())
+                .asc(w -> w.getDurationMinutes())
+                .ascText(w -> w.getName())
+                .sort(list);
+    }
+
+    // ==================== TOP-K ====================
+    // Leaderboards without a full sort: a bounded heap of size k keeps the best elements seen
+    // so far, so selection is O(n log k). Each key is computed exactly once per element.
+    // Ties keep list order. Keys compare like Double.compare (NaN counts as the largest value).
+
+    // The k elements with the largest key, highest first
+    public static <T> List<T> topK(List<? extends T> list, int k, ToDoubleFunction<? super T> key) {
+        return select(list, k, key, true);
+    }
+
+    // The k elements with the smallest key, lowest first
+    public static <T> List<T> bottomK(List<? extends T> list, int k, ToDoubleFunction<? super T> key) {
+        return select(list, k, key, false);
+    }
+
+    // Works for mixed Workout lists (cardio + strength) - intensity is computed once per workout
+    public static <T extends Workout> List<T> topKByIntensity(List<T> list, int k) {
+        return topK(list, k, Workout::calculateIntensity);
+    }
+
+    public static <T extends Workout> List<T> topKByCalories(List<T> list, int k) {
+        return topK(list, k, Workout::getCaloriesBurned);
+    }
+
+    public static <T extends Workout> List<T> topKByDuration(List<T> list, int k) {
+        return topK(list, k, Workout::getDurationMinutes);
+    }
+
+    public static List<CardioWorkout> topKByDistance(List<CardioWorkout> list, int k) {
+        return topK(list, k, CardioWorkout::getDistanceKm);
+    }
+
+    public static List<StrengthWorkout> topKByWeight(List<StrengthWorkout> list, int k) {
+        return topK(list, k, StrengthWorkout::getWeightKg);
+    }
+
+    private static <T> List<T> select(List<? extends T> list, int k, ToDoubleFunction<? super T> key,
+                                      boolean largest) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        int n = list.size();
+        if (k == 0 || n == 0) {
+            return new ArrayList<>();
+        }
+        // Array snapshot: O(1) access for any List implementation and safe to share across threads
+        Object[] items = list.toArray();
+        int limit = Math.min(k, n);
+
+        BoundedHeap heap;
+        if (n >= PARALLEL_THRESHOLD && n / limit >= 4) {
+            heap = selectParallel(items, limit, key, largest);
+        } else {
+            heap = new BoundedHeap(limit, largest);
+            for (int i = 0; i < n; i++) {
+                heap.offer(keyOf(key, items[i]), i);
+            }
+        }
+
+        int[] order = heap.drainBestFirst();
+        List<T> result = new ArrayList<>(order.length);
+        for (int index : order) {
+            result.add(cast(items[index]));
+        }
+        return result;
+    }
+
+    // Each chunk keeps its own top-k, then the chunk winners are merged through one more heap
+    private static <T> BoundedHeap selectParallel(Object[] items, int k, ToDoubleFunction<? super T> key,
+                                                  boolean largest) {
+        int chunks = Math.max(1, Runtime.getRuntime().availableProcessors() * 4);
+        int chunkSize = (items.length + chunks - 1) / chunks;
+
+        List<BoundedHeap> partials = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> {
+                    int from = c * chunkSize;
+                    int to = Math.min(items.length, from + chunkSize);
+                    BoundedHeap local = new BoundedHeap(k, largest);
+                    for (int i = from; i < to; i++) {
+                        local.offer(keyOf(key, items[i]), i);
+                    }
+                    return local;
+                })
+                .collect(Collectors.toList());
+
+        BoundedHeap merged = new BoundedHeap(k, largest);
+        for (BoundedHeap partial : partials) {
+            for (int i = 0; i < partial.size; i++) {
+                merged.offer(partial.keys[i], partial.indexes[i]);
+            }
+        }
+        return merged;
+    }
+
+    private static <T> double keyOf(ToDoubleFunction<? super T> key, Object item) {
+        return key.applyAsDouble(SortingUtils.<T>cast(item));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object item) {
+        return (T) item;
+    }
+
+    // Binary heap over parallel primitive arrays (no boxing). The root is the worst element kept,
+    // so a new element only costs a comparison unless it beats the root.
+    private static final class BoundedHeap {
+        private final double[] keys;
+        private final int[] indexes;
+        private final int direction;  // +1 keeps the largest keys, -1 the smallest
+        private int size;
+
+        private BoundedHeap(int capacity, boolean largest) {
+            this.keys = new double[capacity];
+            this.indexes = new int[capacity];
+            this.direction = largest ? 1 : -1;
+        }
+
+        private void offer(double key, int index) {
+            if (size < keys.length) {
+                keys[size] = key;
+                indexes[size] = index;
+                siftUp(size++);
+            } else if (better(key, index, keys[0], indexes[0])) {
+                keys[0] = key;
+                indexes[0] = index;
+                siftDown(0);
+            }
+        }
+
+        // Empties the heap, returning list indexes from best to worst
+        private int[] drainBestFirst() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = indexes[0];
+                size--;
+                keys[0] = keys[size];
+                indexes[0] = indexes[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        // Higher key wins (or lower, for bottom-k); on a tie the earlier list position wins
+        private boolean better(double keyA, int indexA, double keyB, int indexB) {
+            int cmp = direction * Double.compare(keyA, keyB);
+            return cmp > 0 || (cmp == 0 && indexA < indexB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(keys[parent], indexes[parent], keys[i], indexes[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    break;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < size && better(keys[left], indexes[left], keys[right], indexes[right])) {
+                    worst = right;
+                }
+                if (!better(keys[i], indexes[i], keys[worst], indexes[worst])) {
+                    break;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double k = keys[a];
+            keys[a] = keys[b];
+            keys[b] = k;
+            int idx = indexes[a];
+            indexes[a] = indexes[b];
+            indexes[b] = idx;
+        }
     }
-}
\ No newline at end of file
+}